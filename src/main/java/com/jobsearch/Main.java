@@ -1,20 +1,51 @@
 package com.jobsearch;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import com.jobsearch.batch.BatchSearch;
+import com.jobsearch.gui.EdtWatchdog;
 import com.jobsearch.gui.MainFrame;
+import com.jobsearch.schedule.SearchScheduler;
+import com.jobsearch.scraper.ChromeSessionPool;
+import com.jobsearch.server.SearchServer;
 import javax.swing.*;
+import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchSearch.main(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            SearchServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
+        // Headless: keep saved searches warm for the GUI without opening it
+        if (args.length > 0 && args[0].equals("--scheduler")) {
+            SearchScheduler.getInstance().start();
+            try {
+                Thread.currentThread().join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        
         try {
             UIManager.setLookAndFeel(new FlatLightLaf());
         } catch (Exception e) {
             e.printStackTrace();
         }
         
+        EdtWatchdog.install();
         SwingUtilities.invokeLater(() -> {
             MainFrame frame = new MainFrame();
             frame.setVisible(true);
         });
+        
+        // Start a browser while the user is still filling in the form
+        ChromeSessionPool.getInstance().warmUpAsync();
+        SearchScheduler.getInstance().start();
     }
 }
\ No newline at end of file
@@ -22,8 +22,8 @@ public class JobAnalyzer {
     private int calculateRelevanceScore(JobPosting job, String searchTerm) {
         String[] searchTerms = searchTerm.toLowerCase().split("\\s+");
         String jobTitle = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
-        String jobDescription = job.getDescription() != null ? 
-            job.getDescription().toLowerCase() : "";
+        String description = job.getDescription();
+        String jobDescription = description != null ? description.toLowerCase() : "";
         String combined = jobTitle + " " + jobDescription;
         
         int score = 0;
@@ -4,11 +4,18 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.jobsearch.health.LatencyTracker;
+import com.jobsearch.http.HedgedRequest;
+import com.jobsearch.http.HttpTraffic;
+import com.jobsearch.http.SharedFetches;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
+import com.jobsearch.scraper.ScrapedJobs;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,81 +43,108 @@ public class JobBoardAPIClient {
         .readTimeout(30, TimeUnit.SECONDS)      // Increased from 15
         .writeTimeout(30, TimeUnit.SECONDS)
         .retryOnConnectionFailure(true)
+        .addInterceptor(HttpTraffic.interceptor())
         .build();
     this.gson = new Gson();
     logger.info("JobBoardAPIClient initialized");
 }
-    
-    public List<JobPosting> searchAdzuna(SearchFilters filters) {
-    List<JobPosting> jobs = new ArrayList<>();
+
+    public List<JobPosting> searchAdzuna(SearchFilters filters) throws IOException {
+    ScrapedJobs jobs = new ScrapedJobs();
     
     if (ADZUNA_APP_ID.equals("YOUR_APP_ID_HERE") || ADZUNA_APP_ID.isEmpty()) {
         logger.info("Adzuna API keys not configured");
         return jobs;
     }
     
-    try {
-        String encodedTerm = URLEncoder.encode(filters.getSearchTerms(), StandardCharsets.UTF_8.toString());
-        
-        StringBuilder urlBuilder = new StringBuilder();
-        urlBuilder.append("https://api.adzuna.com/v1/api/jobs/us/search/1?");
-        urlBuilder.append("app_id=").append(ADZUNA_APP_ID);
-        urlBuilder.append("&app_key=").append(ADZUNA_APP_KEY);
-        urlBuilder.append("&results_per_page=50");
-        urlBuilder.append("&what=").append(encodedTerm);
-        
-        // Only add location if specified
-        if (filters.hasLocationFilter()) {
-            String location = URLEncoder.encode(filters.getLocationString(), StandardCharsets.UTF_8.toString());
-            urlBuilder.append("&where=").append(location);
-            urlBuilder.append("&distance=50");
-        }
-        
-        // DON'T add work model to the API query - filter after retrieval instead
-        // The issue is that adding "remote" to the query over-restricts results
-        
-        String url = urlBuilder.toString();
-        logger.info("Calling Adzuna API: {}", url);
-        
-        Request request = new Request.Builder()
-            .url(url)
-            .addHeader("Accept", "application/json")
-            .addHeader("User-Agent", "JobSearchAssistant/1.0")
-            .build();
-        
-        try (Response response = client.newCall(request).execute()) {
+    String encodedTerm = URLEncoder.encode(filters.getSearchTerms(), StandardCharsets.UTF_8.toString());
+    
+    StringBuilder urlBuilder = new StringBuilder();
+    urlBuilder.append("https://api.adzuna.com/v1/api/jobs/us/search/1?");
+    urlBuilder.append("app_id=").append(ADZUNA_APP_ID);
+    urlBuilder.append("&app_key=").append(ADZUNA_APP_KEY);
+    urlBuilder.append("&results_per_page=50");
+    urlBuilder.append("&what=").append(encodedTerm);
+    
+    // Only add location if specified
+    if (filters.hasLocationFilter()) {
+        String location = URLEncoder.encode(filters.getLocationString(), StandardCharsets.UTF_8.toString());
+        urlBuilder.append("&where=").append(location);
+        urlBuilder.append("&distance=50");
+    }
+    
+    // DON'T add work model to the API query - filter after retrieval instead
+    // The issue is that adding "remote" to the query over-restricts results
+    
+    String url = urlBuilder.toString();
+    logger.info("Calling Adzuna API: {}", url);
+    
+    Request request = new Request.Builder()
+        .url(url)
+        .addHeader("Accept", "application/json")
+        .addHeader("User-Agent", "JobSearchAssistant/1.0")
+        .build();
+    
+    // Searches that differ only in filters applied below send the same
+    // request, and concurrent ones share it. Each still reserved its own unit
+    // of quota beforehand, so the monthly count errs on the high side.
+    String responseBody = SharedFetches.coalesce(url, () -> {
+        try (Response response = execute("Adzuna API", "search", request)) {
             if (!response.isSuccessful()) {
-                logger.error("Adzuna API error: HTTP {} - {}", response.code(), response.message());
-                return jobs;
-            }
-            
-            String responseBody = response.body().string();
-            JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
-            
-            if (!jsonResponse.has("results")) {
-                logger.warn("Adzuna API response missing 'results' field");
-                return jobs;
-            }
-            
-            JsonArray results = jsonResponse.getAsJsonArray("results");
-            logger.info("Adzuna returned {} raw results", results.size());
-            
-            for (JsonElement element : results) {
-                JsonObject jobJson = element.getAsJsonObject();
-                JobPosting job = parseAdzunaJob(jobJson);
-                if (job != null && matchesFilters(job, filters)) {
-                    jobs.add(job);
-                }
+                throw new IOException("Adzuna API error: HTTP " + response.code() + " - " + response.message());
             }
-            
-            logger.info("Retrieved {} jobs from Adzuna API after filtering", jobs.size());
+            return response.body().string();
         }
-    } catch (IOException e) {
-        logger.error("Error calling Adzuna API: {}", e.getMessage());
+    });
+    
+    JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
+    
+    if (!jsonResponse.has("results")) {
+        logger.warn("Adzuna API response missing 'results' field");
+        return jobs;
     }
     
+    JsonArray results = jsonResponse.getAsJsonArray("results");
+    logger.info("Adzuna returned {} raw results", results.size());
+    
+    for (JsonElement element : results) {
+        JsonObject jobJson = element.getAsJsonObject();
+        if (jobs.skipSeen(filters, getJsonString(jobJson, "redirect_url"))) {
+            continue;
+        }
+        JobPosting job = parseAdzunaJob(jobJson);
+        if (job != null && matchesFilters(job, filters)) {
+            jobs.add(job);
+        }
+    }
+    
+    logger.info("Retrieved {} jobs from Adzuna API after filtering", jobs.size());
+    
     return jobs;
 }
+
+    // Call timeout follows the source's observed latency, and the body is
+    // buffered inside the attempt so a hedged duplicate can race it
+    private Response execute(String source, String endpoint, Request request) throws IOException {
+        long timeoutMs = LatencyTracker.getInstance().timeoutMs(source, endpoint, 30000);
+        try {
+            return HedgedRequest.execute(source, endpoint, () -> {
+                Call call = client.newCall(request);
+                call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+                try (Response response = call.execute()) {
+                    ResponseBody body = response.body();
+                    byte[] bytes = body != null ? body.bytes() : new byte[0];
+                    return response.newBuilder()
+                        .body(ResponseBody.create(bytes, body != null ? body.contentType() : null))
+                        .build();
+                }
+            }, response -> response.code() < 400);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
     
     private JobPosting parseAdzunaJob(JsonObject jobJson) {
         JobPosting job = new JobPosting();
@@ -166,79 +200,79 @@ public class JobBoardAPIClient {
         return job;
     }
     
-    public List<JobPosting> searchRemotiveAPI(SearchFilters filters) {
-    List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> searchRemotiveAPI(SearchFilters filters) throws IOException {
+    ScrapedJobs jobs = new ScrapedJobs();
     
-    try {
-        String encodedTerm = URLEncoder.encode(filters.getSearchTerms(), StandardCharsets.UTF_8.toString());
-        
-        // Try the simpler API endpoint that's faster
-        String url = "https://remotive.com/api/remote-jobs?category=software-dev&limit=50";
-        
-        logger.info("Calling Remotive API");
-        
-        Request request = new Request.Builder()
-            .url(url)
-            .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-            .addHeader("Accept", "application/json")
-            .addHeader("Accept-Language", "en-US,en;q=0.9")
-            .addHeader("Referer", "https://remotive.com/")
-            .build();
-        
-        try (Response response = client.newCall(request).execute()) {
+    String encodedTerm = URLEncoder.encode(filters.getSearchTerms(), StandardCharsets.UTF_8.toString());
+    
+    // Try the simpler API endpoint that's faster
+    String url = "https://remotive.com/api/remote-jobs?category=software-dev&limit=50";
+    
+    logger.info("Calling Remotive API");
+    
+    Request request = new Request.Builder()
+        .url(url)
+        .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+        .addHeader("Accept", "application/json")
+        .addHeader("Accept-Language", "en-US,en;q=0.9")
+        .addHeader("Referer", "https://remotive.com/")
+        .build();
+    
+    // The category feed is the same for every query; terms are matched below
+    String responseBody = SharedFetches.get(url, () -> {
+        try (Response response = execute("Remotive API", "jobs", request)) {
             if (!response.isSuccessful()) {
-                logger.error("Remotive API error: HTTP {}", response.code());
-                return jobs;
+                throw new IOException("Remotive API error: HTTP " + response.code());
             }
-            
-            String responseBody = response.body().string();
-            
-            if (responseBody.trim().startsWith("<")) {
-                logger.warn("Remotive returned HTML instead of JSON - possible blocking");
-                return jobs;
-            }
-            
-            JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
-            
-            if (!jsonResponse.has("jobs")) {
-                logger.warn("Remotive API response missing 'jobs' field");
-                return jobs;
-            }
-            
-            JsonArray jobsArray = jsonResponse.getAsJsonArray("jobs");
-            logger.info("Remotive returned {} raw results", jobsArray.size());
-            
-            // Filter by search terms and other filters
-            String searchLower = filters.getSearchTerms().toLowerCase();
-            
-            for (JsonElement element : jobsArray) {
-                JsonObject jobJson = element.getAsJsonObject();
-                
-                // Check if job matches search terms
-                String title = getJsonString(jobJson, "title");
-                String description = getJsonString(jobJson, "description");
+            return response.body().string();
+        }
+    });
+    
+    if (responseBody.trim().startsWith("<")) {
+        logger.warn("Remotive returned HTML instead of JSON - possible blocking");
+        return jobs;
+    }
+    
+    JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
+    
+    if (!jsonResponse.has("jobs")) {
+        logger.warn("Remotive API response missing 'jobs' field");
+        return jobs;
+    }
+    
+    JsonArray jobsArray = jsonResponse.getAsJsonArray("jobs");
+    logger.info("Remotive returned {} raw results", jobsArray.size());
+    
+    // Filter by search terms and other filters
+    String searchLower = filters.getSearchTerms().toLowerCase();
+    
+    for (JsonElement element : jobsArray) {
+        JsonObject jobJson = element.getAsJsonObject();
+        if (jobs.skipSeen(filters, getJsonString(jobJson, "url"))) {
+            continue;
+        }
+        
+        // Check if job matches search terms
+        String title = getJsonString(jobJson, "title");
+        String description = getJsonString(jobJson, "description");
+        
+        if (title != null && description != null) {
+            String combined = (title + " " + description).toLowerCase();
+            if (combined.contains(searchLower) || 
+                containsAnyWord(combined, searchLower.split(" "))) {
                 
-                if (title != null && description != null) {
-                    String combined = (title + " " + description).toLowerCase();
-                    if (combined.contains(searchLower) || 
-                        containsAnyWord(combined, searchLower.split(" "))) {
-                        
-                        JobPosting job = parseRemotiveJob(jobJson);
-                        if (job != null && matchesFilters(job, filters)) {
-                            jobs.add(job);
-                        }
-                    }
+                JobPosting job = parseRemotiveJob(jobJson);
+                if (job != null && matchesFilters(job, filters)) {
+                    jobs.add(job);
                 }
-                
-                if (jobs.size() >= 25) break;
             }
-            
-            logger.info("Retrieved {} jobs from Remotive API after filtering", jobs.size());
         }
-    } catch (Exception e) {
-        logger.error("Error calling Remotive API: {}", e.getMessage());
+        
+        if (jobs.size() >= 25) break;
     }
     
+    logger.info("Retrieved {} jobs from Remotive API after filtering", jobs.size());
+    
     return jobs;
 }
 
@@ -251,7 +285,7 @@ private boolean containsAnyWord(String text, String[] words) {
     return false;
 }
 
-    
+
     private JobPosting parseRemotiveJob(JsonObject jobJson) {
         JobPosting job = new JobPosting();
         
@@ -287,7 +321,8 @@ private boolean containsAnyWord(String text, String[] words) {
         // Experience level filtering
         if (filters.getExperienceLevel() != SearchFilters.ExperienceLevel.NO_PREFERENCE) {
             String title = job.getTitle().toLowerCase();
-            String desc = job.getDescription() != null ? job.getDescription().toLowerCase() : "";
+            String description = job.getDescription();
+            String desc = description != null ? description.toLowerCase() : "";
             String combined = title + " " + desc;
             
             switch (filters.getExperienceLevel()) {
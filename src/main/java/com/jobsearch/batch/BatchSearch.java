@@ -0,0 +1,208 @@
+package com.jobsearch.batch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.jobsearch.http.SharedFetches;
+import com.jobsearch.metrics.MetricsRegistry;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.scraper.WebScraper;
+import com.jobsearch.utils.JobJson;
+import com.jobsearch.utils.UrlCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless entry point: runs a file of searches through WebScraper and
+// streams the scored results as JSON lines. Each input line is one search:
+//
+//   {"name": "nyc java", "terms": "java developer", "workModel": "hybrid",
+//    "city": "New York", "state": "NY", "experience": "senior"}
+//
+// workModel and experience accept the enum name or its display name and
+// default to no preference. Blank lines and lines starting with # are
+// skipped. A posting matched by several searches is written once, under
+// the first search that returned it. Batches always return every match:
+// newOnly is ignored and nothing is recorded as seen.
+//
+//   Main --batch searches.jsonl   input file, or - for stdin
+//   --out results.jsonl           output file (default: stdout)
+//   --concurrency N               searches in flight at once (default 4)
+//   --shared-ttl seconds          how long query-independent pages are
+//                                 shared between searches (default 600)
+public class BatchSearch {
+    private static final Logger logger = LoggerFactory.getLogger(BatchSearch.class);
+    private static final Gson gson = new Gson();
+    
+    private final Writer out;
+    private final Set<String> written = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger postings = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    
+    BatchSearch(Writer out) {
+        this.out = out;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Map<String, String> options = parseOptions(args);
+        String input = options.get("batch");
+        if (input == null) {
+            System.err.println("Usage: Main --batch <searches.jsonl|-> [--out file] "
+                + "[--concurrency N] [--shared-ttl seconds]");
+            System.exit(2);
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "4"));
+        SharedFetches.enable(Long.parseLong(options.getOrDefault("shared-ttl", "600")));
+        
+        List<Definition> searches;
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8)) {
+            searches = readDefinitions(reader);
+        }
+        
+        int failed;
+        try (Writer out = options.containsKey("out")
+                ? Files.newBufferedWriter(Paths.get(options.get("out")), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            failed = new BatchSearch(out).run(searches, concurrency);
+        }
+        System.exit(failed == 0 ? 0 : 1);
+    }
+    
+    // Returns the number of searches that failed
+    int run(List<Definition> searches, int concurrency) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread thread = new Thread(r, "batch-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> results = new ArrayList<>();
+        for (Definition search : searches) {
+            results.add(pool.submit(() -> {
+                // refresh() leaves the seen-postings record alone, so a batch
+                // run does not hide anything from the next new-only search
+                List<JobPosting> jobs = new WebScraper().refresh(search.filters);
+                write(search.name, jobs);
+                return null;
+            }));
+        }
+        pool.shutdown();
+        
+        int failed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get();
+            } catch (ExecutionException e) {
+                failed++;
+                logger.error("✗ Search '{}' failed: {}", searches.get(i).name, e.getCause().getMessage());
+            }
+        }
+        
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        System.err.printf("%d searches (%d failed), %d postings written, %d duplicates dropped, "
+                + "%d shared fetches reused, %.1fs%n",
+            searches.size(), failed, postings.get(), duplicates.get(),
+            metrics.count("fetch.shared.hits") + metrics.count("fetch.coalesced.joined")
+                + metrics.count("search.coalesced.joined"), (System.currentTimeMillis() - start) / 1000.0);
+        return failed;
+    }
+    
+    // Writes one search's results as soon as it finishes, so output starts
+    // streaming before the slowest search is done
+    private void write(String search, List<JobPosting> jobs) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (JobPosting job : jobs) {
+            if (!written.add(dedupKey(job))) {
+                duplicates.incrementAndGet();
+                continue;
+            }
+            JsonObject json = JobJson.toJson(job);
+            json.addProperty("search", search);
+            lines.append(gson.toJson(json)).append('\n');
+            postings.incrementAndGet();
+        }
+        synchronized (out) {
+            out.write(lines.toString());
+            out.flush();
+        }
+    }
+    
+    // Some boards give every card the same landing-page URL, so the title
+    // and company are part of the key
+    private static String dedupKey(JobPosting job) {
+        String url = UrlCanonicalizer.canonicalize(job.getUrl());
+        return (url != null ? url : "") + "|" + lower(job.getTitle()) + "|" + lower(job.getCompany());
+    }
+    
+    static List<Definition> readDefinitions(BufferedReader reader) throws IOException {
+        List<Definition> searches = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                searches.add(parseDefinition(gson.fromJson(line, JsonObject.class), lineNumber));
+            } catch (JsonParseException | IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return searches;
+    }
+    
+    private static Definition parseDefinition(JsonObject json, int lineNumber) {
+        SearchFilters filters = JobJson.toFilters(json);
+        String name = JobJson.string(json, "name");
+        return new Definition(name != null ? name : "#" + lineNumber, filters);
+    }
+    
+    private static String lower(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+    
+    static final class Definition {
+        final String name;
+        final SearchFilters filters;
+        
+        Definition(String name, SearchFilters filters) {
+            this.name = name;
+            this.filters = filters;
+        }
+    }
+}
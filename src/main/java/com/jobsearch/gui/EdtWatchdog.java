@@ -0,0 +1,173 @@
+package com.jobsearch.gui;
+
+import com.jobsearch.metrics.Histogram;
+import com.jobsearch.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Measures how responsive the event dispatch thread is and logs what it was
+// doing when it froze. Installed as the system event queue, it times every
+// event it dispatches ("edt.dispatch"), and a daemon thread posts a probe
+// every 250ms to time how long events wait to run ("edt.latency"). When one
+// dispatch runs past the stall threshold (-Djobsearch.edt.stallMs, 500 by
+// default) the watchdog logs the EDT's stack while it is still stuck, and
+// the full duration is recorded in "edt.stall" once it finishes. All of it
+// is a couple of nanoTime calls and counter increments per event, cheap
+// enough to leave on.
+public final class EdtWatchdog extends EventQueue {
+    private static final Logger logger = LoggerFactory.getLogger(EdtWatchdog.class);
+    private static final long STALL_MS = Long.getLong("jobsearch.edt.stallMs", 500);
+    private static final long CHECK_INTERVAL_MS = 50;
+    private static final long PROBE_INTERVAL_MS = 250;
+    private static final long SUMMARY_INTERVAL_MS = 5 * 60_000;
+    private static final int MAX_STACK_FRAMES = 60;
+    
+    private static EdtWatchdog installed;
+    
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Histogram dispatchTimes = metrics.histogram("edt.dispatch");
+    private final Histogram latency = metrics.histogram("edt.latency");
+    private final Histogram stalls = metrics.histogram("edt.stall");
+    // When the EDT last started running code for an event (nanoTime), or 0
+    // while it waits for one. A modal dialog dispatches events from inside
+    // another dispatch; the outer one counts as busy again only from when
+    // each nested event is done, so time spent reading a dialog is not a
+    // stall.
+    private volatile long busySince;
+    // Changes every time busySince does, so each stall is reported once
+    private volatile long busyId;
+    private volatile AWTEvent current;
+    private volatile Thread dispatchThread;
+    // Only touched on the EDT
+    private int depth;
+    private long dispatches;
+    
+    private EdtWatchdog() {
+    }
+    
+    public static synchronized void install() {
+        if (installed != null || GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        installed = new EdtWatchdog();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+        Thread thread = new Thread(installed::watch, "edt-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        busySince = 0;
+        return super.getNextEvent();
+    }
+    
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long start = System.nanoTime();
+        long seen = ++dispatches;
+        AWTEvent outer = current;
+        dispatchThread = Thread.currentThread();
+        current = event;
+        busyId++;
+        busySince = start;
+        depth++;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            depth--;
+            long end = System.nanoTime();
+            // An event that pumped others (a modal dialog) is not timed; the
+            // events it pumped were
+            if (dispatches == seen) {
+                long millis = (end - start) / 1_000_000;
+                dispatchTimes.record(millis);
+                if (millis >= STALL_MS) {
+                    stalls.record(millis);
+                    logger.warn("Event dispatch thread was blocked for {}ms by {}", millis, describe(event));
+                }
+            }
+            current = outer;
+            busyId++;
+            busySince = depth > 0 ? end : 0;
+        }
+    }
+    
+    private void watch() {
+        long reportedId = -1;
+        long nextProbe = 0;
+        long nextSummary = System.currentTimeMillis() + SUMMARY_INTERVAL_MS;
+        long stallsAtSummary = 0;
+        AtomicBoolean probePending = new AtomicBoolean();
+        while (true) {
+            try {
+                Thread.sleep(CHECK_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long since = busySince;
+            long id = busyId;
+            if (since != 0 && id != reportedId && System.nanoTime() - since >= STALL_MS * 1_000_000) {
+                reportedId = id;
+                reportStall(since);
+            }
+            
+            long now = System.currentTimeMillis();
+            if (now >= nextProbe && !probePending.get()) {
+                nextProbe = now + PROBE_INTERVAL_MS;
+                probePending.set(true);
+                long posted = System.nanoTime();
+                EventQueue.invokeLater(() -> {
+                    latency.record((System.nanoTime() - posted) / 1_000_000);
+                    probePending.set(false);
+                });
+            }
+            
+            if (now >= nextSummary) {
+                nextSummary = now + SUMMARY_INTERVAL_MS;
+                long stallCount = stalls.count();
+                if (stallCount > stallsAtSummary) {
+                    logger.info("Event dispatch thread: {} stalls so far, longest {}ms; dispatch p99 {}ms, "
+                        + "queue wait p99 {}ms over {} events", stallCount, stalls.max(),
+                        dispatchTimes.percentile(99), latency.percentile(99), dispatchTimes.count());
+                    stallsAtSummary = stallCount;
+                }
+            }
+        }
+    }
+    
+    private void reportStall(long since) {
+        Thread thread = dispatchThread;
+        AWTEvent event = current;
+        if (thread == null) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        StringBuilder trace = new StringBuilder();
+        for (int i = 0; i < stack.length && i < MAX_STACK_FRAMES; i++) {
+            trace.append("\n\tat ").append(stack[i]);
+        }
+        if (stack.length > MAX_STACK_FRAMES) {
+            trace.append("\n\t... ").append(stack.length - MAX_STACK_FRAMES).append(" more");
+        }
+        logger.warn("Event dispatch thread busy for {}ms with {}; it is at:{}",
+            (System.nanoTime() - since) / 1_000_000, describe(event), trace);
+    }
+    
+    private static String describe(AWTEvent event) {
+        if (event == null) {
+            return "an unknown event";
+        }
+        String params = event.paramString();
+        if (params.length() > 200) {
+            params = params.substring(0, 200) + "…";
+        }
+        return event.getClass().getSimpleName() + "[" + params + "]";
+    }
+}
@@ -0,0 +1,183 @@
+package com.jobsearch.gui;
+
+import com.jobsearch.store.JobStore;
+import com.jobsearch.store.ResultFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutionException;
+
+// Browses every posting seen so far, or a JSON Lines export, through a
+// PagedJobTableModel, so months of history open without loading them.
+// Paging keeps the heap small at the cost of sorting and the quick filter;
+// narrowing is done with the store query instead.
+public class HistoryFrame extends JFrame {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryFrame.class);
+    private static final int URL_COLUMN = 6;
+    
+    private final JTable table = new JTable();
+    private final JTextField titleField = new JTextField(25);
+    private final JButton showButton = new JButton("Show");
+    private final JButton openFileButton = new JButton("Open JSONL file…");
+    private final JLabel countLabel = new JLabel();
+    private PagedJobTableModel model;
+    private ResultFile openFile;
+    
+    public HistoryFrame() {
+        setTitle("Job History");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+        
+        table.setRowHeight(25);
+        table.setDefaultRenderer(LocalDate.class, new ResultsPanel.DateRenderer());
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = table.rowAtPoint(e.getPoint());
+                int col = table.columnAtPoint(e.getPoint());
+                if (col == URL_COLUMN && row >= 0) {
+                    ResultsPanel.openInBrowser(HistoryFrame.this, (String) table.getValueAt(row, col));
+                }
+            }
+        });
+        
+        titleField.setToolTipText("Show only jobs whose title contains every word; blank shows everything");
+        titleField.addActionListener(e -> showStore());
+        showButton.addActionListener(e -> showStore());
+        openFileButton.setToolTipText("Browse a results file exported as JSON Lines");
+        openFileButton.addActionListener(e -> chooseFile());
+        
+        JPanel queryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        queryPanel.add(new JLabel("Title contains:"));
+        queryPanel.add(titleField);
+        queryPanel.add(showButton);
+        queryPanel.add(openFileButton);
+        queryPanel.add(countLabel);
+        add(queryPanel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                replaceModel(null, null);
+            }
+        });
+        
+        setSize(1100, 700);
+        setLocationRelativeTo(null);
+        showStore();
+    }
+    
+    private void showStore() {
+        String terms = titleField.getText().trim();
+        load("history", () -> {
+            JobStore.Query query = JobStore.getInstance().query();
+            if (!terms.isEmpty()) {
+                query.titleTerms(terms);
+            }
+            return new PagedJobTableModel(PagedJobTableModel.storeSource(JobStore.getInstance(), query));
+        }, null);
+    }
+    
+    private void chooseFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new FileNameExtensionFilter("JSON Lines (*.jsonl)", "jsonl"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        ResultFile[] opened = new ResultFile[1];
+        load(file.getName(), () -> {
+            opened[0] = ResultFile.open(file.toPath());
+            return new PagedJobTableModel(PagedJobTableModel.fileSource(opened[0]));
+        }, opened);
+    }
+    
+    private interface ModelLoader {
+        PagedJobTableModel load() throws IOException;
+    }
+    
+    // Querying the store or indexing a file can take a few seconds for a
+    // large history, so both happen off the event dispatch thread
+    private void load(String name, ModelLoader loader, ResultFile[] file) {
+        showButton.setEnabled(false);
+        openFileButton.setEnabled(false);
+        countLabel.setText("Loading " + name + "…");
+        new SwingWorker<PagedJobTableModel, Void>() {
+            @Override
+            protected PagedJobTableModel doInBackground() throws IOException {
+                return loader.load();
+            }
+            
+            @Override
+            protected void done() {
+                showButton.setEnabled(true);
+                openFileButton.setEnabled(true);
+                try {
+                    PagedJobTableModel loaded = get();
+                    if (!isDisplayable()) {
+                        // Closed while loading
+                        loaded.close();
+                        closeQuietly(file != null ? file[0] : null);
+                        return;
+                    }
+                    replaceModel(loaded, file != null ? file[0] : null);
+                    countLabel.setText(loaded.getRowCount() + " jobs in " + name);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    countLabel.setText("");
+                    JOptionPane.showMessageDialog(HistoryFrame.this,
+                        "Could not load " + name + ": " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private void replaceModel(PagedJobTableModel newModel, ResultFile newFile) {
+        if (model != null) {
+            model.close();
+        }
+        closeQuietly(openFile);
+        model = newModel;
+        openFile = newFile;
+        if (newModel == null) {
+            return;
+        }
+        table.setModel(newModel);
+        table.getColumnModel().getColumn(0).setPreferredWidth(250);
+        table.getColumnModel().getColumn(1).setPreferredWidth(150);
+        table.getColumnModel().getColumn(2).setPreferredWidth(100);
+        table.getColumnModel().getColumn(3).setPreferredWidth(80);
+        table.getColumnModel().getColumn(4).setPreferredWidth(80);
+        table.getColumnModel().getColumn(5).setPreferredWidth(80);
+        table.getColumnModel().getColumn(6).setPreferredWidth(100);
+        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
+        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
+        table.getColumnModel().getColumn(4).setCellRenderer(centerRenderer);
+        table.getColumnModel().getColumn(5).setCellRenderer(centerRenderer);
+    }
+    
+    private static void closeQuietly(ResultFile file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.warn("Could not close {}: {}", file.getPath(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.jobsearch.gui;
+
+import com.jobsearch.model.SalaryRange;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+// Sorts and filters the results table. TableRowSorter fetches both cells
+// and runs a comparator on every comparison, and re-sorts every time its
+// filter changes, which takes 100ms or more per keystroke on 100k rows.
+// Here all rows are sorted once per sort or data change: dates, pay and
+// scores as packed long keys with a primitive Arrays.sort; text
+// case-insensitively. Filtering is then a single pass over that order
+// against a BitSet of matching model rows. Only the primary sort key is
+// used; ties keep model order.
+final class JobRowSorter extends RowSorter<JobTableModel> {
+    private static final long NO_VALUE = Integer.MIN_VALUE + 1;
+    
+    private final JobTableModel model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    // Model rows to show, or null for all
+    private BitSet filter;
+    // Every model row in sort order, or null while unsorted
+    private int[] sorted;
+    // Both null while neither sorted nor filtered (the identity mapping)
+    private int[] viewToModel;
+    private int[] modelToView;
+    private int modelRowCount;
+    
+    JobRowSorter(JobTableModel model) {
+        this.model = model;
+        this.modelRowCount = model.getRowCount();
+    }
+    
+    void setFilter(BitSet filter) {
+        int[] previous = currentViewToModel();
+        this.filter = filter;
+        applyFilter();
+        fireRowSorterChanged(previous);
+    }
+    
+    // For matches recomputed because the model changed; the sorter's own
+    // handling of that change applies them
+    void replaceFilter(BitSet filter) {
+        this.filter = filter;
+    }
+    
+    @Override
+    public JobTableModel getModel() {
+        return model;
+    }
+    
+    // A new column sorts ascending; the current one flips direction
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING) {
+            order = SortOrder.DESCENDING;
+        }
+        setSortKeys(Collections.singletonList(new SortKey(column, order)));
+    }
+    
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = keys != null
+            ? Collections.unmodifiableList(new ArrayList<>(keys)) : Collections.emptyList();
+        if (newKeys.equals(sortKeys)) {
+            return;
+        }
+        sortKeys = newKeys;
+        fireSortOrderChanged();
+        rebuild();
+    }
+    
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+    
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            if (index < 0 || index >= modelRowCount) {
+                throw new IndexOutOfBoundsException("Invalid index " + index);
+            }
+            return index;
+        }
+        return viewToModel[index];
+    }
+    
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            if (index < 0 || index >= modelRowCount) {
+                throw new IndexOutOfBoundsException("Invalid index " + index);
+            }
+            return index;
+        }
+        return modelToView[index];
+    }
+    
+    @Override
+    public int getViewRowCount() {
+        return viewToModel != null ? viewToModel.length : modelRowCount;
+    }
+    
+    @Override
+    public int getModelRowCount() {
+        return modelRowCount;
+    }
+    
+    @Override
+    public void modelStructureChanged() {
+        rebuild();
+    }
+    
+    @Override
+    public void allRowsChanged() {
+        rebuild();
+    }
+    
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        rebuild();
+    }
+    
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        rebuild();
+    }
+    
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        rebuild();
+    }
+    
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rebuild();
+    }
+    
+    private void rebuild() {
+        int[] previous = currentViewToModel();
+        modelRowCount = model.getRowCount();
+        sorted = sortKeys.isEmpty() ? null : sortRows(sortKeys.get(0));
+        applyFilter();
+        fireRowSorterChanged(previous);
+    }
+    
+    private void applyFilter() {
+        if (sorted == null && filter == null) {
+            viewToModel = null;
+            modelToView = null;
+            return;
+        }
+        int[] view = new int[modelRowCount];
+        int count = 0;
+        for (int i = 0; i < modelRowCount; i++) {
+            int row = sorted != null ? sorted[i] : i;
+            if (filter == null || filter.get(row)) {
+                view[count++] = row;
+            }
+        }
+        viewToModel = count == modelRowCount ? view : Arrays.copyOf(view, count);
+        modelToView = new int[modelRowCount];
+        Arrays.fill(modelToView, -1);
+        for (int i = 0; i < count; i++) {
+            modelToView[viewToModel[i]] = i;
+        }
+    }
+    
+    private int[] sortRows(SortKey key) {
+        int column = key.getColumn();
+        boolean descending = key.getSortOrder() == SortOrder.DESCENDING;
+        int[] rows = new int[modelRowCount];
+        if (model.getColumnClass(column) == String.class) {
+            String[] values = new String[modelRowCount];
+            Integer[] order = new Integer[modelRowCount];
+            for (int i = 0; i < modelRowCount; i++) {
+                values[i] = (String) model.getValueAt(i, column);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int result = compareText(values[a], values[b]);
+                return result != 0 ? (descending ? -result : result) : Integer.compare(a, b);
+            });
+            for (int i = 0; i < modelRowCount; i++) {
+                rows[i] = order[i];
+            }
+            return rows;
+        }
+        // Key in the high half, model row in the low half, so one primitive
+        // sort orders by key and breaks ties by row
+        long[] packed = new long[modelRowCount];
+        for (int i = 0; i < modelRowCount; i++) {
+            long value = numericKey(model.getValueAt(i, column));
+            packed[i] = ((descending ? -value : value) << 32) | i;
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < modelRowCount; i++) {
+            rows[i] = (int) packed[i];
+        }
+        return rows;
+    }
+    
+    // Missing values sort first ascending and last descending, as with
+    // TableRowSorter
+    private static long numericKey(Object value) {
+        long key;
+        if (value instanceof LocalDate) {
+            key = ((LocalDate) value).toEpochDay();
+        } else if (value instanceof SalaryRange) {
+            SalaryRange salary = (SalaryRange) value;
+            key = salary.isKnown() ? salary.getMin() : NO_VALUE;
+        } else if (value instanceof Number) {
+            key = ((Number) value).longValue();
+        } else {
+            key = NO_VALUE;
+        }
+        return Math.max(NO_VALUE, Math.min(Integer.MAX_VALUE, key));
+    }
+    
+    private static int compareText(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+    
+    private int[] currentViewToModel() {
+        if (viewToModel != null) {
+            return viewToModel.clone();
+        }
+        int[] identity = new int[modelRowCount];
+        for (int i = 0; i < modelRowCount; i++) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+}
@@ -1,63 +1,201 @@
 package com.jobsearch.gui;
 
 import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SalaryRange;
+import com.jobsearch.utils.UrlCanonicalizer;
+import javax.swing.Timer;
 import javax.swing.table.AbstractTableModel;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+// Like every Swing model, only touched on the event dispatch thread.
+// appendJobs and updateJobs queue their changes and a short timer applies
+// them, so a burst of streamed results costs one insert and one update
+// event instead of a full relayout per source.
 public class JobTableModel extends AbstractTableModel {
-    private final String[] columnNames = {
-        "Job Title", "Company", "Salary", "Posted Date", 
+    private static final int FLUSH_DELAY_MS = 100;
+    static final String[] COLUMN_NAMES = {
+        "Job Title", "Company", "Salary", "Posted Date",
         "Relevance (0-10)", "Reputation (0-10)", "URL"
     };
     
-    private List<JobPosting> jobs = new ArrayList<>();
-    private static final DateTimeFormatter DATE_FORMATTER = 
-        DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private final List<Row> rows = new ArrayList<>();
+    // Row index by rowKey, including rows still waiting to be appended
+    private final Map<String, Integer> indexByPosting = new HashMap<>();
+    private final List<Row> pendingAppends = new ArrayList<>();
+    private final Map<Integer, Row> pendingUpdates = new HashMap<>();
+    private final Timer flushTimer = new Timer(FLUSH_DELAY_MS, e -> flush());
     
+    public JobTableModel() {
+        flushTimer.setRepeats(false);
+    }
+    
+    // Replaces everything shown, dropping any queued changes
     public void setJobs(List<JobPosting> jobs) {
-        this.jobs = jobs;
+        flushTimer.stop();
+        pendingAppends.clear();
+        pendingUpdates.clear();
+        rows.clear();
+        indexByPosting.clear();
+        for (JobPosting job : jobs) {
+            Row row = new Row(job);
+            String key = rowKey(job);
+            if (key != null) {
+                indexByPosting.putIfAbsent(key, rows.size());
+            }
+            rows.add(row);
+        }
         fireTableDataChanged();
     }
     
+    public void appendJobs(Collection<JobPosting> jobs) {
+        for (JobPosting job : jobs) {
+            append(new Row(job));
+        }
+        scheduleFlush();
+    }
+    
+    // Replaces the row showing the same posting, e.g. after it was rescored,
+    // or appends the posting if it is not shown yet
+    public void updateJobs(Collection<JobPosting> jobs) {
+        for (JobPosting job : jobs) {
+            String key = rowKey(job);
+            Integer index = key != null ? indexByPosting.get(key) : null;
+            if (index == null) {
+                append(new Row(job));
+            } else if (index >= rows.size()) {
+                pendingAppends.set(index - rows.size(), new Row(job));
+            } else {
+                pendingUpdates.put(index, new Row(job));
+            }
+        }
+        scheduleFlush();
+    }
+    
+    public JobPosting getJobAt(int rowIndex) {
+        return rows.get(rowIndex).job;
+    }
+    
+    private void append(Row row) {
+        String key = rowKey(row.job);
+        if (key != null) {
+            indexByPosting.putIfAbsent(key, rows.size() + pendingAppends.size());
+        }
+        pendingAppends.add(row);
+    }
+    
+    // Some boards send several postings to one landing page, so the URL
+    // alone would let one of them replace another's row
+    private static String rowKey(JobPosting job) {
+        String url = UrlCanonicalizer.canonicalize(job.getUrl());
+        if (url == null) {
+            return null;
+        }
+        String title = job.getTitle() == null ? "" : job.getTitle().trim().toLowerCase(Locale.ROOT);
+        String company = job.getCompany() == null ? "" : job.getCompany().trim().toLowerCase(Locale.ROOT);
+        return url + "#" + title + "|" + company;
+    }
+    
+    private void scheduleFlush() {
+        if (!flushTimer.isRunning() && (!pendingAppends.isEmpty() || !pendingUpdates.isEmpty())) {
+            flushTimer.start();
+        }
+    }
+    
+    // One updated event spanning the changed rows, then one inserted event
+    private void flush() {
+        if (!pendingUpdates.isEmpty()) {
+            int first = Integer.MAX_VALUE;
+            int last = -1;
+            for (Map.Entry<Integer, Row> update : pendingUpdates.entrySet()) {
+                rows.set(update.getKey(), update.getValue());
+                first = Math.min(first, update.getKey());
+                last = Math.max(last, update.getKey());
+            }
+            pendingUpdates.clear();
+            fireTableRowsUpdated(first, last);
+        }
+        if (!pendingAppends.isEmpty()) {
+            int first = rows.size();
+            rows.addAll(pendingAppends);
+            pendingAppends.clear();
+            fireTableRowsInserted(first, rows.size() - 1);
+        }
+    }
+    
     @Override
     public int getRowCount() {
-        return jobs.size();
+        return rows.size();
     }
     
     @Override
     public int getColumnCount() {
-        return columnNames.length;
+        return COLUMN_NAMES.length;
     }
     
     @Override
     public String getColumnName(int column) {
-        return columnNames[column];
+        return COLUMN_NAMES[column];
     }
     
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        JobPosting job = jobs.get(rowIndex);
-        
-        switch (columnIndex) {
-            case 0: return job.getTitle();
-            case 1: return job.getCompany();
-            case 2: return job.getSalary() != null ? job.getSalary() : "N/A";
-            case 3: return job.getPostedDate() != null ? 
-                job.getPostedDate().format(DATE_FORMATTER) : "N/A";
-            case 4: return job.getRelevanceScore();
-            case 5: return job.getReputabilityScore();
-            case 6: return job.getUrl();
-            default: return null;
-        }
+        return rows.get(rowIndex).valueAt(columnIndex);
     }
     
     @Override
     public Class<?> getColumnClass(int columnIndex) {
-        if (columnIndex == 4 || columnIndex == 5) {
-            return Integer.class;
+        return columnClass(columnIndex);
+    }
+    
+    // Typed so the row sorter compares dates, pay and scores rather than
+    // their text; ResultsPanel renders dates as MM/dd/yyyy
+    static Class<?> columnClass(int columnIndex) {
+        switch (columnIndex) {
+            case 2: return SalaryRange.class;
+            case 3: return LocalDate.class;
+            case 4:
+            case 5: return Integer.class;
+            default: return String.class;
+        }
+    }
+    
+    // Cell values are worked out once per row rather than on every
+    // repaint of every visible cell
+    static final class Row {
+        final JobPosting job;
+        final SalaryRange salary;
+        final Integer relevance;
+        final Integer reputation;
+        
+        Row(JobPosting job) {
+            this(job, true);
+        }
+        
+        // Postings read back from history carry no scores; theirs are left blank
+        Row(JobPosting job, boolean scored) {
+            this.job = job;
+            this.salary = SalaryRange.parse(job.getSalary());
+            this.relevance = scored ? job.getRelevanceScore() : null;
+            this.reputation = scored ? job.getReputabilityScore() : null;
+        }
+        
+        Object valueAt(int columnIndex) {
+            switch (columnIndex) {
+                case 0: return job.getTitle();
+                case 1: return job.getCompany();
+                case 2: return salary;
+                case 3: return job.getPostedDate();
+                case 4: return relevance;
+                case 5: return reputation;
+                case 6: return job.getUrl();
+                default: return null;
+            }
         }
-        return String.class;
     }
-}
\ No newline at end of file
+}
@@ -4,20 +4,27 @@ import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import com.jobsearch.model.SearchFilters.WorkModel;
 import com.jobsearch.model.SearchFilters.ExperienceLevel;
+import com.jobsearch.schedule.SavedSearch;
+import com.jobsearch.schedule.SavedSearches;
+import com.jobsearch.schedule.SearchScheduler;
 import com.jobsearch.scraper.WebScraper;
-import com.jobsearch.utils.ExcelExporter;
+import com.jobsearch.utils.ResultExporter;
+import com.jobsearch.utils.ResultExporter.Format;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.io.File;
-import java.net.URI;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class MainFrame extends JFrame {
@@ -25,9 +32,13 @@ public class MainFrame extends JFrame {
     private JButton selectResumeButton;
     private JButton searchButton;
     private JButton exportButton;
-    private JTable jobTable;
+    private JButton saveSearchButton;
     private JobTableModel tableModel;
     private JProgressBar progressBar;
+    private JPanel exportPanel;
+    private JProgressBar exportProgressBar;
+    private JButton cancelExportButton;
+    private SwingWorker<File, Void> exportWorker;
     private JLabel statusLabel;
     private JLabel resumeLabel;
     
@@ -38,9 +49,12 @@ public class MainFrame extends JFrame {
     private JTextField stateField;
     private ButtonGroup experienceLevelGroup;
     private JRadioButton juniorRadio, midLevelRadio, seniorRadio, noExpPrefRadio;
+    private JCheckBox newOnlyCheckBox;
     
     private File selectedResume;
     private List<JobPosting> currentJobs;
+    // Lets a background top-up tell whether its search is still the one shown
+    private int searchGeneration;
     
     public MainFrame() {
         initializeUI();
@@ -54,8 +68,8 @@ public class MainFrame extends JFrame {
         JPanel topPanel = createTopPanel();
         add(topPanel, BorderLayout.NORTH);
         
-        JScrollPane scrollPane = createTablePanel();
-        add(scrollPane, BorderLayout.CENTER);
+        tableModel = new JobTableModel();
+        add(new ResultsPanel(tableModel), BorderLayout.CENTER);
         
         JPanel bottomPanel = createBottomPanel();
         add(bottomPanel, BorderLayout.SOUTH);
@@ -208,6 +222,16 @@ public class MainFrame extends JFrame {
         
         row++;
         
+        // New since last run
+        gbc.gridx = 1;
+        gbc.gridy = row;
+        gbc.gridwidth = 3;
+        gbc.weightx = 1.0;
+        newOnlyCheckBox = new JCheckBox("Only show postings new since my last search");
+        panel.add(newOnlyCheckBox, gbc);
+        
+        row++;
+        
         // Action buttons
         gbc.gridx = 0;
         gbc.gridy = row;
@@ -221,55 +245,27 @@ public class MainFrame extends JFrame {
         searchButton.setFont(searchButton.getFont().deriveFont(Font.BOLD, 14f));
         buttonPanel.add(searchButton);
         
-        exportButton = new JButton("📊 Export to Excel");
-        exportButton.addActionListener(e -> exportToExcel());
+        exportButton = new JButton("📊 Export Results");
+        exportButton.setToolTipText("Save the results as an Excel workbook, CSV or JSON Lines file");
+        exportButton.addActionListener(e -> exportResults());
         exportButton.setEnabled(false);
         buttonPanel.add(exportButton);
         
+        saveSearchButton = new JButton("💾 Save Search");
+        saveSearchButton.setToolTipText("Keep this search refreshed in the background");
+        saveSearchButton.addActionListener(e -> saveSearch());
+        buttonPanel.add(saveSearchButton);
+        
+        JButton historyButton = new JButton("📚 History");
+        historyButton.setToolTipText("Browse every job found so far, or an exported JSON Lines file");
+        historyButton.addActionListener(e -> new HistoryFrame().setVisible(true));
+        buttonPanel.add(historyButton);
+        
         panel.add(buttonPanel, gbc);
         
         return panel;
     }
     
-    private JScrollPane createTablePanel() {
-        tableModel = new JobTableModel();
-        jobTable = new JTable(tableModel);
-        jobTable.setRowHeight(25);
-        jobTable.setAutoCreateRowSorter(true);
-        
-        jobTable.getColumnModel().getColumn(0).setPreferredWidth(250);
-        jobTable.getColumnModel().getColumn(1).setPreferredWidth(150);
-        jobTable.getColumnModel().getColumn(2).setPreferredWidth(100);
-        jobTable.getColumnModel().getColumn(3).setPreferredWidth(80);
-        jobTable.getColumnModel().getColumn(4).setPreferredWidth(80);
-        jobTable.getColumnModel().getColumn(5).setPreferredWidth(80);
-        jobTable.getColumnModel().getColumn(6).setPreferredWidth(100);
-        
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-        jobTable.getColumnModel().getColumn(4).setCellRenderer(centerRenderer);
-        jobTable.getColumnModel().getColumn(5).setCellRenderer(centerRenderer);
-        
-        jobTable.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                int row = jobTable.rowAtPoint(e.getPoint());
-                int col = jobTable.columnAtPoint(e.getPoint());
-                if (col == 6 && row >= 0) {
-                    try {
-                        String url = (String) jobTable.getValueAt(row, col);
-                        Desktop.getDesktop().browse(new URI(url));
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(MainFrame.this, 
-                            "Could not open URL: " + ex.getMessage());
-                    }
-                }
-            }
-        });
-        
-        return new JScrollPane(jobTable);
-    }
-    
     private JPanel createBottomPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
@@ -281,6 +277,23 @@ public class MainFrame extends JFrame {
         progressBar.setVisible(false);
         panel.add(progressBar, BorderLayout.CENTER);
         
+        // Exports run alongside searches, so they get their own progress bar
+        exportPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        exportProgressBar = new JProgressBar(0, 100);
+        exportProgressBar.setStringPainted(true);
+        cancelExportButton = new JButton("Cancel Export");
+        cancelExportButton.addActionListener(e -> {
+            if (exportWorker != null) {
+                exportWorker.cancel(true);
+                cancelExportButton.setEnabled(false);
+                exportProgressBar.setString("Cancelling...");
+            }
+        });
+        exportPanel.add(exportProgressBar);
+        exportPanel.add(cancelExportButton);
+        exportPanel.setVisible(false);
+        panel.add(exportPanel, BorderLayout.EAST);
+        
         return panel;
     }
     
@@ -330,6 +343,8 @@ public class MainFrame extends JFrame {
             filters.setExperienceLevel(ExperienceLevel.NO_PREFERENCE);
         }
         
+        filters.setNewOnly(newOnlyCheckBox.isSelected());
+        
         return filters;
     }
     
@@ -359,19 +374,33 @@ public class MainFrame extends JFrame {
         });
         statusTimer.start();
         
+        int generation = ++searchGeneration;
+        // Live searches fill the table as each board finishes; the final,
+        // fully ranked list replaces it when the search completes
+        tableModel.setJobs(Collections.emptyList());
+        WebScraper.SourceListener partial = (source, jobs) -> SwingUtilities.invokeLater(() -> {
+            if (generation == searchGeneration) {
+                tableModel.updateJobs(jobs);
+            }
+        });
         CompletableFuture.supplyAsync(() -> {
             WebScraper scraper = new WebScraper();
-            return scraper.searchJobs(filters);
+            return scraper.searchJobsCached(filters, partial, jobs -> showTopUp(generation, jobs));
         }).thenAccept(jobs -> {
+            // Tallied here rather than on the event dispatch thread
+            Map<String, Long> sourceCounts = jobs.stream()
+                .collect(Collectors.groupingBy(JobPosting::getSource, TreeMap::new, Collectors.counting()));
             SwingUtilities.invokeLater(() -> {
                 statusTimer.stop();
                 currentJobs = jobs;
                 tableModel.setJobs(jobs);
                 searchButton.setEnabled(true);
-                exportButton.setEnabled(!jobs.isEmpty());
+                exportButton.setEnabled(!jobs.isEmpty() && exportWorker == null);
                 progressBar.setVisible(false);
                 
-                if (jobs.isEmpty()) {
+                if (jobs.isEmpty() && filters.isNewOnly()) {
+                    statusLabel.setText("No new jobs since your last search");
+                } else if (jobs.isEmpty()) {
                     statusLabel.setText("No jobs found");
                     JOptionPane.showMessageDialog(this, 
                         "No jobs were found. This might be due to:\n" +
@@ -382,11 +411,7 @@ public class MainFrame extends JFrame {
                         "No Results", JOptionPane.INFORMATION_MESSAGE);
                 } else {
                     statusLabel.setText(String.format("Found %d jobs from %d sources", 
-                        jobs.size(), 
-                        jobs.stream().map(JobPosting::getSource).distinct().count()));
-                    
-                    Map<String, Long> sourceCounts = jobs.stream()
-                        .collect(Collectors.groupingBy(JobPosting::getSource, Collectors.counting()));
+                        jobs.size(), sourceCounts.size()));
                     
                     StringBuilder sourceInfo = new StringBuilder("Jobs by source:\n");
                     sourceCounts.forEach((source, count) -> 
@@ -416,24 +441,163 @@ public class MainFrame extends JFrame {
         });
     }
     
-    private void exportToExcel() {
+    // Replaces cached results with the background refresh, unless another
+    // search has been started since
+    private void showTopUp(int generation, List<JobPosting> jobs) {
+        SwingUtilities.invokeLater(() -> {
+            if (generation != searchGeneration) {
+                return;
+            }
+            currentJobs = jobs;
+            tableModel.setJobs(jobs);
+            exportButton.setEnabled(!jobs.isEmpty() && exportWorker == null);
+            statusLabel.setText(String.format("Updated: %d jobs from %d sources", 
+                jobs.size(), 
+                jobs.stream().map(JobPosting::getSource).distinct().count()));
+        });
+    }
+    
+    private void saveSearch() {
+        SearchFilters filters = getFiltersFromUI();
+        if (filters.getSearchTerms().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter search terms");
+            return;
+        }
+        
+        String name = (String) JOptionPane.showInputDialog(this, 
+            "Name for this search:", "Save Search", 
+            JOptionPane.PLAIN_MESSAGE, null, null, filters.getSearchTerms());
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        String minutes = (String) JOptionPane.showInputDialog(this, 
+            "Refresh every how many minutes?", "Save Search", 
+            JOptionPane.PLAIN_MESSAGE, null, null, "60");
+        if (minutes == null) {
+            return;
+        }
+        
+        try {
+            int refreshMinutes = Math.max(5, Integer.parseInt(minutes.trim()));
+            SavedSearch search = new SavedSearch(name.trim(), filters, refreshMinutes);
+            new SavedSearches().add(search);
+            SearchScheduler.getInstance().refreshSoon(search);
+            statusLabel.setText(String.format("Saved '%s' - refreshing every %d min", 
+                search.getName(), refreshMinutes));
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a number of minutes");
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, 
+                "Could not save the search: " + e.getMessage());
+        }
+    }
+    
+    private void exportResults() {
         JFileChooser fileChooser = new JFileChooser();
+        for (Format format : Format.values()) {
+            FileNameExtensionFilter filter = new FileNameExtensionFilter(
+                format.getDescription() + " (*." + format.getExtension() + ")", format.getExtension());
+            fileChooser.addChoosableFileFilter(filter);
+            if (format == Format.XLSX) {
+                fileChooser.setFileFilter(filter);
+            }
+        }
+        fileChooser.setAcceptAllFileFilterUsed(false);
         fileChooser.setSelectedFile(new File("job_search_results.xlsx"));
         
-        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            File file = fileChooser.getSelectedFile();
-            if (!file.getName().endsWith(".xlsx")) {
-                file = new File(file.getAbsolutePath() + ".xlsx");
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File chosen = fileChooser.getSelectedFile();
+        // An explicit extension wins; otherwise use the chosen file type
+        Format format = Format.forFile(chosen);
+        if (!chosen.getName().toLowerCase().endsWith("." + format.getExtension())) {
+            String extension = ((FileNameExtensionFilter) fileChooser.getFileFilter()).getExtensions()[0];
+            format = Format.valueOf(extension.toUpperCase());
+            chosen = new File(chosen.getAbsolutePath() + "." + extension);
+        }
+        startExport(currentJobs, chosen, format);
+    }
+    
+    // Writes on a background thread so the window stays responsive; the
+    // target file is only replaced once the export has completed
+    private void startExport(List<JobPosting> jobs, File file, Format format) {
+        exportButton.setEnabled(false);
+        cancelExportButton.setEnabled(true);
+        exportProgressBar.setValue(0);
+        exportProgressBar.setString("Exporting 0 of " + jobs.size());
+        exportPanel.setVisible(true);
+        statusLabel.setText("Exporting " + jobs.size() + " jobs to " + file.getName() + "...");
+        
+        AtomicBoolean started = new AtomicBoolean();
+        exportWorker = new SwingWorker<File, Void>() {
+            @Override
+            protected File doInBackground() throws Exception {
+                started.set(true);
+                SwingWorker<File, Void> worker = this;
+                try {
+                    ResultExporter.export(jobs, file, format, new ResultExporter.Progress() {
+                        @Override
+                        public void update(int written, int total) {
+                            setProgress(total == 0 ? 100 : (int) (100L * written / total));
+                        }
+                        
+                        @Override
+                        public boolean isCancelled() {
+                            return worker.isCancelled();
+                        }
+                    });
+                    return file;
+                } finally {
+                    SwingUtilities.invokeLater(() -> exportFinished(worker));
+                }
             }
             
-            try {
-                ExcelExporter.export(currentJobs, file);
-                statusLabel.setText("Exported to: " + file.getName());
-                JOptionPane.showMessageDialog(this, "Export successful!");
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, 
-                    "Export failed: " + e.getMessage());
+            // Runs as soon as the worker is cancelled, while the write may
+            // still be going; exportFinished waits for the write itself
+            @Override
+            protected void done() {
+                if (!started.get()) {
+                    exportFinished(this);
+                }
+                try {
+                    get();
+                    statusLabel.setText("Exported to: " + file.getName());
+                    JOptionPane.showMessageDialog(MainFrame.this, "Export successful!");
+                } catch (CancellationException e) {
+                    statusLabel.setText("Export cancelled");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof CancellationException) {
+                        statusLabel.setText("Export cancelled");
+                        return;
+                    }
+                    statusLabel.setText("Export failed");
+                    JOptionPane.showMessageDialog(MainFrame.this,
+                        "Export failed: " + cause.getMessage());
+                }
+            }
+        };
+        exportWorker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                int percent = (Integer) event.getNewValue();
+                exportProgressBar.setValue(percent);
+                exportProgressBar.setString("Exporting " + (int) (jobs.size() * (long) percent / 100)
+                    + " of " + jobs.size());
             }
+        });
+        exportWorker.execute();
+    }
+    
+    // Only now may another export start
+    private void exportFinished(SwingWorker<File, Void> worker) {
+        if (exportWorker != worker) {
+            return;
         }
+        exportWorker = null;
+        exportPanel.setVisible(false);
+        exportButton.setEnabled(currentJobs != null && !currentJobs.isEmpty());
     }
 }
\ No newline at end of file
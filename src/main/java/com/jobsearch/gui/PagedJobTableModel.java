@@ -0,0 +1,201 @@
+package com.jobsearch.gui;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.store.JobStore;
+import com.jobsearch.store.ResultFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// A read-only table model over a result too large to hold in memory. Rows
+// are read a page at a time from a Source on a background thread and only
+// the most recently viewed pages are kept, without descriptions, so the
+// heap stays the same whether the source has ten thousand postings or a
+// million. A row whose page is not loaded yet shows as "Loading…" and is
+// repainted when the page arrives; the next pages in the scrolling
+// direction are read ahead. Like every Swing model, only touched on the
+// event dispatch thread.
+public class PagedJobTableModel extends AbstractTableModel implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PagedJobTableModel.class);
+    static final int PAGE_ROWS = 200;
+    private static final int MAX_PAGES = 16;
+    private static final int PREFETCH_PAGES = 2;
+    private static final String LOADING = "Loading…";
+    
+    public interface Source {
+        int size();
+        
+        // Postings [from, to); may be called from a background thread
+        List<JobPosting> read(int from, int to) throws IOException;
+    }
+    
+    private final Source source;
+    private final int rowCount;
+    private final Map<Integer, JobTableModel.Row[]> pages =
+        new LinkedHashMap<Integer, JobTableModel.Row[]>(MAX_PAGES * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, JobTableModel.Row[]> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+    private final Set<Integer> loading = new HashSet<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "history-pages");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The page last painted; the loader skips queued pages that have
+    // scrolled well out of view since they were requested
+    private volatile int currentPage;
+    private int scrollDirection = 1;
+    // Set by close(); queued pages are dropped rather than read
+    private volatile boolean closed;
+    
+    public PagedJobTableModel(Source source) {
+        this.source = source;
+        this.rowCount = source.size();
+    }
+    
+    // Matches of a store query, most recently seen first. Only their ids are
+    // held; the store must stay open while the model is in use.
+    public static Source storeSource(JobStore store, JobStore.Query query) {
+        int[] ids = query.ids();
+        return new Source() {
+            @Override
+            public int size() {
+                return ids.length;
+            }
+            
+            @Override
+            public List<JobPosting> read(int from, int to) throws IOException {
+                return store.read(ids, from, to);
+            }
+        };
+    }
+    
+    public static Source fileSource(ResultFile file) {
+        return new Source() {
+            @Override
+            public int size() {
+                return file.size();
+            }
+            
+            @Override
+            public List<JobPosting> read(int from, int to) throws IOException {
+                return file.read(from, to);
+            }
+        };
+    }
+    
+    // Null while the row's page is loading
+    public JobPosting getJobAt(int rowIndex) {
+        JobTableModel.Row row = rowAt(rowIndex);
+        return row != null ? row.job : null;
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return JobTableModel.COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return JobTableModel.COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return JobTableModel.columnClass(columnIndex);
+    }
+    
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        JobTableModel.Row row = rowAt(rowIndex);
+        if (row == null) {
+            return columnIndex == 0 ? LOADING : null;
+        }
+        return row.valueAt(columnIndex);
+    }
+    
+    // The loader is not interrupted: an interrupt during a read would close
+    // the store's shared file channel for every other reader. A page being
+    // read when the model closes finishes and is thrown away.
+    @Override
+    public void close() {
+        closed = true;
+        loader.shutdown();
+    }
+    
+    private JobTableModel.Row rowAt(int rowIndex) {
+        int page = rowIndex / PAGE_ROWS;
+        if (page != currentPage) {
+            scrollDirection = page > currentPage ? 1 : -1;
+            currentPage = page;
+        }
+        JobTableModel.Row[] rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+        } else {
+            // Read ahead once the visible page is in
+            for (int i = 1; i <= PREFETCH_PAGES; i++) {
+                request(page + i * scrollDirection);
+            }
+        }
+        return rows != null ? rows[rowIndex - page * PAGE_ROWS] : null;
+    }
+    
+    private void request(int page) {
+        int from = page * PAGE_ROWS;
+        if (closed || page < 0 || from >= rowCount || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        int to = Math.min(rowCount, from + PAGE_ROWS);
+        loader.execute(() -> {
+            if (closed || Math.abs(page - currentPage) > MAX_PAGES / 2) {
+                SwingUtilities.invokeLater(() -> loading.remove(page));
+                return;
+            }
+            JobTableModel.Row[] rows = new JobTableModel.Row[to - from];
+            try {
+                List<JobPosting> jobs = source.read(from, to);
+                for (int i = 0; i < rows.length; i++) {
+                    JobPosting job = i < jobs.size() ? jobs.get(i) : new JobPosting();
+                    // Descriptions are most of a posting and never shown here
+                    job.setDescription(null);
+                    rows[i] = new JobTableModel.Row(job, false);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not load rows {}-{}: {}", from, to, e.getMessage());
+                for (int i = 0; i < rows.length; i++) {
+                    JobPosting unreadable = new JobPosting();
+                    unreadable.setTitle("(could not load: " + e.getMessage() + ")");
+                    rows[i] = new JobTableModel.Row(unreadable, false);
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                loading.remove(page);
+                if (closed) {
+                    return;
+                }
+                pages.put(page, rows);
+                fireTableRowsUpdated(from, to - 1);
+            });
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package com.jobsearch.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+// Lowercase trigram index over each row's title, company and location, so
+// the quick filter looks at the rows sharing the query's rarest trigram
+// instead of scanning every row with a regex. Characters are folded into
+// 6-bit codes, so a trigram is an index into a flat array rather than a
+// map key. Candidates are confirmed with contains(), which makes folding
+// collisions and stale postings left by replaced rows harmless.
+final class QuickFilterIndex {
+    private static final int CODE_BITS = 6;
+    private final List<String> texts = new ArrayList<>();
+    private Postings[] postings = new Postings[1 << (3 * CODE_BITS)];
+    // The previous query and its matches; typing usually extends the query,
+    // and a longer query can only match a subset
+    private String lastQuery;
+    private BitSet lastMatches;
+    
+    void clear() {
+        texts.clear();
+        postings = new Postings[postings.length];
+        lastQuery = null;
+    }
+    
+    int size() {
+        return texts.size();
+    }
+    
+    // Rows are normally added in order (row == size()); a lower row
+    // replaces that row's text
+    void set(int row, String title, String company, String location) {
+        String text = (nullToEmpty(title) + " | " + nullToEmpty(company) + " | "
+            + nullToEmpty(location)).toLowerCase(Locale.ROOT);
+        if (row == texts.size()) {
+            texts.add(text);
+        } else {
+            texts.set(row, text);
+        }
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            int trigram = trigram(text, i);
+            if (postings[trigram] == null) {
+                postings[trigram] = new Postings();
+            }
+            postings[trigram].add(row);
+        }
+        lastQuery = null;
+    }
+    
+    // Rows containing every whitespace-separated term of the query, or null
+    // for a blank query (no filtering)
+    BitSet search(String query) {
+        String normalized = query.toLowerCase(Locale.ROOT).trim();
+        if (normalized.isEmpty()) {
+            lastQuery = null;
+            return null;
+        }
+        String[] terms = normalized.split("\\s+");
+        BitSet matches = new BitSet(texts.size());
+        Postings rarest = null;
+        for (String term : terms) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Postings list = postings[trigram(term, i)];
+                if (list == null) {
+                    return remember(normalized, matches);
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+        }
+        // Check whichever candidate set is smaller: the previous matches if
+        // this query extends the previous one, else the rarest trigram's rows
+        // (or every row when all terms are shorter than a trigram)
+        BitSet previous = lastQuery != null && normalized.startsWith(lastQuery) ? lastMatches : null;
+        if (previous != null && (rarest == null || previous.cardinality() < rarest.size)) {
+            for (int row = previous.nextSetBit(0); row >= 0; row = previous.nextSetBit(row + 1)) {
+                if (containsAll(texts.get(row), terms)) {
+                    matches.set(row);
+                }
+            }
+        } else if (rarest != null) {
+            for (int i = 0; i < rarest.size; i++) {
+                int row = rarest.rows[i];
+                if (containsAll(texts.get(row), terms)) {
+                    matches.set(row);
+                }
+            }
+        } else {
+            for (int row = 0; row < texts.size(); row++) {
+                if (containsAll(texts.get(row), terms)) {
+                    matches.set(row);
+                }
+            }
+        }
+        return remember(normalized, matches);
+    }
+    
+    private BitSet remember(String query, BitSet matches) {
+        lastQuery = query;
+        lastMatches = matches;
+        return matches;
+    }
+    
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int trigram(String text, int start) {
+        return (code(text.charAt(start)) << (2 * CODE_BITS)) | (code(text.charAt(start + 1)) << CODE_BITS)
+            | code(text.charAt(start + 2));
+    }
+    
+    // Letters, digits and space get their own codes; everything else shares
+    // the remaining ones
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        if (c == ' ') {
+            return 37;
+        }
+        return 38 + c % 26;
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    // Sorted, distinct row numbers
+    private static final class Postings {
+        int[] rows = new int[4];
+        int size;
+        
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                // The trigram occurs more than once in this row
+                return;
+            }
+            if (size > 0 && rows[size - 1] > row) {
+                // A replaced row; rare, so a sorted insert is fine
+                int at = Arrays.binarySearch(rows, 0, size, row);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, row);
+                return;
+            }
+            insert(size, row);
+        }
+        
+        private void insert(int at, int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, at, rows, at + 1, size - at);
+            rows[at] = row;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.jobsearch.gui;
+
+import com.jobsearch.model.JobPosting;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// The results table with a quick-filter box above it. Typing filters the
+// rows on every keystroke through a trigram index of title, company and
+// location; columns sort on their typed values (date, pay, score).
+public class ResultsPanel extends JPanel {
+    private static final int URL_COLUMN = 6;
+    
+    private final JobTableModel model;
+    private final JTable table;
+    private final JobRowSorter sorter;
+    private final JTextField filterField = new JTextField(30);
+    private final JLabel countLabel = new JLabel();
+    private final QuickFilterIndex index = new QuickFilterIndex();
+    // Model rows matching the filter box, or null when it is empty
+    private BitSet matches;
+    
+    public ResultsPanel(JobTableModel model) {
+        super(new BorderLayout());
+        this.model = model;
+        
+        table = new JTable(model);
+        table.setRowHeight(25);
+        sorter = new JobRowSorter(model);
+        table.setRowSorter(sorter);
+        
+        table.getColumnModel().getColumn(0).setPreferredWidth(250);
+        table.getColumnModel().getColumn(1).setPreferredWidth(150);
+        table.getColumnModel().getColumn(2).setPreferredWidth(100);
+        table.getColumnModel().getColumn(3).setPreferredWidth(80);
+        table.getColumnModel().getColumn(4).setPreferredWidth(80);
+        table.getColumnModel().getColumn(5).setPreferredWidth(80);
+        table.getColumnModel().getColumn(6).setPreferredWidth(100);
+        
+        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
+        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
+        table.getColumnModel().getColumn(4).setCellRenderer(centerRenderer);
+        table.getColumnModel().getColumn(5).setCellRenderer(centerRenderer);
+        table.setDefaultRenderer(LocalDate.class, new DateRenderer());
+        
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = table.rowAtPoint(e.getPoint());
+                int col = table.columnAtPoint(e.getPoint());
+                if (col == URL_COLUMN && row >= 0) {
+                    openInBrowser(ResultsPanel.this, (String) table.getValueAt(row, col));
+                }
+            }
+        });
+        
+        // Listeners are notified newest first, so this runs before the
+        // table's own listener and the sorter filters new rows against
+        // up-to-date matches
+        model.addTableModelListener(this::indexChanged);
+        
+        filterField.setToolTipText("Show only jobs whose title, company or location contain every word");
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+        });
+        
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Filter results:"));
+        filterPanel.add(filterField);
+        filterPanel.add(countLabel);
+        add(filterPanel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        updateCount();
+    }
+    
+    private void indexChanged(TableModelEvent e) {
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        boolean rowEvent = first != TableModelEvent.HEADER_ROW && last != Integer.MAX_VALUE
+            && e.getType() != TableModelEvent.DELETE;
+        if (rowEvent && first <= index.size()) {
+            for (int row = first; row <= last; row++) {
+                index(row);
+            }
+        } else {
+            index.clear();
+            for (int row = 0; row < model.getRowCount(); row++) {
+                index(row);
+            }
+        }
+        if (matches != null) {
+            matches = index.search(filterField.getText());
+            sorter.replaceFilter(matches);
+        }
+        SwingUtilities.invokeLater(this::updateCount);
+    }
+    
+    private void index(int row) {
+        JobPosting job = model.getJobAt(row);
+        index.set(row, job.getTitle(), job.getCompany(), job.getLocation());
+    }
+    
+    private void applyFilter() {
+        matches = index.search(filterField.getText());
+        sorter.setFilter(matches);
+        updateCount();
+    }
+    
+    private void updateCount() {
+        int total = model.getRowCount();
+        int shown = table.getRowCount();
+        countLabel.setText(shown == total ? total + " jobs" : "Showing " + shown + " of " + total);
+    }
+    
+    // Launching the browser can take seconds on some desktops, so it happens
+    // off the event dispatch thread
+    static void openInBrowser(Component parent, String url) {
+        if (url == null) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                Desktop.getDesktop().browse(new URI(url));
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(parent,
+                    "Could not open URL: " + ex.getMessage()));
+            }
+        });
+    }
+    
+    // MM/dd/yyyy, formatted once per distinct date
+    static final class DateRenderer extends DefaultTableCellRenderer {
+        private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("MM/dd/yyyy");
+        private final Map<LocalDate, String> labels = new HashMap<>();
+        
+        @Override
+        protected void setValue(Object value) {
+            setText(value instanceof LocalDate
+                ? labels.computeIfAbsent((LocalDate) value, DATE_FORMATTER::format) : "N/A");
+        }
+    }
+}
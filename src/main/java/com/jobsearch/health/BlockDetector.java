@@ -0,0 +1,136 @@
+package com.jobsearch.health;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+// Recognises block and challenge pages from the cheapest signal available.
+// Callers check in order: status and headers, cookie names, URL and title,
+// a handful of challenge selectors, and only when a page produced nothing
+// usable the visible text. Each check returns null when it sees no block.
+public final class BlockDetector {
+    
+    public static final String CHALLENGE_SELECTORS = 
+        "iframe[src*='captcha'], #challenge-form, #challenge-running, #cf-challenge-running, "
+        + ".g-recaptcha, .h-captcha, #px-captcha";
+    
+    private static final String[] CHALLENGE_TITLES = {
+        "just a moment", "attention required", "security check", "please verify"
+    };
+    private static final String[] CHALLENGE_TEXT = {
+        "checking your browser", "enable javascript and cookies to continue",
+        "verify you are human", "cloudflare ray id"
+    };
+    
+    private BlockDetector() {
+    }
+    
+    public static BlockReason fromResponse(int status, Map<String, String> headers) {
+        String mitigated = header(headers, "cf-mitigated");
+        if (mitigated != null && mitigated.equalsIgnoreCase("challenge")) {
+            return BlockReason.CLOUDFLARE_CHALLENGE;
+        }
+        if (header(headers, "x-datadome") != null || header(headers, "x-px-block") != null) {
+            return BlockReason.BOT_PROTECTION;
+        }
+        if (status == 429) {
+            return BlockReason.RATE_LIMITED;
+        }
+        if (status == 403 || status == 503) {
+            String server = header(headers, "server");
+            if (server != null && server.toLowerCase(Locale.ROOT).contains("cloudflare")) {
+                return BlockReason.CLOUDFLARE_CHALLENGE;
+            }
+            if (status == 403) {
+                return BlockReason.ACCESS_DENIED;
+            }
+        }
+        return null;
+    }
+    
+    public static BlockReason fromCookies(Collection<String> cookieNames) {
+        for (String name : cookieNames) {
+            // Only cookies set while a challenge is pending; clearance and
+            // tracking cookies are also present on pages that load fine
+            if (name.startsWith("__cf_chl")) {
+                return BlockReason.CLOUDFLARE_CHALLENGE;
+            }
+            if (name.equals("_pxCaptcha")) {
+                return BlockReason.BOT_PROTECTION;
+            }
+        }
+        return null;
+    }
+    
+    public static BlockReason fromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        String lower = url.toLowerCase(Locale.ROOT);
+        if (lower.contains("/authwall") || lower.contains("/checkpoint/") || lower.contains("/uas/login")) {
+            return BlockReason.LOGIN_WALL;
+        }
+        if (lower.contains("/cdn-cgi/challenge")) {
+            return BlockReason.CLOUDFLARE_CHALLENGE;
+        }
+        return null;
+    }
+    
+    public static BlockReason fromTitle(String title) {
+        if (title == null || title.isEmpty()) {
+            return null;
+        }
+        String lower = title.toLowerCase(Locale.ROOT);
+        if (lower.contains("captcha")) {
+            return BlockReason.CAPTCHA;
+        }
+        if (lower.contains("access denied")) {
+            return BlockReason.ACCESS_DENIED;
+        }
+        for (String marker : CHALLENGE_TITLES) {
+            if (lower.contains(marker)) {
+                return BlockReason.CLOUDFLARE_CHALLENGE;
+            }
+        }
+        return null;
+    }
+    
+    // Title and challenge elements; one pass over the parsed tree
+    public static BlockReason fromDocument(Document doc) {
+        BlockReason reason = fromTitle(doc.title());
+        if (reason != null) {
+            return reason;
+        }
+        Element challenge = doc.selectFirst(CHALLENGE_SELECTORS);
+        if (challenge == null) {
+            return null;
+        }
+        if (challenge.id().equals("px-captcha")) {
+            return BlockReason.BOT_PROTECTION;
+        }
+        return challenge.id().contains("challenge") ? BlockReason.CLOUDFLARE_CHALLENGE : BlockReason.CAPTCHA;
+    }
+    
+    // Last resort: walks all text nodes, so only for pages that yielded no results
+    public static BlockReason fromText(Document doc) {
+        String text = doc.text().toLowerCase(Locale.ROOT);
+        for (String marker : CHALLENGE_TEXT) {
+            if (text.contains(marker)) {
+                return BlockReason.CLOUDFLARE_CHALLENGE;
+            }
+        }
+        return text.contains("captcha") ? BlockReason.CAPTCHA : null;
+    }
+    
+    private static String header(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jobsearch.health;
+
+// Why a source refused to serve us. The label is what the circuit breaker
+// stores as its reason and what shows up in the log.
+public enum BlockReason {
+    RATE_LIMITED("rate limited"),
+    ACCESS_DENIED("access denied"),
+    CLOUDFLARE_CHALLENGE("Cloudflare challenge"),
+    BOT_PROTECTION("bot protection"),
+    CAPTCHA("captcha"),
+    LOGIN_WALL("login wall");
+    
+    private final String label;
+    
+    BlockReason(String label) {
+        this.label = label;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobsearch.health;
+
+// Per-source breaker. Hard failures and empty results count towards
+// tripping; a detected block (captcha, Cloudflare) trips immediately.
+// While open the source is skipped; after the cooldown a single probe is
+// let through (half-open) and its outcome closes or re-opens the breaker.
+// Each consecutive re-open doubles the cooldown up to MAX_COOLDOWN_MS.
+public class CircuitBreaker {
+    static final int FAILURE_THRESHOLD = 3;
+    static final int EMPTY_THRESHOLD = 5;
+    static final long BASE_COOLDOWN_MS = 10 * 60 * 1000L;
+    static final long MAX_COOLDOWN_MS = 24 * 60 * 60 * 1000L;
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final String source;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveEmpty;
+    private long openedAt;
+    private long cooldownMs = BASE_COOLDOWN_MS;
+    private boolean probeInFlight;
+    private String lastReason;
+    
+    CircuitBreaker(String source) {
+        this.source = source;
+    }
+    
+    public synchronized boolean allowRequest(long now) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - openedAt < cooldownMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+    
+    // Returns true if the state changed
+    synchronized boolean onSuccess() {
+        State before = state;
+        consecutiveFailures = 0;
+        consecutiveEmpty = 0;
+        probeInFlight = false;
+        cooldownMs = BASE_COOLDOWN_MS;
+        state = State.CLOSED;
+        lastReason = null;
+        return before != state;
+    }
+    
+    // Each outcome ends the other kind's run: failures and empty results
+    // only trip the breaker when they come back to back
+    synchronized boolean onFailure(String reason, long now) {
+        consecutiveFailures++;
+        consecutiveEmpty = 0;
+        return tripIf(consecutiveFailures >= FAILURE_THRESHOLD, reason, now);
+    }
+    
+    synchronized boolean onEmpty(long now) {
+        consecutiveEmpty++;
+        consecutiveFailures = 0;
+        return tripIf(consecutiveEmpty >= EMPTY_THRESHOLD, "no results", now);
+    }
+    
+    synchronized boolean onBlocked(String reason, long now) {
+        return tripIf(true, reason, now);
+    }
+    
+    // The allowed request never ran, or was cancelled before it could tell
+    // anything about the source: let the next one probe instead
+    synchronized void onAbandoned() {
+        probeInFlight = false;
+    }
+    
+    private boolean tripIf(boolean thresholdReached, String reason, long now) {
+        if (state == State.OPEN) {
+            return false;
+        }
+        if (state == State.HALF_OPEN) {
+            // Failed probe: back off harder before the next one
+            cooldownMs = Math.min(cooldownMs * 2, MAX_COOLDOWN_MS);
+        } else if (!thresholdReached) {
+            return false;
+        }
+        state = State.OPEN;
+        openedAt = now;
+        probeInFlight = false;
+        lastReason = reason;
+        return true;
+    }
+    
+    public synchronized State getState() { return state; }
+    public synchronized long getOpenedAt() { return openedAt; }
+    public synchronized long getCooldownMs() { return cooldownMs; }
+    public synchronized String getLastReason() { return lastReason; }
+    public String getSource() { return source; }
+    
+    synchronized int getConsecutiveFailures() { return consecutiveFailures; }
+    synchronized int getConsecutiveEmpty() { return consecutiveEmpty; }
+    
+    synchronized void restore(State state, int failures, int empty, long openedAt, 
+                              long cooldownMs, String reason) {
+        // A probe interrupted by a restart never reported back, so resume as open
+        this.state = state == State.HALF_OPEN ? State.OPEN : state;
+        this.consecutiveFailures = failures;
+        this.consecutiveEmpty = empty;
+        this.openedAt = openedAt;
+        this.cooldownMs = cooldownMs;
+        this.lastReason = reason;
+    }
+}
@@ -0,0 +1,85 @@
+package com.jobsearch.health;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rolling window of response times per source and endpoint: answers, and
+// timeouts at the time waited.
+// Timeouts are derived from the observed p99 instead of fixed constants,
+// and the p95 tells HedgedRequest when an attempt is running late.
+public class LatencyTracker {
+    static final int WINDOW = 200;
+    static final int MIN_SAMPLES = 5;
+    static final double TIMEOUT_FACTOR = 3.0;
+    static final long MIN_TIMEOUT_MS = 2000;
+    
+    private static final LatencyTracker instance = new LatencyTracker();
+    
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    
+    public static LatencyTracker getInstance() {
+        return instance;
+    }
+    
+    public void record(String source, String endpoint, long millis) {
+        windows.computeIfAbsent(key(source, endpoint), k -> new Window()).add(millis);
+    }
+    
+    // p99 x factor once enough samples exist, otherwise the caller's default.
+    // Never more than twice the default so one pathological sample cannot
+    // stretch every future request.
+    public long timeoutMs(String source, String endpoint, long defaultMs) {
+        long p99 = percentile(source, endpoint, 99);
+        if (p99 < 0) {
+            return defaultMs;
+        }
+        long adaptive = (long) (p99 * TIMEOUT_FACTOR);
+        return Math.max(MIN_TIMEOUT_MS, Math.min(adaptive, defaultMs * 2));
+    }
+    
+    // Returns -1 until MIN_SAMPLES responses have been observed
+    public long percentile(String source, String endpoint, int percentile) {
+        Window window = windows.get(key(source, endpoint));
+        return window != null ? window.percentile(percentile) : -1;
+    }
+    
+    public Map<String, long[]> snapshot() {
+        Map<String, long[]> snapshot = new TreeMap<>();
+        windows.forEach((key, window) -> snapshot.put(key, new long[] {
+            window.percentile(50), window.percentile(95), window.percentile(99), window.count()
+        }));
+        return snapshot;
+    }
+    
+    private static String key(String source, String endpoint) {
+        return source + ":" + endpoint;
+    }
+    
+    private static class Window {
+        private final long[] samples = new long[WINDOW];
+        private int next;
+        private int count;
+        
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW;
+            count = Math.min(count + 1, WINDOW);
+        }
+        
+        synchronized long percentile(int percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+        
+        synchronized long count() {
+            return count;
+        }
+    }
+}
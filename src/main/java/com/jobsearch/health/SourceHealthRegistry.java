@@ -0,0 +1,167 @@
+package com.jobsearch.health;
+
+import com.jobsearch.utils.AppDirs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Holds one CircuitBreaker per source and persists their state so a board
+// that was blocking us yesterday is not retried on every startup.
+public class SourceHealthRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SourceHealthRegistry.class);
+    private static final String STATE_FILE = "source-health.properties";
+    private static volatile SourceHealthRegistry instance;
+    
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Path stateFile;
+    
+    SourceHealthRegistry(Path stateFile) {
+        this.stateFile = stateFile;
+        load();
+    }
+    
+    public static SourceHealthRegistry getInstance() {
+        if (instance == null) {
+            synchronized (SourceHealthRegistry.class) {
+                if (instance == null) {
+                    instance = new SourceHealthRegistry(AppDirs.dataFile(STATE_FILE));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    public boolean allowRequest(String source) {
+        CircuitBreaker breaker = breaker(source);
+        boolean allowed = breaker.allowRequest(System.currentTimeMillis());
+        if (allowed && breaker.getState() == CircuitBreaker.State.HALF_OPEN) {
+            logger.info("Probing {} after cooldown", source);
+        }
+        return allowed;
+    }
+    
+    public void recordSuccess(String source) {
+        if (breaker(source).onSuccess()) {
+            logger.info("Circuit for {} closed", source);
+            save();
+        }
+    }
+    
+    public void recordEmpty(String source) {
+        if (breaker(source).onEmpty(System.currentTimeMillis())) {
+            logOpened(source);
+            save();
+        }
+    }
+    
+    public void recordFailure(String source, String reason) {
+        if (breaker(source).onFailure(reason, System.currentTimeMillis())) {
+            logOpened(source);
+            save();
+        }
+    }
+    
+    public void recordBlocked(String source, String reason) {
+        if (breaker(source).onBlocked(reason, System.currentTimeMillis())) {
+            logOpened(source);
+            save();
+        }
+    }
+    
+    public void recordBlocked(String source, BlockReason reason) {
+        recordBlocked(source, reason.getLabel());
+    }
+    
+    // For a request allowRequest let through that is then skipped or
+    // cancelled; records no outcome
+    public void releaseProbe(String source) {
+        breaker(source).onAbandoned();
+    }
+    
+    public CircuitBreaker.State getState(String source) {
+        return breaker(source).getState();
+    }
+    
+    public Map<String, CircuitBreaker> getBreakers() {
+        return new TreeMap<>(breakers);
+    }
+    
+    private CircuitBreaker breaker(String source) {
+        return breakers.computeIfAbsent(source, CircuitBreaker::new);
+    }
+    
+    private void logOpened(String source) {
+        CircuitBreaker breaker = breaker(source);
+        logger.warn("Circuit for {} opened ({}), skipping for {} min", 
+            source, breaker.getLastReason(), breaker.getCooldownMs() / 60000);
+    }
+    
+    private void load() {
+        if (!Files.exists(stateFile)) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            props.load(in);
+        } catch (IOException e) {
+            logger.warn("Could not read source health from {}: {}", stateFile, e.getMessage());
+            return;
+        }
+        
+        for (String key : props.stringPropertyNames()) {
+            if (!key.endsWith(".state")) {
+                continue;
+            }
+            String source = key.substring(0, key.length() - ".state".length());
+            try {
+                breaker(source).restore(
+                    CircuitBreaker.State.valueOf(props.getProperty(key)),
+                    Integer.parseInt(props.getProperty(source + ".failures", "0")),
+                    Integer.parseInt(props.getProperty(source + ".empty", "0")),
+                    Long.parseLong(props.getProperty(source + ".openedAt", "0")),
+                    Long.parseLong(props.getProperty(source + ".cooldownMs", 
+                        String.valueOf(CircuitBreaker.BASE_COOLDOWN_MS))),
+                    props.getProperty(source + ".reason"));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Ignoring bad health entry for {}: {}", source, e.getMessage());
+            }
+        }
+        logger.info("Loaded health state for {} sources", breakers.size());
+    }
+    
+    private synchronized void save() {
+        Properties props = new Properties();
+        for (CircuitBreaker breaker : breakers.values()) {
+            String source = breaker.getSource();
+            props.setProperty(source + ".state", breaker.getState().name());
+            props.setProperty(source + ".failures", String.valueOf(breaker.getConsecutiveFailures()));
+            props.setProperty(source + ".empty", String.valueOf(breaker.getConsecutiveEmpty()));
+            props.setProperty(source + ".openedAt", String.valueOf(breaker.getOpenedAt()));
+            props.setProperty(source + ".cooldownMs", String.valueOf(breaker.getCooldownMs()));
+            if (breaker.getLastReason() != null) {
+                props.setProperty(source + ".reason", breaker.getLastReason());
+            }
+        }
+        
+        try {
+            Path temp = stateFile.resolveSibling(STATE_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, "Job source circuit breaker state");
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, 
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save source health to {}: {}", stateFile, e.getMessage());
+        }
+    }
+}
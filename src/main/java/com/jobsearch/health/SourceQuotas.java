@@ -0,0 +1,175 @@
+package com.jobsearch.health;
+
+import com.jobsearch.utils.AppDirs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+// Per-source request spacing and monthly quotas, shared by interactive and
+// scheduled searches. A source's key is its name in lower case with spaces
+// as dashes, e.g. "adzuna-api":
+//   -Djobsearch.rate.<key>.intervalMs=N    minimum gap between requests
+//   -Djobsearch.quota.<key>.monthly=N      requests per calendar month
+// Monthly counts and the next free slot live in the state file, which is
+// re-read and rewritten under a file lock on every reservation, so the GUI
+// and a --scheduler process running at the same time share one budget.
+public class SourceQuotas {
+    private static final Logger logger = LoggerFactory.getLogger(SourceQuotas.class);
+    private static final String STATE_FILE = "source-quotas.properties";
+    private static final String LOCK_FILE = "source-quotas.lock";
+    
+    private static final Map<String, Long> DEFAULT_INTERVAL_MS = new HashMap<>();
+    private static final Map<String, Integer> DEFAULT_MONTHLY = new HashMap<>();
+    static {
+        DEFAULT_INTERVAL_MS.put("linkedin", 20_000L);
+        DEFAULT_INTERVAL_MS.put("indeed", 20_000L);
+        DEFAULT_INTERVAL_MS.put("dice", 10_000L);
+        // Adzuna's free tier
+        DEFAULT_MONTHLY.put("adzuna-api", 250);
+    }
+    
+    private static volatile SourceQuotas instance;
+    
+    private final Path stateFile;
+    private final Path lockFile;
+    // The last state read or written; used alone when the file is unavailable
+    private Properties state = new Properties();
+    
+    SourceQuotas(Path stateFile) {
+        this.stateFile = stateFile;
+        this.lockFile = stateFile.resolveSibling(LOCK_FILE);
+    }
+    
+    public static SourceQuotas getInstance() {
+        if (instance == null) {
+            synchronized (SourceQuotas.class) {
+                if (instance == null) {
+                    instance = new SourceQuotas(AppDirs.dataFile(STATE_FILE));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    // Reserves the source's next request slot and returns how long to wait
+    // for it, or -1 if this month's quota is used up. When the slot is more
+    // than maxWaitMs away nothing is reserved and the wait is returned, so a
+    // caller that skips the source has nothing to give back.
+    public synchronized long reserve(String source, long maxWaitMs) {
+        String key = key(source);
+        Integer quota = Integer.getInteger("jobsearch.quota." + key + ".monthly", DEFAULT_MONTHLY.get(key));
+        long interval = Long.getLong("jobsearch.rate." + key + ".intervalMs",
+            DEFAULT_INTERVAL_MS.getOrDefault(key, 0L));
+        if (quota == null && interval <= 0) {
+            return 0;
+        }
+        
+        // The slot is taken once: when the file fails only after that, the
+        // reservation stands in memory and the next call retries the file
+        long waitMs = 0;
+        boolean reserved = false;
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                state = read();
+                waitMs = reserve(key, quota, interval, maxWaitMs);
+                reserved = true;
+                write(state);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not update source quotas in {}: {}", stateFile, e.getMessage());
+            if (!reserved) {
+                waitMs = reserve(key, quota, interval, maxWaitMs);
+            }
+        }
+        return waitMs;
+    }
+    
+    public synchronized int usedThisMonth(String source) {
+        state = read();
+        return used(state, key(source));
+    }
+    
+    static String key(String source) {
+        return source.toLowerCase(Locale.ROOT).replace(' ', '-');
+    }
+    
+    private long reserve(String key, Integer quota, long interval, long maxWaitMs) {
+        int count = used(state, key);
+        if (quota != null && count >= quota) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        long slot = Math.max(now, parse(state.getProperty(key + ".next"), 0L));
+        if (slot - now > maxWaitMs) {
+            return slot - now;
+        }
+        if (quota != null) {
+            state.setProperty(key + ".used", String.valueOf(count + 1));
+        }
+        state.setProperty(key + ".next", String.valueOf(slot + interval));
+        return slot - now;
+    }
+    
+    private static int used(Properties props, String key) {
+        return (int) parse(props.getProperty(key + ".used"), 0L);
+    }
+    
+    private static long parse(String value, long fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+    
+    // The file's state, or the last known one if it cannot be read. Counts
+    // from an earlier month no longer apply; slots still do.
+    private Properties read() {
+        Properties props = new Properties();
+        if (Files.exists(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                props.load(in);
+            } catch (IOException e) {
+                logger.warn("Could not read source quotas from {}: {}", stateFile, e.getMessage());
+                props = (Properties) state.clone();
+            }
+        }
+        String month = YearMonth.now().toString();
+        if (!month.equals(props.getProperty("month"))) {
+            props.stringPropertyNames().stream()
+                .filter(name -> name.endsWith(".used"))
+                .forEach(props::remove);
+            props.setProperty("month", month);
+        }
+        return props;
+    }
+    
+    private void write(Properties props) throws IOException {
+        Path temp = stateFile.resolveSibling(STATE_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            props.store(out, "Requests made this month and next free slot per source");
+        }
+        Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+}
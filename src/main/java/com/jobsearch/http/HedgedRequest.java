@@ -0,0 +1,128 @@
+package com.jobsearch.http;
+
+import com.jobsearch.health.LatencyTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Runs a request and, if it is still outstanding after the source's p95
+// latency, fires one duplicate and takes whichever answer lands first.
+// Only idempotent GETs against sources without quotas may be hedged:
+//   -Djobsearch.hedge.sources=Remotive API,HackerNews,...
+// Hedges are capped at HEDGE_BUDGET of all requests so a slow board
+// cannot double our traffic to it. Only responses the caller counts as
+// real answers are latency samples: a 403 or 429 comes back fast and would
+// drag the timeouts down. A timed-out attempt is a sample at the time it
+// gave up, so a board that has slowed down gets longer timeouts again.
+public final class HedgedRequest {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequest.class);
+    private static final double HEDGE_BUDGET = 0.10;
+    private static final Set<String> HEDGEABLE_SOURCES = new HashSet<>(Arrays.asList(
+        System.getProperty("jobsearch.hedge.sources",
+            "Remotive API,HackerNews,WeWorkRemotely,Crunchboard,PowerToFly").split("\\s*,\\s*")));
+    
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "hedged-request");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong hedges = new AtomicLong();
+    
+    private HedgedRequest() {
+    }
+    
+    public static <T> T execute(String source, String endpoint, Callable<T> attempt,
+            Predicate<? super T> isSample) throws Exception {
+        LatencyTracker tracker = LatencyTracker.getInstance();
+        long hedgeAfterMs = HEDGEABLE_SOURCES.contains(source) 
+            ? tracker.percentile(source, endpoint, 95) : -1;
+        requests.incrementAndGet();
+        
+        if (hedgeAfterMs < 0) {
+            long start = System.nanoTime();
+            T result;
+            try {
+                result = attempt.call();
+            } catch (InterruptedIOException e) {
+                tracker.record(source, endpoint, elapsedMs(start));
+                throw e;
+            }
+            if (isSample.test(result)) {
+                tracker.record(source, endpoint, elapsedMs(start));
+            }
+            return result;
+        }
+        
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        Future<T> primary = completion.submit(attempt);
+        Future<T> hedge = null;
+        
+        Future<T> first = completion.poll(hedgeAfterMs, TimeUnit.MILLISECONDS);
+        if (first == null && withinBudget()) {
+            hedges.incrementAndGet();
+            logger.debug("{} {} slower than p95 ({}ms), sending hedged request", 
+                source, endpoint, hedgeAfterMs);
+            hedge = completion.submit(attempt);
+        }
+        
+        int outstanding = hedge != null ? 2 : 1;
+        ExecutionException lastFailure = null;
+        try {
+            while (outstanding > 0) {
+                Future<T> done = first != null ? first : completion.take();
+                first = null;
+                outstanding--;
+                try {
+                    T result = done.get();
+                    if (isSample.test(result)) {
+                        tracker.record(source, endpoint, elapsedMs(start));
+                    }
+                    if (done == hedge) {
+                        logger.debug("Hedged request won for {} {}", source, endpoint);
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    lastFailure = e;
+                }
+            }
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+        
+        Throwable cause = lastFailure.getCause();
+        if (cause instanceof InterruptedIOException) {
+            tracker.record(source, endpoint, elapsedMs(start));
+        }
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        }
+        throw lastFailure;
+    }
+    
+    private static boolean withinBudget() {
+        return hedges.get() < Math.max(1, requests.get() * HEDGE_BUDGET);
+    }
+    
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jobsearch.http;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Captured HTTP exchanges stored as gzipped JSON lines, one exchange per line
+public class HttpArchive {
+    private static final Logger logger = LoggerFactory.getLogger(HttpArchive.class);
+    private static final Gson gson = new Gson();
+    
+    private final Map<String, RecordedExchange> byUrl = new LinkedHashMap<>();
+    private final Map<String, RecordedExchange> byPath = new LinkedHashMap<>();
+    
+    public synchronized void add(RecordedExchange exchange) {
+        // Latest capture wins so re-recording refreshes stale responses
+        byUrl.put(exchange.getUrl(), exchange);
+        byPath.put(pathKey(exchange.getUrl()), exchange);
+    }
+    
+    public synchronized RecordedExchange find(String url) {
+        RecordedExchange exact = byUrl.get(url);
+        if (exact != null) {
+            return exact;
+        }
+        // Different search terms change the query string, so fall back to
+        // any capture of the same endpoint
+        return byPath.get(pathKey(url));
+    }
+    
+    public synchronized List<RecordedExchange> getExchanges() {
+        return new ArrayList<>(byUrl.values());
+    }
+    
+    public synchronized int size() {
+        return byUrl.size();
+    }
+    
+    public static HttpArchive load(Path file) throws IOException {
+        HttpArchive archive = new HttpArchive();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    archive.add(gson.fromJson(line, RecordedExchange.class));
+                }
+            }
+        }
+        logger.info("Loaded {} recorded exchanges from {}", archive.size(), file);
+        return archive;
+    }
+    
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            for (RecordedExchange exchange : byUrl.values()) {
+                writer.write(gson.toJson(exchange));
+                writer.newLine();
+            }
+        }
+        logger.info("Saved {} recorded exchanges to {}", byUrl.size(), file);
+    }
+    
+    static String pathKey(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getScheme() + "://" + uri.getHost() + uri.getRawPath();
+        } catch (Exception e) {
+            int query = url.indexOf('?');
+            return query >= 0 ? url.substring(0, query) : url;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.jobsearch.http;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Central switch for how outbound HTTP behaves: live, recorded into an
+// archive, or replayed from a local ReplayServer.
+//   -Djobsearch.http.mode=record|replay|live
+//   -Djobsearch.http.archive=path/to/archive.jsonl.gz
+//   -Djobsearch.http.replayUrl=http://127.0.0.1:port (replay against an external server)
+public final class HttpTraffic {
+    private static final Logger logger = LoggerFactory.getLogger(HttpTraffic.class);
+    
+    public enum Mode { LIVE, RECORD, REPLAY }
+    
+    private static volatile Mode mode = Mode.LIVE;
+    private static volatile HttpArchive archive;
+    private static volatile Path archivePath;
+    private static volatile String replayBaseUrl;
+    private static volatile boolean shutdownHookRegistered = false;
+    
+    static {
+        String configuredMode = System.getProperty("jobsearch.http.mode");
+        String configuredArchive = System.getProperty("jobsearch.http.archive", "http-archive.jsonl.gz");
+        if ("record".equalsIgnoreCase(configuredMode)) {
+            startRecording(Paths.get(configuredArchive));
+        } else if ("replay".equalsIgnoreCase(configuredMode)) {
+            String replayUrl = System.getProperty("jobsearch.http.replayUrl");
+            if (replayUrl != null) {
+                useReplayServer(replayUrl);
+            } else {
+                logger.warn("Replay mode requested without jobsearch.http.replayUrl; staying live");
+            }
+        }
+    }
+    
+    private HttpTraffic() {
+    }
+    
+    public static Mode getMode() {
+        return mode;
+    }
+    
+    public static boolean isOffline() {
+        return mode == Mode.REPLAY;
+    }
+    
+    public static synchronized void startRecording(Path file) {
+        archive = new HttpArchive();
+        archivePath = file;
+        mode = Mode.RECORD;
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(HttpTraffic::saveRecording, "http-archive-save"));
+            shutdownHookRegistered = true;
+        }
+        logger.info("Recording HTTP traffic to {}", file);
+    }
+    
+    public static synchronized void saveRecording() {
+        if (mode != Mode.RECORD || archive == null) {
+            return;
+        }
+        try {
+            archive.save(archivePath);
+        } catch (IOException e) {
+            logger.error("Could not save HTTP archive {}: {}", archivePath, e.getMessage());
+        }
+    }
+    
+    public static synchronized void useReplayServer(String baseUrl) {
+        replayBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        mode = Mode.REPLAY;
+        logger.info("Replaying HTTP traffic from {}", replayBaseUrl);
+    }
+    
+    public static synchronized void goLive() {
+        mode = Mode.LIVE;
+        replayBaseUrl = null;
+    }
+    
+    // Maps an upstream URL onto the replay server, e.g.
+    // https://remotive.com/api/remote-jobs?x=1 -> http://127.0.0.1:8089/replay?u=https%3A%2F%2Fremotive.com...
+    public static String resolve(String url) {
+        if (mode != Mode.REPLAY) {
+            return url;
+        }
+        return replayBaseUrl + "/replay?u=" + URLEncoder.encode(url, StandardCharsets.UTF_8);
+    }
+    
+    static String originalUrl(URI replayRequest) {
+        String query = replayRequest.getRawQuery();
+        if (query == null || !query.startsWith("u=")) {
+            return null;
+        }
+        return URLDecoder.decode(query.substring(2), StandardCharsets.UTF_8);
+    }
+    
+    public static void record(String method, String url, int status, 
+                              Map<String, String> headers, String body) {
+        HttpArchive target = archive;
+        if (mode == Mode.RECORD && target != null) {
+            target.add(new RecordedExchange(method, url, status, headers, body));
+        }
+    }
+    
+    public static Interceptor interceptor() {
+        return chain -> {
+            Request request = chain.request();
+            String originalUrl = request.url().toString();
+            
+            if (mode == Mode.REPLAY) {
+                HttpUrl replayUrl = HttpUrl.get(resolve(originalUrl));
+                return chain.proceed(request.newBuilder().url(replayUrl).build());
+            }
+            
+            Response response = chain.proceed(request);
+            if (mode == Mode.RECORD) {
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (String name : response.headers().names()) {
+                    headers.put(name, response.header(name));
+                }
+                String body = response.peekBody(Long.MAX_VALUE).string();
+                record(request.method(), originalUrl, response.code(), headers, body);
+            }
+            return response;
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.jobsearch.http;
+
+import com.jobsearch.health.BlockDetector;
+import com.jobsearch.health.BlockReason;
+import com.jobsearch.health.LatencyTracker;
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Jsoup fetches go through here so they can be recorded and replayed
+// the same way as the OkHttp calls in JobBoardAPIClient. The timeout set
+// on the connection is treated as the default; once the source has a
+// latency history it is replaced by the adaptive one.
+public final class PageFetcher {
+    
+    private PageFetcher() {
+    }
+    
+    // Concurrent requests for the same URL share one fetch. Each caller gets
+    // its own copy of the page, since scrapers may modify it.
+    public static Document get(String source, String endpoint, Connection connection) throws IOException {
+        String key = connection.request().url().toString();
+        return SharedFetches.coalesce(key, () -> fetch(source, endpoint, connection)).clone();
+    }
+    
+    // For pages that are the same for every query; also kept for the
+    // SharedFetches TTL when one is set
+    public static Document getShared(String source, String endpoint, Connection connection) throws IOException {
+        String key = connection.request().url().toString();
+        return SharedFetches.get(key, () -> fetch(source, endpoint, connection)).clone();
+    }
+    
+    private static Document fetch(String source, String endpoint, Connection connection) throws IOException {
+        Connection.Request request = connection.request();
+        String originalUrl = request.url().toString();
+        boolean ignoreHttpErrors = request.ignoreHttpErrors();
+        
+        connection.url(HttpTraffic.resolve(originalUrl));
+        connection.ignoreHttpErrors(true);
+        connection.method(Connection.Method.GET);
+        connection.timeout((int) LatencyTracker.getInstance()
+            .timeoutMs(source, endpoint, request.timeout()));
+        
+        Connection.Response response;
+        try {
+            // Each attempt needs its own request so a hedge can run alongside
+            response = HedgedRequest.execute(source, endpoint, 
+                () -> connection.newRequest().execute(), r -> r.statusCode() < 400);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        String body = response.body();
+        
+        if (HttpTraffic.getMode() == HttpTraffic.Mode.RECORD) {
+            Map<String, String> headers = new LinkedHashMap<>(response.headers());
+            HttpTraffic.record("GET", originalUrl, response.statusCode(), headers, body);
+        }
+        
+        // Cheap signals first: status, headers and cookie names, then the
+        // title and challenge elements once the body is parsed
+        BlockReason blocked = BlockDetector.fromResponse(response.statusCode(), response.headers());
+        if (blocked == null) {
+            blocked = BlockDetector.fromCookies(response.cookies().keySet());
+        }
+        if (blocked != null) {
+            throw new SourceBlockedException(originalUrl, blocked);
+        }
+        
+        if (!ignoreHttpErrors && (response.statusCode() < 200 || response.statusCode() >= 400)) {
+            throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), originalUrl);
+        }
+        
+        // Parse against the upstream URL so abs:href resolves to the real site
+        Document doc = Jsoup.parse(body, originalUrl);
+        blocked = BlockDetector.fromDocument(doc);
+        if (blocked != null) {
+            throw new SourceBlockedException(originalUrl, blocked);
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,40 @@
+package com.jobsearch.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RecordedExchange {
+    private String method;
+    private String url;
+    private int status;
+    private Map<String, String> headers;
+    private String body;
+    
+    public RecordedExchange() {
+        this.headers = new LinkedHashMap<>();
+    }
+    
+    public RecordedExchange(String method, String url, int status, 
+                            Map<String, String> headers, String body) {
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.headers = headers != null ? headers : new LinkedHashMap<>();
+        this.body = body;
+    }
+    
+    public String getMethod() { return method; }
+    public String getUrl() { return url; }
+    public int getStatus() { return status; }
+    public Map<String, String> getHeaders() { return headers; }
+    public String getBody() { return body; }
+    
+    public String getContentType() {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                return header.getValue();
+            }
+        }
+        return "text/html; charset=UTF-8";
+    }
+}
@@ -0,0 +1,167 @@
+package com.jobsearch.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for the job boards. Serves exchanges from an HttpArchive
+// with optional injected latency, jitter and error rate. A fixed seed makes
+// the injected faults repeatable between runs.
+public class ReplayServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayServer.class);
+    
+    private final HttpArchive archive;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Random random;
+    private final Map<String, Long> hostLatencyMs = new ConcurrentHashMap<>();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    
+    private volatile long latencyMs = 0;
+    private volatile long jitterMs = 0;
+    private volatile double errorRate = 0.0;
+    
+    public ReplayServer(HttpArchive archive, int port, long seed) throws IOException {
+        this.archive = archive;
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/replay", this::handle);
+    }
+    
+    public ReplayServer withLatency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        return this;
+    }
+    
+    public ReplayServer withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+    
+    // Overrides the base latency for one upstream host, e.g. a slow board
+    public ReplayServer withHostLatency(String host, long latencyMs) {
+        hostLatencyMs.put(host, latencyMs);
+        return this;
+    }
+    
+    public ReplayServer start() {
+        server.start();
+        logger.info("Replay server listening on {} with {} exchanges", getBaseUrl(), archive.size());
+        return this;
+    }
+    
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    public long getServedCount() { return served.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getInjectedErrorCount() { return injectedErrors.get(); }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String originalUrl = HttpTraffic.originalUrl(exchange.getRequestURI());
+            if (originalUrl == null) {
+                respond(exchange, 400, "text/plain", "Missing u parameter");
+                return;
+            }
+            
+            sleep(latencyFor(originalUrl));
+            
+            if (nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, 503, "text/plain", "Injected failure");
+                return;
+            }
+            
+            RecordedExchange recorded = archive.find(originalUrl);
+            if (recorded == null) {
+                misses.incrementAndGet();
+                logger.debug("No recorded exchange for {}", originalUrl);
+                respond(exchange, 404, "text/plain", "Not recorded: " + originalUrl);
+                return;
+            }
+            
+            served.incrementAndGet();
+            respond(exchange, recorded.getStatus(), recorded.getContentType(), 
+                recorded.getBody() != null ? recorded.getBody() : "");
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private long latencyFor(String originalUrl) {
+        long base = latencyMs;
+        try {
+            String host = URI.create(originalUrl).getHost();
+            if (host != null && hostLatencyMs.containsKey(host)) {
+                base = hostLatencyMs.get(host);
+            }
+        } catch (Exception e) {
+            // Keep default latency
+        }
+        if (jitterMs > 0) {
+            base += (long) ((nextDouble() * 2 - 1) * jitterMs);
+        }
+        return Math.max(0, base);
+    }
+    
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+    
+    private void respond(HttpExchange exchange, int status, String contentType, String body) 
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+    
+    private void sleep(long milliseconds) {
+        if (milliseconds <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Replay server stopped ({} served, {} misses, {} injected errors)", 
+            served.get(), misses.get(), injectedErrors.get());
+    }
+}
@@ -0,0 +1,95 @@
+package com.jobsearch.http;
+
+import com.jobsearch.metrics.MetricsRegistry;
+import com.jobsearch.utils.SingleFlight;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Fetches keyed by request URL. Identical requests in flight at the same
+// time always share one fetch (coalesce). Pages that do not depend on the
+// query (the Remotive category feed, the WWR category page, the HN hiring
+// thread) can also be kept for a short while (get), so back-to-back
+// searches reuse them; that part is off unless a TTL is set, e.g. by the
+// batch runner or -Djobsearch.sharedFetch.ttlSeconds=N. At most
+// -Djobsearch.sharedFetch.maxEntries pages (default 32) are kept, least
+// recently used dropped first, and expired ones go on the next store.
+public final class SharedFetches {
+    private static final SingleFlight<String, Void, Object> flights =
+        SingleFlight.withoutProgress("fetch.coalesced");
+    private static final int MAX_KEPT = Integer.getInteger("jobsearch.sharedFetch.maxEntries", 32);
+    private static final Map<String, Kept> kept = Collections.synchronizedMap(
+        new LinkedHashMap<String, Kept>(MAX_KEPT * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Kept> eldest) {
+                return size() > MAX_KEPT;
+            }
+        });
+    private static volatile long ttlMs = Long.getLong("jobsearch.sharedFetch.ttlSeconds", 0) * 1000;
+    
+    private SharedFetches() {
+    }
+    
+    public static void enable(long ttlSeconds) {
+        ttlMs = ttlSeconds * 1000;
+        if (ttlMs <= 0) {
+            kept.clear();
+        }
+    }
+    
+    public static boolean isEnabled() {
+        return ttlMs > 0;
+    }
+    
+    // Joins an identical fetch already in flight, or runs this one so others
+    // can join it. Results are shared between callers, so callers must not
+    // modify them.
+    @SuppressWarnings("unchecked")
+    public static <T> T coalesce(String key, Fetch<T> fetch) throws IOException {
+        return (T) SingleFlight.await(flights.run(key, null, progress -> fetch.fetch()));
+    }
+    
+    // Like coalesce, and also keeps the result for the TTL when enabled.
+    // Null results and failures are not kept, so the next caller retries.
+    public static <T> T get(String key, Fetch<T> fetch) throws IOException {
+        if (!isEnabled()) {
+            return coalesce(key, fetch);
+        }
+        Kept hit = kept.get(key);
+        if (hit != null && System.currentTimeMillis() - hit.storedAt <= ttlMs) {
+            MetricsRegistry.getInstance().increment("fetch.shared.hits");
+            @SuppressWarnings("unchecked")
+            T value = (T) hit.value;
+            return value;
+        }
+        T value = coalesce(key, fetch);
+        if (value != null) {
+            synchronized (kept) {
+                long now = System.currentTimeMillis();
+                kept.values().removeIf(entry -> now - entry.storedAt > ttlMs);
+                kept.put(key, new Kept(value));
+            }
+        }
+        return value;
+    }
+    
+    public static void clear() {
+        kept.clear();
+    }
+    
+    private static final class Kept {
+        final long storedAt = System.currentTimeMillis();
+        final Object value;
+        
+        Kept(Object value) {
+            this.value = value;
+        }
+    }
+    
+    @FunctionalInterface
+    public interface Fetch<T> {
+        T fetch() throws IOException;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobsearch.http;
+
+import com.jobsearch.health.BlockReason;
+
+import java.io.IOException;
+
+// Thrown by PageFetcher when the response is a block or challenge page
+// rather than content, so the scraper can report it as a block.
+public class SourceBlockedException extends IOException {
+    private final BlockReason reason;
+    
+    public SourceBlockedException(String url, BlockReason reason) {
+        super(reason.getLabel() + " at " + url);
+        this.reason = reason;
+    }
+    
+    public BlockReason getReason() {
+        return reason;
+    }
+}
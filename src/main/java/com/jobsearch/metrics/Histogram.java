@@ -0,0 +1,83 @@
+package com.jobsearch.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Millisecond durations counted into fixed buckets, cheap enough to record
+// on every event: one comparison scan and a LongAdder increment, no
+// allocation or locking. Percentiles are reported as the upper bound of the
+// bucket they fall in, capped at the largest value seen.
+public class Histogram {
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 16, 33, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    
+    Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    public void record(long millis) {
+        int bucket = 0;
+        while (bucket < BOUNDS_MS.length && millis > BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(millis);
+        max.accumulate(millis);
+    }
+    
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+    
+    public long max() {
+        return max.get();
+    }
+    
+    public long mean() {
+        long count = count();
+        return count > 0 ? sum.sum() / count : 0;
+    }
+    
+    // -1 while empty
+    public long percentile(int percentile) {
+        long[] counts = bucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? Math.min(BOUNDS_MS[i], max()) : max();
+            }
+        }
+        return max();
+    }
+    
+    // Upper bounds of all but the last bucket, which is unbounded
+    public static long[] bounds() {
+        return BOUNDS_MS.clone();
+    }
+    
+    public long[] bucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+}
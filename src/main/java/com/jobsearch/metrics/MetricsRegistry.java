@@ -0,0 +1,46 @@
+package com.jobsearch.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide named counters, e.g. which fetch path served each source,
+// and duration histograms, e.g. how long the event dispatch thread was busy
+public class MetricsRegistry {
+    private static final MetricsRegistry instance = new MetricsRegistry();
+    
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+    
+    public void increment(String name) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).increment();
+    }
+    
+    public long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+    
+    public Map<String, Long> counters() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+    
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+    
+    public void record(String name, long millis) {
+        histogram(name).record(millis);
+    }
+    
+    public Map<String, Histogram> histograms() {
+        return new TreeMap<>(histograms);
+    }
+}
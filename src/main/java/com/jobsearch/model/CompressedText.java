@@ -0,0 +1,94 @@
+package com.jobsearch.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Long text (posting descriptions, some of them full HTML) kept as
+// deflated UTF-8 and decoded only when read. The first byte says how the
+// rest is stored: RAW for text too short to gain from compression, or
+// DEFLATED followed by the UTF-8 length and the deflate stream.
+final class CompressedText {
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+    private static final int MIN_COMPRESSED_BYTES = 256;
+    
+    // Deflater and Inflater hold native buffers, so each thread reuses one
+    private static final ThreadLocal<Deflater> DEFLATER =
+        ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+    
+    private CompressedText() {
+    }
+    
+    static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length + 5 < utf8.length) {
+                byte[] encoded = new byte[deflated.length + 5];
+                encoded[0] = DEFLATED;
+                encoded[1] = (byte) (utf8.length >>> 24);
+                encoded[2] = (byte) (utf8.length >>> 16);
+                encoded[3] = (byte) (utf8.length >>> 8);
+                encoded[4] = (byte) utf8.length;
+                System.arraycopy(deflated, 0, encoded, 5, deflated.length);
+                return encoded;
+            }
+        }
+        byte[] encoded = new byte[utf8.length + 1];
+        encoded[0] = RAW;
+        System.arraycopy(utf8, 0, encoded, 1, utf8.length);
+        return encoded;
+    }
+    
+    static String decode(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded[0] == RAW) {
+            return new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+        }
+        int length = ((encoded[1] & 0xff) << 24) | ((encoded[2] & 0xff) << 16)
+            | ((encoded[3] & 0xff) << 8) | (encoded[4] & 0xff);
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(encoded, 5, encoded.length - 5);
+        byte[] utf8 = new byte[length];
+        try {
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Compressed text is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(utf8);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + 16);
+        byte[] buffer = new byte[Math.min(utf8.length, 8192)];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.jobsearch.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Canonical instances of values that repeat across postings, such as the
+// source, "See posting", "Remote" or a company scraped a hundred times, so
+// each distinct value is held once however many postings carry it. The
+// pool only grows to maxSize; past that, new values are returned as they
+// are rather than evicting the common ones.
+final class InternPool<T> {
+    private final Map<T, T> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+    
+    InternPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        T canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+    
+    int size() {
+        return values.size();
+    }
+}
@@ -2,16 +2,24 @@ package com.jobsearch.model;
 
 import java.time.LocalDate;
 
+// Compact in memory: repeated values (company, location, salary, source,
+// posted date) are shared through an intern pool, scores are bytes, and
+// the description is kept compressed and decoded on each
+// getDescription(), so read it once per use rather than per check.
 public class JobPosting {
+    private static final int MAX_POOLED_LENGTH = 100;
+    private static final InternPool<String> STRINGS = new InternPool<>(1 << 16);
+    private static final InternPool<LocalDate> DATES = new InternPool<>(1 << 12);
+    
     private String title;
     private String company;
     private String location;
     private String salary;
     private LocalDate postedDate;
     private String url;
-    private String description;
-    private int relevanceScore;
-    private int reputabilityScore;
+    private byte[] description;
+    private byte relevanceScore;
+    private byte reputabilityScore;
     private String source;
     
     public JobPosting() {
@@ -23,33 +31,38 @@ public class JobPosting {
     public void setTitle(String title) { this.title = title; }
     
     public String getCompany() { return company; }
-    public void setCompany(String company) { this.company = company; }
+    public void setCompany(String company) { this.company = pooled(company); }
     
     public String getLocation() { return location; }
-    public void setLocation(String location) { this.location = location; }
+    public void setLocation(String location) { this.location = pooled(location); }
     
     public String getSalary() { return salary; }
-    public void setSalary(String salary) { this.salary = salary; }
+    public void setSalary(String salary) { this.salary = pooled(salary); }
     
     public LocalDate getPostedDate() { return postedDate; }
-    public void setPostedDate(LocalDate postedDate) { this.postedDate = postedDate; }
+    public void setPostedDate(LocalDate postedDate) { this.postedDate = DATES.intern(postedDate); }
     
     public String getUrl() { return url; }
     public void setUrl(String url) { this.url = url; }
     
-    public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public String getDescription() { return CompressedText.decode(description); }
+    public void setDescription(String description) { this.description = CompressedText.encode(description); }
     
     public int getRelevanceScore() { return relevanceScore; }
     public void setRelevanceScore(int relevanceScore) { 
-        this.relevanceScore = Math.min(10, Math.max(0, relevanceScore)); 
+        this.relevanceScore = (byte) Math.min(10, Math.max(0, relevanceScore)); 
     }
     
     public int getReputabilityScore() { return reputabilityScore; }
     public void setReputabilityScore(int reputabilityScore) { 
-        this.reputabilityScore = Math.min(10, Math.max(0, reputabilityScore)); 
+        this.reputabilityScore = (byte) Math.min(10, Math.max(0, reputabilityScore)); 
     }
     
     public String getSource() { return source; }
-    public void setSource(String source) { this.source = source; }
-}
\ No newline at end of file
+    public void setSource(String source) { this.source = pooled(source); }
+    
+    // Long values are rarely repeated and would crowd the pool
+    private static String pooled(String value) {
+        return value != null && value.length() <= MAX_POOLED_LENGTH ? STRINGS.intern(value) : value;
+    }
+}
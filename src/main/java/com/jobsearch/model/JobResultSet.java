@@ -0,0 +1,376 @@
+package com.jobsearch.model;
+
+import com.jobsearch.utils.UrlCanonicalizer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A result list stored by column: scores and posted days as int arrays,
+// source, company and location as ids into per-set dictionaries, and URLs
+// as 64-bit fingerprints of their canonical form (worked out on the first
+// distinctUrls, as canonicalizing is most of the cost of building). Ranking, filtering,
+// facet counts and de-duplication then walk primitive arrays instead of
+// following a pointer per field per posting.
+//
+// Operations take and return a selection: an int[] of row numbers, in
+// order. Start from all(), narrow it with the filters, order it with a
+// sort or topK, and turn it back into postings with postings(). Rows keep
+// their JobPosting for that; row(i) reads a row's columns without it.
+// Built once from a list and not changed afterwards, so it can be shared
+// between threads.
+public final class JobResultSet {
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    // Relevance and reputation are each 0-10
+    private static final int MAX_SCORE = 20;
+    
+    private final int size;
+    private final JobPosting[] postings;
+    private final int[] relevance;
+    private final int[] reputation;
+    private final int[] postedDay;
+    private final int[] sourceId;
+    private final int[] companyId;
+    private final int[] locationId;
+    // Null until distinctUrls first needs it
+    private volatile long[] urlFingerprint;
+    private final Dictionary sources = new Dictionary();
+    private final Dictionary companies = new Dictionary();
+    private final Dictionary locations = new Dictionary();
+    
+    private JobResultSet(List<JobPosting> jobs) {
+        size = jobs.size();
+        postings = jobs.toArray(new JobPosting[0]);
+        relevance = new int[size];
+        reputation = new int[size];
+        postedDay = new int[size];
+        sourceId = new int[size];
+        companyId = new int[size];
+        locationId = new int[size];
+        for (int i = 0; i < size; i++) {
+            JobPosting job = postings[i];
+            relevance[i] = job.getRelevanceScore();
+            reputation[i] = job.getReputabilityScore();
+            postedDay[i] = job.getPostedDate() != null ? (int) job.getPostedDate().toEpochDay() : NO_DATE;
+            sourceId[i] = sources.id(job.getSource());
+            companyId[i] = companies.id(job.getCompany());
+            locationId[i] = locations.id(job.getLocation());
+        }
+    }
+    
+    // Reads the postings' current scores; score them before building
+    public static JobResultSet of(List<JobPosting> jobs) {
+        return new JobResultSet(jobs);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int[] all() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+    
+    public List<JobPosting> postings(int[] rows) {
+        List<JobPosting> jobs = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            jobs.add(postings[row]);
+        }
+        return jobs;
+    }
+    
+    public Row row(int row) {
+        return new Row(row);
+    }
+    
+    // Filters keep the selection's order
+    public int[] postedSince(int[] rows, LocalDate date) {
+        int since = (int) date.toEpochDay();
+        int[] kept = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (postedDay[row] != NO_DATE && postedDay[row] >= since) {
+                kept[count++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+    
+    public int[] fromSource(int[] rows, String source) {
+        return withId(rows, sourceId, sources.find(source));
+    }
+    
+    public int[] atCompany(int[] rows, String company) {
+        return withId(rows, companyId, companies.find(company));
+    }
+    
+    // Relevance plus reputation, 0-20
+    public int[] minScore(int[] rows, int minScore) {
+        int[] kept = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (relevance[row] + reputation[row] >= minScore) {
+                kept[count++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+    
+    // The first row of each canonical URL; rows without a URL are all kept
+    public int[] distinctUrls(int[] rows) {
+        long[] fingerprints = urlFingerprints();
+        LongSet seen = new LongSet(rows.length);
+        int[] kept = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            long fingerprint = fingerprints[row];
+            if (fingerprint == 0 || seen.add(fingerprint)) {
+                kept[count++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+    
+    // Best first by relevance plus reputation; ties keep selection order.
+    // Scores span 0-20, so this is a counting sort: two passes, no compares.
+    public int[] sortByScore(int[] rows) {
+        int[] starts = new int[MAX_SCORE + 2];
+        for (int row : rows) {
+            starts[MAX_SCORE - score(row) + 1]++;
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] sorted = new int[rows.length];
+        for (int row : rows) {
+            sorted[starts[MAX_SCORE - score(row)]++] = row;
+        }
+        return sorted;
+    }
+    
+    // The k best, in sortByScore order, without ordering the rest
+    public int[] topK(int[] rows, int k) {
+        if (k >= rows.length) {
+            return sortByScore(rows);
+        }
+        int[] counts = new int[MAX_SCORE + 1];
+        for (int row : rows) {
+            counts[score(row)]++;
+        }
+        // Lowest score that still makes the cut, and how many rows at it do
+        int threshold = MAX_SCORE;
+        int above = 0;
+        while (above + counts[threshold] < k) {
+            above += counts[threshold];
+            threshold--;
+        }
+        int atThreshold = k - above;
+        int[] top = new int[k];
+        int count = 0;
+        for (int row : rows) {
+            int score = score(row);
+            if (score > threshold || (score == threshold && atThreshold-- > 0)) {
+                top[count++] = row;
+            }
+        }
+        return sortByScore(top);
+    }
+    
+    // Newest first (or oldest first); undated rows last either way, ties
+    // in selection order
+    public int[] sortByDate(int[] rows, boolean newestFirst) {
+        long[] packed = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            long day = postedDay[rows[i]];
+            long key = day == NO_DATE ? Integer.MAX_VALUE : (newestFirst ? -day : day);
+            packed[i] = (key << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = rows[(int) packed[i]];
+        }
+        return sorted;
+    }
+    
+    // Facet counts, most common first
+    public Map<String, Integer> countBySource(int[] rows) {
+        return count(rows, sourceId, sources);
+    }
+    
+    public Map<String, Integer> countByCompany(int[] rows) {
+        return count(rows, companyId, companies);
+    }
+    
+    public Map<String, Integer> countByLocation(int[] rows) {
+        return count(rows, locationId, locations);
+    }
+    
+    private int score(int row) {
+        return Math.min(MAX_SCORE, relevance[row] + reputation[row]);
+    }
+    
+    private static int[] withId(int[] rows, int[] column, int id) {
+        if (id < 0) {
+            return new int[0];
+        }
+        int[] kept = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (column[row] == id) {
+                kept[count++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+    
+    private static Map<String, Integer> count(int[] rows, int[] column, Dictionary dictionary) {
+        int[] counts = new int[dictionary.size()];
+        for (int row : rows) {
+            counts[column[row]]++;
+        }
+        Integer[] ids = new Integer[counts.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> Integer.compare(counts[b], counts[a]));
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        for (int id : ids) {
+            if (counts[id] > 0) {
+                facets.put(dictionary.value(id), counts[id]);
+            }
+        }
+        return facets;
+    }
+    
+    private long[] urlFingerprints() {
+        long[] fingerprints = urlFingerprint;
+        if (fingerprints == null) {
+            synchronized (this) {
+                fingerprints = urlFingerprint;
+                if (fingerprints == null) {
+                    fingerprints = new long[size];
+                    for (int i = 0; i < size; i++) {
+                        fingerprints[i] = fingerprint(UrlCanonicalizer.canonicalize(postings[i].getUrl()));
+                    }
+                    urlFingerprint = fingerprints;
+                }
+            }
+        }
+        return fingerprints;
+    }
+    
+    // 64-bit FNV-1a with a final mix; 0 is kept for "no URL"
+    private static long fingerprint(String url) {
+        if (url == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < url.length(); i++) {
+            hash ^= url.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash != 0 ? hash : 1;
+    }
+    
+    // Read-only view of one row's columns
+    public final class Row {
+        private final int row;
+        
+        private Row(int row) {
+            this.row = row;
+        }
+        
+        public JobPosting getPosting() { return postings[row]; }
+        public String getTitle() { return postings[row].getTitle(); }
+        public String getCompany() { return companies.value(companyId[row]); }
+        public String getLocation() { return locations.value(locationId[row]); }
+        public String getSource() { return sources.value(sourceId[row]); }
+        public String getUrl() { return postings[row].getUrl(); }
+        public int getRelevanceScore() { return relevance[row]; }
+        public int getReputabilityScore() { return reputation[row]; }
+        
+        public LocalDate getPostedDate() {
+            return postedDay[row] != NO_DATE ? LocalDate.ofEpochDay(postedDay[row]) : null;
+        }
+    }
+    
+    // Distinct values of one column by id; null is a value like any other
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        
+        int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+        
+        // -1 when no row has the value
+        int find(String value) {
+            Integer id = ids.get(value);
+            return id != null ? id : -1;
+        }
+        
+        String value(int id) {
+            return values.get(id);
+        }
+        
+        int size() {
+            return values.size();
+        }
+    }
+    
+    // Open-addressing set of non-zero longs
+    private static final class LongSet {
+        private long[] slots;
+        private int count;
+        
+        LongSet(int expected) {
+            slots = new long[Integer.highestOneBit(Math.max(4, expected) * 2) * 2];
+        }
+        
+        boolean add(long value) {
+            if (count * 2 >= slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int slot = (int) (value ^ (value >>> 32)) & mask;
+            while (slots[slot] != 0) {
+                if (slots[slot] == value) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = value;
+            count++;
+            return true;
+        }
+        
+        private void grow() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            count = 0;
+            for (long value : old) {
+                if (value != 0) {
+                    add(value);
+                }
+            }
+        }
+    }
+}
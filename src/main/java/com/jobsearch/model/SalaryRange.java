@@ -0,0 +1,87 @@
+package com.jobsearch.model;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A posting's salary text with the annual range it describes, so results
+// can be sorted by pay rather than by the text. Boards write salaries
+// freely ("$120,000 - $150,000", "120k-150k", "$55/hr", "Competitive");
+// text without a number has no range and sorts below every known one.
+public final class SalaryRange implements Comparable<SalaryRange> {
+    public static final long UNKNOWN = -1;
+    private static final SalaryRange NONE = new SalaryRange("N/A", UNKNOWN, UNKNOWN);
+    private static final Pattern AMOUNT = Pattern.compile("(\\d[\\d,]*(?:\\.\\d+)?)\\s*([kK])?");
+    private static final Pattern HOURLY = Pattern.compile("/\\s*h(ou)?r|\\bper hour\\b|\\bhourly\\b");
+    private static final int HOURS_PER_YEAR = 2080;
+    
+    private final String text;
+    private final long min;
+    private final long max;
+    
+    private SalaryRange(String text, long min, long max) {
+        this.text = text;
+        this.min = min;
+        this.max = max;
+    }
+    
+    public static SalaryRange parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return NONE;
+        }
+        Matcher matcher = AMOUNT.matcher(text);
+        long min = UNKNOWN;
+        long max = UNKNOWN;
+        while (matcher.find() && max == UNKNOWN) {
+            double amount;
+            try {
+                amount = Double.parseDouble(matcher.group(1).replace(",", ""));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (matcher.group(2) != null) {
+                amount *= 1000;
+            }
+            if (min == UNKNOWN) {
+                min = (long) amount;
+            } else {
+                max = (long) amount;
+            }
+        }
+        if (min == UNKNOWN) {
+            return new SalaryRange(text, UNKNOWN, UNKNOWN);
+        }
+        if (max == UNKNOWN || max < min) {
+            max = min;
+        }
+        if (HOURLY.matcher(text.toLowerCase(Locale.ROOT)).find()) {
+            min *= HOURS_PER_YEAR;
+            max *= HOURS_PER_YEAR;
+        }
+        return new SalaryRange(text, min, max);
+    }
+    
+    public long getMin() {
+        return min;
+    }
+    
+    public long getMax() {
+        return max;
+    }
+    
+    public boolean isKnown() {
+        return min != UNKNOWN;
+    }
+    
+    @Override
+    public int compareTo(SalaryRange other) {
+        int byMin = Long.compare(min, other.min);
+        return byMin != 0 ? byMin : Long.compare(max, other.max);
+    }
+    
+    // The original text, for display
+    @Override
+    public String toString() {
+        return text;
+    }
+}
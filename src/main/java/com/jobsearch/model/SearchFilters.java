@@ -1,11 +1,14 @@
 package com.jobsearch.model;
 
+import java.util.Locale;
+
 public class SearchFilters {
     private String searchTerms;
     private WorkModel workModel;
     private String city;
     private String state;
     private ExperienceLevel experienceLevel;
+    private boolean newOnly;
     
     public enum WorkModel {
         REMOTE("Remote"),
@@ -56,6 +59,15 @@ public class SearchFilters {
         this.experienceLevel = ExperienceLevel.NO_PREFERENCE;
     }
     
+    public SearchFilters(SearchFilters other) {
+        this.searchTerms = other.searchTerms;
+        this.workModel = other.workModel;
+        this.city = other.city;
+        this.state = other.state;
+        this.experienceLevel = other.experienceLevel;
+        this.newOnly = other.newOnly;
+    }
+    
     public String getSearchTerms() { return searchTerms; }
     public void setSearchTerms(String searchTerms) { this.searchTerms = searchTerms; }
     
@@ -73,6 +85,10 @@ public class SearchFilters {
         this.experienceLevel = experienceLevel; 
     }
     
+    // Only postings not returned by an earlier search
+    public boolean isNewOnly() { return newOnly; }
+    public void setNewOnly(boolean newOnly) { this.newOnly = newOnly; }
+    
     public boolean hasLocationFilter() {
         return city != null && !city.trim().isEmpty() && 
                state != null && !state.trim().isEmpty();
@@ -84,4 +100,15 @@ public class SearchFilters {
         }
         return "";
     }
+    
+    // Identifies searches that fetch the same postings, for the result cache.
+    // newOnly only filters what was fetched, so it is not part of the key.
+    public String cacheKey() {
+        return String.join("|", normalize(searchTerms), String.valueOf(workModel),
+            normalize(city), normalize(state), String.valueOf(experienceLevel));
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
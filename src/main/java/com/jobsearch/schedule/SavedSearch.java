@@ -0,0 +1,31 @@
+package com.jobsearch.schedule;
+
+import com.jobsearch.model.SearchFilters;
+
+// A named search the scheduler keeps warm in the result cache
+public class SavedSearch {
+    private String name;
+    private SearchFilters filters;
+    private int refreshMinutes;
+    
+    public SavedSearch() {
+    }
+    
+    public SavedSearch(String name, SearchFilters filters, int refreshMinutes) {
+        this.name = name;
+        this.filters = new SearchFilters(filters);
+        this.filters.setNewOnly(false);
+        this.refreshMinutes = refreshMinutes;
+    }
+    
+    public String getName() { return name; }
+    
+    public SearchFilters getFilters() { return filters; }
+    
+    public int getRefreshMinutes() { return refreshMinutes; }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
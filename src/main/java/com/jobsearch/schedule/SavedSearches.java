@@ -0,0 +1,77 @@
+package com.jobsearch.schedule;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.jobsearch.utils.AppDirs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Saved searches, persisted as JSON in the data dir. The file is re-read on
+// every list() so searches saved in the GUI reach a headless scheduler.
+public class SavedSearches {
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearches.class);
+    private static final String STATE_FILE = "saved-searches.json";
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    
+    private final Path file;
+    
+    public SavedSearches() {
+        this(AppDirs.dataFile(STATE_FILE));
+    }
+    
+    SavedSearches(Path file) {
+        this.file = file;
+    }
+    
+    public synchronized List<SavedSearch> list() {
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<SavedSearch> searches = gson.fromJson(reader,
+                new TypeToken<List<SavedSearch>>() { }.getType());
+            return searches != null ? searches : new ArrayList<>();
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Could not read saved searches from {}: {}", file, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    // Replaces any saved search with the same name
+    public synchronized void add(SavedSearch search) throws IOException {
+        List<SavedSearch> searches = list();
+        searches.removeIf(existing -> existing.getName().equalsIgnoreCase(search.getName()));
+        searches.add(search);
+        save(searches);
+    }
+    
+    public synchronized boolean remove(String name) throws IOException {
+        List<SavedSearch> searches = list();
+        boolean removed = searches.removeIf(existing -> existing.getName().equalsIgnoreCase(name));
+        if (removed) {
+            save(searches);
+        }
+        return removed;
+    }
+    
+    private void save(List<SavedSearch> searches) throws IOException {
+        Path temp = file.resolveSibling(STATE_FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            gson.toJson(searches, writer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+}
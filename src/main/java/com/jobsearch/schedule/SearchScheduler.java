@@ -0,0 +1,95 @@
+package com.jobsearch.schedule;
+
+import com.jobsearch.scraper.WebScraper;
+import com.jobsearch.store.ResultCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Re-runs saved searches in the background so the result cache holds fresh
+// postings before the user asks. Searches run one at a time on a single
+// daemon thread; per-source spacing and quotas are enforced by WebScraper
+// (SourceQuotas), so interactive and scheduled fetches share one budget.
+// Runs inside the GUI, or on its own via `Main --scheduler`.
+public class SearchScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(SearchScheduler.class);
+    private static final long TICK_MINUTES = 1;
+    
+    private static volatile SearchScheduler instance;
+    
+    private final SavedSearches savedSearches;
+    private final ResultCache cache;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "search-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private WebScraper scraper;
+    private boolean started;
+    
+    SearchScheduler(SavedSearches savedSearches, ResultCache cache) {
+        this.savedSearches = savedSearches;
+        this.cache = cache;
+    }
+    
+    public static SearchScheduler getInstance() {
+        if (instance == null) {
+            synchronized (SearchScheduler.class) {
+                if (instance == null) {
+                    instance = new SearchScheduler(new SavedSearches(), ResultCache.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+    
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        executor.scheduleWithFixedDelay(this::refreshDue, 0, TICK_MINUTES, TimeUnit.MINUTES);
+        logger.info("Search scheduler started ({} saved searches)", savedSearches.list().size());
+    }
+    
+    // Runs a saved search right away, e.g. just after it was saved
+    public void refreshSoon(SavedSearch search) {
+        executor.execute(() -> refresh(search));
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private void refreshDue() {
+        List<SavedSearch> searches = savedSearches.list();
+        for (SavedSearch search : searches) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            ResultCache.Entry entry = cache.get(search.getFilters());
+            long intervalMs = Math.max(1, search.getRefreshMinutes()) * 60_000L;
+            if (entry == null || entry.ageMs() >= intervalMs) {
+                refresh(search);
+            }
+        }
+    }
+    
+    private void refresh(SavedSearch search) {
+        // An exception would cancel the periodic task
+        try {
+            logger.info("⟳ Refreshing saved search '{}'", search.getName());
+            if (scraper == null) {
+                scraper = new WebScraper();
+            }
+            int found = scraper.refresh(search.getFilters()).size();
+            logger.info("✓ Saved search '{}' refreshed ({} jobs)", search.getName(), found);
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh saved search '{}': {}", search.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jobsearch.scraper;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// How much of a page Chrome should bother loading. We only read job card
+// text and links, so LEAN blocks images, fonts, media and trackers and
+// returns from driver.get() once the DOM is interactive.
+//   -Djobsearch.selenium.profile.<source>=lean|full   (default lean)
+public enum BrowserProfile {
+    LEAN,
+    FULL;
+    
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfile.class);
+    
+    static final List<String> BLOCKED_URL_PATTERNS = Collections.unmodifiableList(Arrays.asList(
+        // Images, fonts, media
+        "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico", "*.avif",
+        "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+        "*.mp4", "*.webm", "*.mp3", "*.m3u8",
+        // Analytics and ads
+        "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+        "*googlesyndication.com*", "*facebook.net*", "*connect.facebook.com*",
+        "*hotjar.com*", "*segment.com*", "*segment.io*", "*bat.bing.com*",
+        "*scorecardresearch.com*", "*px.ads.linkedin.com*", "*snap.licdn.com*",
+        "*adservice.google.com*", "*quantserve.com*", "*newrelic.com*", "*nr-data.net*"
+    ));
+    
+    public static BrowserProfile forSource(String source) {
+        String configured = System.getProperty("jobsearch.selenium.profile." + source.toLowerCase());
+        return "full".equalsIgnoreCase(configured) ? FULL : LEAN;
+    }
+    
+    // Launch-time settings apply to the whole browser, so a pooled browser
+    // is only launched lean when no Selenium source asks for FULL
+    public static BrowserProfile forLaunch() {
+        for (String source : new String[] {"LinkedIn", "Dice"}) {
+            if (forSource(source) == FULL) {
+                return FULL;
+            }
+        }
+        return LEAN;
+    }
+    
+    void configure(ChromeOptions options) {
+        if (this == FULL) {
+            options.addArguments("--window-size=1920,1080");
+            return;
+        }
+        options.addArguments("--window-size=1280,800");
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--mute-audio");
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        prefs.put("profile.managed_default_content_settings.media_stream", 2);
+        prefs.put("profile.default_content_setting_values.notifications", 2);
+        prefs.put("profile.default_content_setting_values.geolocation", 2);
+        options.setExperimentalOption("prefs", prefs);
+    }
+    
+    // Per-navigation request blocking through DevTools, so sources sharing a
+    // pooled browser can still use different profiles
+    public void applyTo(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        ChromiumDriver chromium = (ChromiumDriver) driver;
+        try {
+            chromium.executeCdpCommand("Network.enable", new HashMap<>());
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", this == LEAN ? BLOCKED_URL_PATTERNS : Collections.emptyList());
+            chromium.executeCdpCommand("Network.setBlockedURLs", params);
+        } catch (Exception e) {
+            logger.debug("Could not set blocked URLs: {}", e.getMessage());
+        }
+    }
+}
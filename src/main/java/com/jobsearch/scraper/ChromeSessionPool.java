@@ -0,0 +1,342 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.utils.AppDirs;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded pool of pre-started headless Chrome sessions shared by every
+// SeleniumScraper. Sessions are health-checked on borrow, wiped on return
+// and recycled after MAX_USES or once the page heap grows past
+// MAX_JS_HEAP_BYTES, so searches no longer pay for a browser launch.
+//   -Djobsearch.chrome.poolSize=2
+public class ChromeSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(ChromeSessionPool.class);
+    private static final int MAX_USES = 20;
+    private static final long MAX_JS_HEAP_BYTES = 512L * 1024 * 1024;
+    private static final String DRIVER_PATH_CACHE = "chromedriver.path";
+    private static volatile ChromeSessionPool instance;
+    // The Chrome install the current chromedriver was picked for
+    private static String driverResolvedFor;
+    
+    private final int maxSize;
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final List<PooledSession> all = new ArrayList<>();
+    
+    ChromeSessionPool(int maxSize) {
+        this.maxSize = maxSize;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "chrome-pool-shutdown"));
+    }
+    
+    public static ChromeSessionPool getInstance() {
+        if (instance == null) {
+            synchronized (ChromeSessionPool.class) {
+                if (instance == null) {
+                    instance = new ChromeSessionPool(Integer.getInteger("jobsearch.chrome.poolSize", 2));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    // Starts one session in the background so the first search finds it ready
+    public void warmUpAsync() {
+        CompletableFuture.runAsync(() -> {
+            if (open.get() == 0 && reserveSlot()) {
+                PooledSession session = startSession();
+                if (session != null) {
+                    idle.offerFirst(session);
+                }
+            }
+        });
+    }
+    
+    public WebDriver borrow(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (System.nanoTime() < deadline) {
+            PooledSession session = idle.pollFirst();
+            if (session != null) {
+                if (isHealthy(session)) {
+                    return session.driver;
+                }
+                logger.info("Discarding unhealthy Chrome session");
+                discard(session);
+                continue;
+            }
+            
+            if (reserveSlot()) {
+                session = startSession();
+                if (session != null) {
+                    return session.driver;
+                }
+                return null;
+            }
+            
+            try {
+                session = idle.pollFirst(
+                    Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (session != null) {
+                idle.offerFirst(session);
+            }
+        }
+        logger.warn("Timed out waiting for a Chrome session");
+        return null;
+    }
+    
+    public void release(WebDriver driver) {
+        PooledSession session = find(driver);
+        if (session == null) {
+            return;
+        }
+        session.uses++;
+        
+        if (session.uses >= MAX_USES || jsHeapBytes(session) > MAX_JS_HEAP_BYTES) {
+            logger.info("Recycling Chrome session after {} uses", session.uses);
+            discard(session);
+            warmUpAsync();
+            return;
+        }
+        
+        try {
+            reset(session.driver);
+            idle.offerFirst(session);
+        } catch (Exception e) {
+            logger.debug("Chrome session reset failed: {}", e.getMessage());
+            discard(session);
+        }
+    }
+    
+    public void shutdown() {
+        List<PooledSession> sessions;
+        synchronized (all) {
+            sessions = new ArrayList<>(all);
+        }
+        for (PooledSession session : sessions) {
+            discard(session);
+        }
+    }
+    
+    private boolean reserveSlot() {
+        while (true) {
+            int current = open.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (open.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    private PooledSession startSession() {
+        try {
+            long start = System.currentTimeMillis();
+            PooledSession session = new PooledSession(createDriver());
+            synchronized (all) {
+                all.add(session);
+            }
+            logger.info("Started pooled Chrome session in {}ms ({} open)", 
+                System.currentTimeMillis() - start, open.get());
+            return session;
+        } catch (Exception e) {
+            open.decrementAndGet();
+            logger.error("Failed to start Chrome session: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private WebDriver createDriver() {
+        return createDriver(BrowserProfile.forLaunch());
+    }
+    
+    public static WebDriver createDriver(BrowserProfile profile) {
+        resolveDriverBinary(false);
+        
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-popup-blocking");
+        options.addArguments("--start-maximized");
+        options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation", "enable-logging"});
+        options.setExperimentalOption("useAutomationExtension", false);
+        profile.configure(options);
+        
+        WebDriver driver;
+        try {
+            driver = new ChromeDriver(options);
+        } catch (SessionNotCreatedException e) {
+            // Most often a chromedriver that no longer matches Chrome; pick
+            // one again and retry once
+            logger.warn("Chrome session not created, resolving chromedriver again: {}",
+                e.getMessage().split("\n", 2)[0]);
+            resolveDriverBinary(true);
+            driver = new ChromeDriver(options);
+        }
+        // No implicit wait: every selector that misses would block for its full
+        // duration, and readiness is handled explicitly by the scraper
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+        return driver;
+    }
+    
+    // WebDriverManager resolves versions over the network on every setup();
+    // remember the binary it picked, and for which Chrome install, and reuse
+    // it until Chrome is updated or force is set after a failed launch
+    private static synchronized void resolveDriverBinary(boolean force) {
+        String browser = browserStamp();
+        if (!force && browser.equals(driverResolvedFor)) {
+            return;
+        }
+        Path cacheFile = AppDirs.dataFile(DRIVER_PATH_CACHE);
+        if (!force) {
+            try {
+                if (Files.exists(cacheFile)) {
+                    // Chrome install on the first line, chromedriver path on the second
+                    List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+                    if (lines.size() >= 2 && lines.get(0).equals(browser)
+                            && Files.isExecutable(Paths.get(lines.get(1).trim()))) {
+                        System.setProperty("webdriver.chrome.driver", lines.get(1).trim());
+                        driverResolvedFor = browser;
+                        logger.info("Using cached chromedriver at {}", lines.get(1).trim());
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Could not read chromedriver cache: {}", e.getMessage());
+            }
+        }
+        
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        manager.setup();
+        String resolved = manager.getDownloadedDriverPath();
+        if (resolved == null) {
+            // Nothing to remember; the next launch asks again
+            logger.warn("WebDriverManager did not report a chromedriver path");
+            return;
+        }
+        try {
+            Files.write(cacheFile, (browser + "\n" + resolved + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.debug("Could not cache chromedriver path: {}", e.getMessage());
+        }
+        driverResolvedFor = browser;
+    }
+    
+    // Chrome's binary and its modification time, which changes when Chrome
+    // updates itself; found locally, without the network
+    private static String browserStamp() {
+        try {
+            Optional<Path> browser = WebDriverManager.chromedriver().getBrowserPath();
+            if (browser.isPresent()) {
+                return browser.get() + "@" + Files.getLastModifiedTime(browser.get()).toMillis();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not locate Chrome: {}", e.getMessage());
+        }
+        return "unknown";
+    }
+    
+    private boolean isHealthy(PooledSession session) {
+        try {
+            Object result = ((JavascriptExecutor) session.driver).executeScript("return 1;");
+            return result != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private long jsHeapBytes(PooledSession session) {
+        try {
+            Object used = ((JavascriptExecutor) session.driver).executeScript(
+                "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : 0;");
+            return used instanceof Number ? ((Number) used).longValue() : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+    
+    private void reset(WebDriver driver) {
+        // Storage is per-origin, so clear it before leaving the page
+        ((JavascriptExecutor) driver).executeScript(
+            "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+        driver.manage().deleteAllCookies();
+        
+        String main = null;
+        for (String handle : driver.getWindowHandles()) {
+            if (main == null) {
+                main = handle;
+            } else {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(main);
+        driver.get("about:blank");
+    }
+    
+    private PooledSession find(WebDriver driver) {
+        synchronized (all) {
+            for (PooledSession session : all) {
+                if (session.driver == driver) {
+                    return session;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private void discard(PooledSession session) {
+        boolean removed;
+        synchronized (all) {
+            removed = all.remove(session);
+        }
+        idle.remove(session);
+        if (!removed) {
+            return;
+        }
+        open.decrementAndGet();
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting Chrome session: {}", e.getMessage());
+        }
+    }
+    
+    private static class PooledSession {
+        final WebDriver driver;
+        int uses;
+        
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
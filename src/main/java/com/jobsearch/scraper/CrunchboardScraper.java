@@ -1,5 +1,6 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.http.PageFetcher;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import org.jsoup.Jsoup;
@@ -9,6 +10,7 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,44 +19,41 @@ public class CrunchboardScraper {
     private static final Logger logger = LoggerFactory.getLogger(CrunchboardScraper.class);
     private static final String BASE_URL = "https://www.crunchboard.com";
     
-    public List<JobPosting> scrape(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrape(SearchFilters filters) throws IOException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
-        try {
-            String url = BASE_URL + "/jobs?query=" + 
-                filters.getSearchTerms().replace(" ", "+");
-            
-            logger.info("Scraping Crunchboard: {}", url);
-            
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(15000)
-                .referrer("https://techcrunch.com")
-                .followRedirects(true)
-                .get();
-            
-            Elements jobListings = doc.select("div.job-listing, li.job, article");
-            
-            for (Element listing : jobListings) {
-                try {
-                    JobPosting job = parseCrunchboardJob(listing);
-                    if (job != null) {
-                        jobs.add(job);
-                        logger.debug("Added Crunchboard job: {}", job.getTitle());
-                    }
-                    
-                    if (jobs.size() >= 25) break;
-                } catch (Exception e) {
-                    logger.debug("Error parsing Crunchboard job: {}", e.getMessage());
+        String url = BASE_URL + "/jobs?query=" + 
+            filters.getSearchTerms().replace(" ", "+");
+        
+        logger.info("Scraping Crunchboard: {}", url);
+        
+        Document doc = PageFetcher.get("Crunchboard", "search", Jsoup.connect(url)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .timeout(15000)
+            .referrer("https://techcrunch.com")
+            .followRedirects(true));
+        
+        Elements jobListings = doc.select("div.job-listing, li.job, article");
+        
+        for (Element listing : jobListings) {
+            try {
+                if (jobs.skipSeen(filters, listing.selectFirst("a[href*='/jobs/'], a"))) {
+                    continue;
+                }
+                JobPosting job = parseCrunchboardJob(listing);
+                if (job != null) {
+                    jobs.add(job);
+                    logger.debug("Added Crunchboard job: {}", job.getTitle());
                 }
+                
+                if (jobs.size() >= 25) break;
+            } catch (Exception e) {
+                logger.debug("Error parsing Crunchboard job: {}", e.getMessage());
             }
-            
-            logger.info("Scraped {} jobs from Crunchboard", jobs.size());
-            
-        } catch (Exception e) {
-            logger.error("Error scraping Crunchboard: {}", e.getMessage());
         }
         
+        logger.info("Scraped {} jobs from Crunchboard", jobs.size());
+        
         return jobs;
     }
     
@@ -0,0 +1,41 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.http.PageFetcher;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Dice server-renders its first page of search results, so a plain fetch
+// usually has the job cards without running any JavaScript.
+public class DiceHttpScraper {
+    private static final Logger logger = LoggerFactory.getLogger(DiceHttpScraper.class);
+    
+    public List<JobPosting> scrape(SearchFilters filters) {
+        ScrapedJobs jobs = new ScrapedJobs();
+        
+        try {
+            String url = SeleniumScraper.DICE_SEARCH_URL + SeleniumScraper.diceQuery(filters);
+            logger.info("Fetching Dice search page: {}", url);
+            
+            Document doc = PageFetcher.get("Dice", "search", Jsoup.connect(url)
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.5")
+                .referrer("https://www.google.com/")
+                .timeout(10000));
+            
+            jobs.addScraped(JobCardExtractor.diceJobs(doc, 25, filters));
+            logger.info("Fetched {} jobs from Dice over HTTP", jobs.size());
+        } catch (Exception e) {
+            logger.info("Dice HTTP path unavailable: {}", e.getMessage());
+        }
+        
+        return jobs;
+    }
+}
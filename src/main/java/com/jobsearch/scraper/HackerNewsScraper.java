@@ -1,5 +1,6 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.http.PageFetcher;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import org.jsoup.Jsoup;
@@ -17,76 +18,70 @@ import java.util.List;
 public class HackerNewsScraper {
     private static final Logger logger = LoggerFactory.getLogger(HackerNewsScraper.class);
     
-    public List<JobPosting> scrapeWhoIsHiring(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrapeWhoIsHiring(SearchFilters filters) throws IOException, InterruptedException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
-        try {
-            String url = "https://news.ycombinator.com/submitted?id=whoishiring";
-            logger.info("Scraping HackerNews Who is Hiring");
-            
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(15000)
-                .get();
-            
-            Elements submissions = doc.select("tr.athing");
-            String latestJobThread = null;
-            
-            for (Element submission : submissions) {
-                Element titleLink = submission.selectFirst("span.titleline a");
-                if (titleLink != null && titleLink.text().contains("Who is hiring?")) {
-                    latestJobThread = "https://news.ycombinator.com/item?id=" + 
-                        submission.attr("id");
-                    break;
-                }
-            }
-            
-            if (latestJobThread == null) {
-                logger.warn("Could not find recent 'Who is hiring?' thread");
-                return jobs;
+        String url = "https://news.ycombinator.com/submitted?id=whoishiring";
+        logger.info("Scraping HackerNews Who is Hiring");
+        
+        Document doc = PageFetcher.getShared("HackerNews", "submitted", Jsoup.connect(url)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .timeout(15000));
+        
+        Elements submissions = doc.select("tr.athing");
+        String latestJobThread = null;
+        
+        for (Element submission : submissions) {
+            Element titleLink = submission.selectFirst("span.titleline a");
+            if (titleLink != null && titleLink.text().contains("Who is hiring?")) {
+                latestJobThread = "https://news.ycombinator.com/item?id=" + 
+                    submission.attr("id");
+                break;
             }
-            
-            logger.info("Found latest hiring thread: {}", latestJobThread);
-            
-            // Add delay before fetching thread
-            Thread.sleep(1000);
-            
-            Document jobsDoc = Jsoup.connect(latestJobThread)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(20000)
-                .get();
-            
-            Elements comments = jobsDoc.select("tr.comtr");
-            String searchLower = filters.getSearchTerms().toLowerCase();
-            
-            logger.info("Processing {} comments from HackerNews", comments.size());
-            
-            for (Element comment : comments) {
-                try {
-                    String text = comment.text().toLowerCase();
-                    
-                    if (text.contains(searchLower) || containsAnyWord(text, searchLower.split(" "))) {
-                        JobPosting job = parseHNComment(comment, latestJobThread);
-                        if (job != null && matchesFilters(job, filters)) {
-                            jobs.add(job);
-                            logger.debug("Added HN job: {}", job.getTitle());
-                        }
+        }
+        
+        if (latestJobThread == null) {
+            logger.warn("Could not find recent 'Who is hiring?' thread");
+            return jobs;
+        }
+        
+        logger.info("Found latest hiring thread: {}", latestJobThread);
+        
+        // Add delay before fetching thread
+        Thread.sleep(1000);
+        
+        Document jobsDoc = PageFetcher.getShared("HackerNews", "thread", Jsoup.connect(latestJobThread)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .timeout(20000));
+        
+        Elements comments = jobsDoc.select("tr.comtr");
+        String searchLower = filters.getSearchTerms().toLowerCase();
+        
+        logger.info("Processing {} comments from HackerNews", comments.size());
+        
+        for (Element comment : comments) {
+            try {
+                if (jobs.skipSeen(filters, comment.selectFirst("span.age a"))) {
+                    continue;
+                }
+                String text = comment.text().toLowerCase();
+                
+                if (text.contains(searchLower) || containsAnyWord(text, searchLower.split(" "))) {
+                    JobPosting job = parseHNComment(comment, latestJobThread);
+                    if (job != null && matchesFilters(job, filters)) {
+                        jobs.add(job);
+                        logger.debug("Added HN job: {}", job.getTitle());
                     }
-                    
-                    if (jobs.size() >= 40) break;
-                } catch (Exception e) {
-                    logger.debug("Error parsing HN comment: {}", e.getMessage());
                 }
+                
+                if (jobs.size() >= 40) break;
+            } catch (Exception e) {
+                logger.debug("Error parsing HN comment: {}", e.getMessage());
             }
-            
-            logger.info("Scraped {} relevant jobs from HackerNews", jobs.size());
-            
-        } catch (IOException e) {
-            logger.error("Error scraping HackerNews: {}", e.getMessage());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
         
+        logger.info("Scraped {} relevant jobs from HackerNews", jobs.size());
+        
         return jobs;
     }
     
@@ -130,6 +125,9 @@ public class HackerNewsScraper {
             Element ageElement = comment.selectFirst("span.age a");
             if (ageElement != null) {
                 job.setUrl("https://news.ycombinator.com/" + ageElement.attr("href"));
+            } else if (!comment.id().isEmpty()) {
+                // The comment's own page; the thread is shared by every posting
+                job.setUrl("https://news.ycombinator.com/item?id=" + comment.id());
             } else {
                 job.setUrl(threadUrl);
             }
@@ -143,7 +141,7 @@ public class HackerNewsScraper {
             job.setPostedDate(LocalDate.now());
             
             return job;
-            
+        
         } catch (Exception e) {
             logger.debug("Error parsing HN comment: {}", e.getMessage());
             return null;
@@ -154,7 +152,8 @@ public class HackerNewsScraper {
         // Work model filter
         if (filters.getWorkModel() != SearchFilters.WorkModel.NO_PREFERENCE) {
             String location = job.getLocation().toLowerCase();
-            String desc = job.getDescription() != null ? job.getDescription().toLowerCase() : "";
+            String description = job.getDescription();
+            String desc = description != null ? description.toLowerCase() : "";
             String combined = location + " " + desc;
             
             switch (filters.getWorkModel()) {
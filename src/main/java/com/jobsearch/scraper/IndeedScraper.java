@@ -1,5 +1,6 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.http.PageFetcher;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import org.jsoup.Jsoup;
@@ -9,6 +10,7 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,61 +18,58 @@ import java.util.List;
 public class IndeedScraper {
     private static final Logger logger = LoggerFactory.getLogger(IndeedScraper.class);
     
-    public List<JobPosting> scrape(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrape(SearchFilters filters) throws IOException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
-        try {
-            StringBuilder urlBuilder = new StringBuilder();
-            urlBuilder.append("https://www.indeed.com/jobs?q=");
-            urlBuilder.append(filters.getSearchTerms().replace(" ", "+"));
-            
-            if (filters.hasLocationFilter()) {
-                urlBuilder.append("&l=").append(filters.getLocationString().replace(" ", "+"));
-            }
-            
-            if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
-                urlBuilder.append("&remotejob=1");
-            }
-            
-            urlBuilder.append("&fromage=1"); // Last 24 hours
-            
-            String url = urlBuilder.toString();
-            logger.info("Scraping Indeed: {}", url);
-            
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                .header("Accept-Language", "en-US,en;q=0.5")
-                .referrer("https://www.google.com/")
-                .timeout(15000)
-                .get();
-            
-            Elements jobCards = doc.select("div.job_seen_beacon");
-            
-            if (jobCards.isEmpty()) {
-                jobCards = doc.select("div.jobsearch-SerpJobCard");
-            }
-            
-            for (Element card : jobCards) {
-                try {
-                    JobPosting job = parseIndeedJob(card);
-                    if (job != null && matchesFilters(job, filters)) {
-                        jobs.add(job);
-                        logger.debug("Added Indeed job: {}", job.getTitle());
-                    }
-                    
-                    if (jobs.size() >= 20) break;
-                } catch (Exception e) {
-                    logger.debug("Error parsing Indeed job: {}", e.getMessage());
+        StringBuilder urlBuilder = new StringBuilder();
+        urlBuilder.append("https://www.indeed.com/jobs?q=");
+        urlBuilder.append(filters.getSearchTerms().replace(" ", "+"));
+        
+        if (filters.hasLocationFilter()) {
+            urlBuilder.append("&l=").append(filters.getLocationString().replace(" ", "+"));
+        }
+        
+        if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
+            urlBuilder.append("&remotejob=1");
+        }
+        
+        urlBuilder.append("&fromage=1"); // Last 24 hours
+        
+        String url = urlBuilder.toString();
+        logger.info("Scraping Indeed: {}", url);
+        
+        Document doc = PageFetcher.get("Indeed", "search", Jsoup.connect(url)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+            .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+            .header("Accept-Language", "en-US,en;q=0.5")
+            .referrer("https://www.google.com/")
+            .timeout(15000));
+        
+        Elements jobCards = doc.select("div.job_seen_beacon");
+        
+        if (jobCards.isEmpty()) {
+            jobCards = doc.select("div.jobsearch-SerpJobCard");
+        }
+        
+        for (Element card : jobCards) {
+            try {
+                if (jobs.skipSeen(filters, card.selectFirst("a"))) {
+                    continue;
+                }
+                JobPosting job = parseIndeedJob(card);
+                if (job != null && matchesFilters(job, filters)) {
+                    jobs.add(job);
+                    logger.debug("Added Indeed job: {}", job.getTitle());
                 }
+                
+                if (jobs.size() >= 20) break;
+            } catch (Exception e) {
+                logger.debug("Error parsing Indeed job: {}", e.getMessage());
             }
-            
-            logger.info("Scraped {} jobs from Indeed", jobs.size());
-            
-        } catch (Exception e) {
-            logger.error("Error scraping Indeed: {}", e.getMessage());
         }
         
+        logger.info("Scraped {} jobs from Indeed", jobs.size());
+        
         return jobs;
     }
     
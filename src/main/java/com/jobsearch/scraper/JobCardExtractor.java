@@ -0,0 +1,139 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Parses LinkedIn and Dice job cards out of a Jsoup document. Used on a
+// single page-source snapshot from the browser so each card costs local
+// selector work instead of several WebDriver round trips.
+class JobCardExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(JobCardExtractor.class);
+    
+    static ScrapedJobs linkedInJobs(Document page, int limit, SearchFilters filters) {
+        ScrapedJobs jobs = new ScrapedJobs();
+        Elements cards = page.select("div.base-card, div.job-search-card");
+        logger.info("Found {} job cards on LinkedIn", cards.size());
+        
+        for (Element card : cards) {
+            if (jobs.size() >= limit) break;
+            if (jobs.skipSeen(filters, card.selectFirst("a.base-card__full-link"))) {
+                continue;
+            }
+            JobPosting job = parseLinkedInCard(card);
+            if (job != null) {
+                jobs.add(job);
+                logger.debug("Added LinkedIn job: {}", job.getTitle());
+            }
+        }
+        return jobs;
+    }
+    
+    static JobPosting parseLinkedInCard(Element card) {
+        Element titleElement = card.selectFirst("h3.base-search-card__title, span.sr-only");
+        if (titleElement == null || titleElement.text().trim().isEmpty()) {
+            return null;
+        }
+        
+        JobPosting job = new JobPosting();
+        job.setTitle(titleElement.text().trim());
+        job.setCompany(textOr(card, "h4.base-search-card__subtitle, a.hidden-nested-link", "See posting"));
+        job.setLocation(textOr(card, "span.job-search-card__location", "Not specified"));
+        
+        Element linkElement = card.selectFirst("a.base-card__full-link");
+        job.setUrl(linkElement != null ? linkElement.absUrl("href") : "https://www.linkedin.com/jobs/");
+        
+        job.setSource("LinkedIn");
+        job.setReputabilityScore(10);
+        job.setPostedDate(postedDate(card));
+        return job;
+    }
+    
+    static ScrapedJobs diceJobs(Document page, int limit, SearchFilters filters) {
+        ScrapedJobs jobs = new ScrapedJobs();
+        
+        // Try multiple selectors, same order as the live-element path
+        Elements cards = page.select("div[id^='card-']");
+        if (cards.isEmpty()) {
+            cards = page.select("div.card");
+        }
+        if (cards.isEmpty()) {
+            cards = page.select("div[class*='job']");
+        }
+        if (cards.isEmpty()) {
+            cards = new Elements();
+            for (Element link : page.select("a[href*='/job-detail/']")) {
+                if (link.parent() != null) {
+                    cards.add(link.parent());
+                }
+            }
+        }
+        logger.info("Found {} potential job elements on Dice", cards.size());
+        
+        for (Element card : cards) {
+            if (jobs.size() >= limit) break;
+            if (jobs.skipSeen(filters, 
+                    card.selectFirst("a[id^='jobTitle'], a.card-title-link, a[href*='/job-detail/']"))) {
+                continue;
+            }
+            JobPosting job = parseDiceCard(card);
+            if (job != null) {
+                jobs.add(job);
+                logger.debug("Added Dice job: {}", job.getTitle());
+            }
+        }
+        return jobs;
+    }
+    
+    static JobPosting parseDiceCard(Element card) {
+        Element titleLink = card.selectFirst("a[id^='jobTitle']");
+        if (titleLink == null) {
+            titleLink = card.selectFirst("a.card-title-link");
+        }
+        if (titleLink == null) {
+            titleLink = card.selectFirst("a[href*='/job-detail/']");
+        }
+        if (titleLink == null || titleLink.text().trim().isEmpty()) {
+            return null;
+        }
+        
+        JobPosting job = new JobPosting();
+        job.setTitle(titleLink.text().trim());
+        job.setUrl(titleLink.absUrl("href"));
+        job.setCompany(textOr(card, "span.company, div.company, a.company", "See posting"));
+        job.setLocation(textOr(card, "span.location, div.location", "Not specified"));
+        job.setSource("Dice");
+        job.setReputabilityScore(8);
+        job.setPostedDate(LocalDate.now());
+        return job;
+    }
+    
+    private static String textOr(Element card, String selector, String fallback) {
+        Element element = card.selectFirst(selector);
+        if (element == null) {
+            return fallback;
+        }
+        String text = element.text().trim();
+        return text.isEmpty() ? fallback : text;
+    }
+    
+    private static LocalDate postedDate(Element card) {
+        Element time = card.selectFirst("time[datetime]");
+        if (time != null) {
+            try {
+                return LocalDate.parse(time.attr("datetime"));
+            } catch (Exception e) {
+                // Fall through to today
+            }
+        }
+        return LocalDate.now();
+    }
+}
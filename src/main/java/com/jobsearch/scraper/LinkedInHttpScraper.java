@@ -0,0 +1,45 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.http.PageFetcher;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// LinkedIn's logged-out job search loads its result list from a guest
+// endpoint that returns the same base-card markup as the full page, so
+// it can be read with Jsoup without starting a browser.
+public class LinkedInHttpScraper {
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInHttpScraper.class);
+    private static final String GUEST_URL = 
+        "https://www.linkedin.com/jobs-guest/jobs/api/seeMoreJobPostings/search?";
+    
+    public List<JobPosting> scrape(SearchFilters filters) {
+        ScrapedJobs jobs = new ScrapedJobs();
+        
+        try {
+            String url = GUEST_URL + SeleniumScraper.linkedInQuery(filters) + "&start=0";
+            logger.info("Fetching LinkedIn guest listings: {}", url);
+            
+            Document doc = PageFetcher.get("LinkedIn", "guest", Jsoup.connect(url)
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.5")
+                .referrer("https://www.linkedin.com/jobs/search/")
+                .timeout(10000));
+            
+            jobs.addScraped(JobCardExtractor.linkedInJobs(doc, 25, filters));
+            logger.info("Fetched {} jobs from LinkedIn over HTTP", jobs.size());
+        } catch (Exception e) {
+            // Blocks (HTTP 999/429) land here; the browser path takes over
+            logger.info("LinkedIn HTTP path unavailable: {}", e.getMessage());
+        }
+        
+        return jobs;
+    }
+}
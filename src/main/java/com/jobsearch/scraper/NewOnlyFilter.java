@@ -0,0 +1,26 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.store.SeenPostings;
+import org.jsoup.nodes.Element;
+
+// Early skip for "new only" searches: a card whose link is already in the
+// seen-postings filter is dropped before the rest of it is parsed.
+// Scrapers go through ScrapedJobs.skipSeen, which counts the skips.
+final class NewOnlyFilter {
+    
+    private NewOnlyFilter() {
+    }
+    
+    static boolean skip(SearchFilters filters, Element link) {
+        if (!filters.isNewOnly() || link == null) {
+            return false;
+        }
+        return skip(filters, link.absUrl("href"));
+    }
+    
+    static boolean skip(SearchFilters filters, String url) {
+        return filters.isNewOnly() && url != null && !url.isEmpty()
+            && SeenPostings.getInstance().isSeen(url);
+    }
+}
@@ -0,0 +1,136 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.health.BlockDetector;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Waits for a results page to be usable instead of sleeping a fixed time.
+// Each poll is one executeScript that reports card count, page height and
+// whether a challenge or empty-state marker is showing, so a page that is
+// ready in 800ms is read after 800ms and a captcha is abandoned at once.
+class PageReadiness {
+    private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+    private static final long POLL_MS = 250;
+    private static final int STABLE_POLLS = 4;
+    
+    enum Outcome { READY, STABLE, EMPTY, BLOCKED, TIMEOUT }
+    
+    private static final String PROBE_SCRIPT =
+        "var cards = document.querySelectorAll(arguments[0]).length;"
+        + "var empty = arguments[1] ? !!document.querySelector(arguments[1]) : false;"
+        + "var title = (document.title || '').toLowerCase();"
+        + "var blocked = !!document.querySelector(arguments[2]) || title.indexOf('captcha') >= 0"
+        + "  || title.indexOf('security check') >= 0 || title.indexOf('access denied') >= 0"
+        + "  || title.indexOf('please verify') >= 0 || title.indexOf('just a moment') >= 0;"
+        + "return { cards: cards, empty: empty, blocked: blocked,"
+        + "  complete: document.readyState !== 'loading',"
+        + "  height: document.body ? document.body.scrollHeight : 0 };";
+    
+    // Ready when minCards are present, or when some cards exist and the count
+    // has stopped changing for STABLE_POLLS polls
+    static Outcome awaitCards(WebDriver driver, String cardSelector, int minCards,
+                              String emptySelector, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        long start = System.currentTimeMillis();
+        int lastCount = -1;
+        int unchangedPolls = 0;
+        
+        while (System.currentTimeMillis() < deadline) {
+            Map<String, Object> state = probe(driver, cardSelector, emptySelector);
+            int cards = intValue(state.get("cards"));
+            boolean complete = Boolean.TRUE.equals(state.get("complete"));
+            
+            if (Boolean.TRUE.equals(state.get("blocked"))) {
+                return finish(Outcome.BLOCKED, cards, start);
+            }
+            if (cards >= minCards) {
+                return finish(Outcome.READY, cards, start);
+            }
+            if (cards == 0 && complete && Boolean.TRUE.equals(state.get("empty"))) {
+                return finish(Outcome.EMPTY, cards, start);
+            }
+            
+            unchangedPolls = cards == lastCount ? unchangedPolls + 1 : 0;
+            lastCount = cards;
+            if (cards > 0 && complete && unchangedPolls >= STABLE_POLLS) {
+                return finish(Outcome.STABLE, cards, start);
+            }
+            
+            if (!pause()) {
+                break;
+            }
+        }
+        return finish(Outcome.TIMEOUT, Math.max(lastCount, 0), start);
+    }
+    
+    // Scrolls to the bottom until targetCards are loaded or a scroll no longer
+    // adds cards or height (end of the infinite list)
+    static int scrollUntilComplete(WebDriver driver, String cardSelector, int targetCards, 
+                                   Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        Map<String, Object> state = probe(driver, cardSelector, null);
+        int cards = intValue(state.get("cards"));
+        long height = longValue(state.get("height"));
+        
+        while (cards < targetCards && System.currentTimeMillis() < deadline) {
+            ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, document.body.scrollHeight);");
+            
+            boolean grew = false;
+            for (int poll = 0; poll < STABLE_POLLS && System.currentTimeMillis() < deadline; poll++) {
+                if (!pause()) {
+                    return cards;
+                }
+                state = probe(driver, cardSelector, null);
+                int newCards = intValue(state.get("cards"));
+                long newHeight = longValue(state.get("height"));
+                if (newCards > cards || newHeight > height) {
+                    cards = newCards;
+                    height = newHeight;
+                    grew = true;
+                    break;
+                }
+            }
+            if (!grew) {
+                logger.debug("Infinite scroll complete at {} cards", cards);
+                break;
+            }
+        }
+        return cards;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> probe(WebDriver driver, String cardSelector, String emptySelector) {
+        Object result = ((JavascriptExecutor) driver).executeScript(
+            PROBE_SCRIPT, cardSelector, emptySelector, BlockDetector.CHALLENGE_SELECTORS);
+        return (Map<String, Object>) result;
+    }
+    
+    private static Outcome finish(Outcome outcome, int cards, long start) {
+        logger.debug("Page readiness {} with {} cards after {}ms", 
+            outcome, cards, System.currentTimeMillis() - start);
+        return outcome;
+    }
+    
+    private static boolean pause() {
+        try {
+            Thread.sleep(POLL_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+    
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.http.PageFetcher;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import org.jsoup.Jsoup;
@@ -9,6 +10,7 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,55 +19,53 @@ public class PowerToFlyScraper {
     private static final Logger logger = LoggerFactory.getLogger(PowerToFlyScraper.class);
     private static final String BASE_URL = "https://powertofly.com";
     
-    public List<JobPosting> scrape(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrape(SearchFilters filters) throws IOException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
-        try {
-            String url = BASE_URL + "/jobs?keywords=" + 
-                filters.getSearchTerms().replace(" ", "%20");
-            
-            // Add location filter if specified
-            if (filters.hasLocationFilter()) {
-                url += "&location=" + filters.getLocationString().replace(" ", "%20");
-            }
-            
-            logger.info("Scraping PowerToFly: {}", url);
-            
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(15000)
-                .referrer("https://www.google.com")
-                .followRedirects(true)
-                .get();
-            
-            // PowerToFly uses various selectors depending on their current layout
-            Elements jobCards = doc.select("div.job-card, div[class*='job'], article[class*='job']");
-            
-            if (jobCards.isEmpty()) {
-                // Try alternative selectors
-                jobCards = doc.select("a[href*='/jobs/detail/']").parents();
-            }
-            
-            for (Element card : jobCards) {
-                try {
-                    JobPosting job = parsePowerToFlyJob(card);
-                    if (job != null && matchesFilters(job, filters)) {
-                        jobs.add(job);
-                        logger.debug("Added PowerToFly job: {}", job.getTitle());
-                    }
-                    
-                    if (jobs.size() >= 25) break;
-                } catch (Exception e) {
-                    logger.debug("Error parsing PowerToFly job: {}", e.getMessage());
+        String url = BASE_URL + "/jobs?keywords=" + 
+            filters.getSearchTerms().replace(" ", "%20");
+        
+        // Add location filter if specified
+        if (filters.hasLocationFilter()) {
+            url += "&location=" + filters.getLocationString().replace(" ", "%20");
+        }
+        
+        logger.info("Scraping PowerToFly: {}", url);
+        
+        Document doc = PageFetcher.get("PowerToFly", "search", Jsoup.connect(url)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .timeout(15000)
+            .referrer("https://www.google.com")
+            .followRedirects(true));
+        
+        // PowerToFly uses various selectors depending on their current layout
+        Elements jobCards = doc.select("div.job-card, div[class*='job'], article[class*='job']");
+        
+        if (jobCards.isEmpty()) {
+            // Try alternative selectors
+            jobCards = doc.select("a[href*='/jobs/detail/']").parents();
+        }
+        
+        for (Element card : jobCards) {
+            try {
+                if (jobs.skipSeen(filters, 
+                        card.selectFirst("a[href*='/jobs/detail/'], a[href*='/jobs/']"))) {
+                    continue;
+                }
+                JobPosting job = parsePowerToFlyJob(card);
+                if (job != null && matchesFilters(job, filters)) {
+                    jobs.add(job);
+                    logger.debug("Added PowerToFly job: {}", job.getTitle());
                 }
+                
+                if (jobs.size() >= 25) break;
+            } catch (Exception e) {
+                logger.debug("Error parsing PowerToFly job: {}", e.getMessage());
             }
-            
-            logger.info("Scraped {} jobs from PowerToFly", jobs.size());
-            
-        } catch (Exception e) {
-            logger.error("Error scraping PowerToFly: {}", e.getMessage());
         }
         
+        logger.info("Scraped {} jobs from PowerToFly", jobs.size());
+        
         return jobs;
     }
     
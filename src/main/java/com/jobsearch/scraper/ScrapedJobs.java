@@ -0,0 +1,52 @@
+package com.jobsearch.scraper;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// A source's postings together with how many cards a "new only" search
+// dropped as already seen, so WebScraper can tell a board that answered
+// with only known postings from one that returned nothing at all. The
+// count travels with the list, whichever thread did the scraping.
+public class ScrapedJobs extends ArrayList<JobPosting> {
+    private static final long serialVersionUID = 1L;
+    
+    private int skippedSeen;
+    
+    public ScrapedJobs() {
+    }
+    
+    public ScrapedJobs(Collection<JobPosting> jobs, int skippedSeen) {
+        super(jobs);
+        this.skippedSeen = skippedSeen;
+    }
+    
+    boolean skipSeen(SearchFilters filters, Element link) {
+        return count(NewOnlyFilter.skip(filters, link));
+    }
+    
+    public boolean skipSeen(SearchFilters filters, String url) {
+        return count(NewOnlyFilter.skip(filters, url));
+    }
+    
+    // Adds another scrape's postings and its skips
+    void addScraped(ScrapedJobs other) {
+        addAll(other);
+        skippedSeen += other.skippedSeen;
+    }
+    
+    public static int skippedSeen(List<JobPosting> jobs) {
+        return jobs instanceof ScrapedJobs ? ((ScrapedJobs) jobs).skippedSeen : 0;
+    }
+    
+    private boolean count(boolean skipped) {
+        if (skipped) {
+            skippedSeen++;
+        }
+        return skipped;
+    }
+}
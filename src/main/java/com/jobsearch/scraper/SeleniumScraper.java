@@ -1,28 +1,49 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.health.BlockDetector;
+import com.jobsearch.health.BlockReason;
+import com.jobsearch.health.LatencyTracker;
+import com.jobsearch.http.SourceBlockedException;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
-import io.github.bonigarcia.wdm.WebDriverManager;
-
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class SeleniumScraper {
     private static final Logger logger = LoggerFactory.getLogger(SeleniumScraper.class);
+    
+    // DOM_SNAPSHOT parses one page-source capture with Jsoup; LIVE_ELEMENTS
+    // walks WebElements card by card (-Djobsearch.selenium.extraction=live)
+    enum ExtractionMode { DOM_SNAPSHOT, LIVE_ELEMENTS }
+    
+    static final String LINKEDIN_SEARCH_URL = "https://www.linkedin.com/jobs/search/?";
+    static final String DICE_SEARCH_URL = "https://www.dice.com/jobs?";
+    private static final String LINKEDIN_CARDS = "div.base-card, div.job-search-card";
+    private static final String LINKEDIN_EMPTY = 
+        ".jobs-search-no-results-banner, .jobs-search-two-pane__no-results-banner--expand";
+    private static final String DICE_CARDS = 
+        "div[id^='card-'], dhi-search-card, a[href*='/job-detail/']";
+    private static final String DICE_EMPTY = "[data-cy='no-results'], .no-jobs-message, .no-results";
+    
+    private final ExtractionMode extractionMode = 
+        "live".equalsIgnoreCase(System.getProperty("jobsearch.selenium.extraction"))
+            ? ExtractionMode.LIVE_ELEMENTS : ExtractionMode.DOM_SNAPSHOT;
     private WebDriver driver;
     private boolean initialized = false;
     
@@ -36,94 +57,46 @@ public class SeleniumScraper {
     }
     
     private void initializeDriver() {
-        try {
-            logger.info("Initializing Chrome WebDriver...");
-            WebDriverManager.chromedriver().setup();
-            
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless=new");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--disable-blink-features=AutomationControlled");
-            options.addArguments("--window-size=1920,1080");
-            options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            options.addArguments("--disable-extensions");
-            options.addArguments("--disable-popup-blocking");
-            options.addArguments("--start-maximized");
-            options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation", "enable-logging"});
-            options.setExperimentalOption("useAutomationExtension", false);
-            
-            driver = new ChromeDriver(options);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
-            
-            initialized = true;
-            logger.info("Selenium WebDriver initialized successfully");
-        } catch (Exception e) {
-            logger.error("Failed to initialize WebDriver: {}", e.getMessage());
-            initialized = false;
+        // Sessions come pre-started from the shared pool; launching Chrome
+        // here used to cost several seconds per search
+        driver = ChromeSessionPool.getInstance().borrow(60, TimeUnit.SECONDS);
+        initialized = driver != null;
+        if (initialized) {
+            logger.info("Selenium WebDriver ready");
+        } else {
+            logger.error("Failed to initialize WebDriver: no Chrome session available");
         }
     }
     
-    public List<JobPosting> scrapeLinkedInJobs(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrapeLinkedInJobs(SearchFilters filters) throws IOException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
         if (!initialized) {
-            logger.warn("Selenium not initialized, skipping LinkedIn");
+            throw new IOException("no Chrome session available");
+        }
+        
+        String url = LINKEDIN_SEARCH_URL + linkedInQuery(filters);
+        logger.info("Scraping LinkedIn Jobs: {}", url);
+        BlockReason blocked = navigate("LinkedIn", url);
+        if (blocked != null) {
+            throw new SourceBlockedException(url, blocked);
+        }
+        
+        PageReadiness.Outcome readiness = PageReadiness.awaitCards(driver, 
+            LINKEDIN_CARDS, 25, LINKEDIN_EMPTY, Duration.ofSeconds(15));
+        if (readiness == PageReadiness.Outcome.BLOCKED) {
+            // The probe saw a challenge element or title; name it if we can
+            blocked = detectBlock();
+            throw new SourceBlockedException(url, blocked != null ? blocked : BlockReason.CAPTCHA);
+        }
+        if (readiness == PageReadiness.Outcome.EMPTY) {
+            logger.info("LinkedIn reports no matching jobs");
             return jobs;
         }
         
-        try {
-            StringBuilder urlBuilder = new StringBuilder();
-            urlBuilder.append("https://www.linkedin.com/jobs/search/?keywords=");
-            urlBuilder.append(filters.getSearchTerms().replace(" ", "%20"));
-            
-            if (filters.hasLocationFilter()) {
-                urlBuilder.append("&location=").append(filters.getLocationString().replace(" ", "%20"));
-                urlBuilder.append("&distance=50"); // 50 mile radius
-            } else {
-                urlBuilder.append("&location=");
-            }
-            
-            // Add experience level filter
-            if (filters.getExperienceLevel() != SearchFilters.ExperienceLevel.NO_PREFERENCE) {
-                switch (filters.getExperienceLevel()) {
-                    case JUNIOR:
-                        urlBuilder.append("&f_E=1,2"); // Entry level, Associate
-                        break;
-                    case MID_LEVEL:
-                        urlBuilder.append("&f_E=3"); // Mid-Senior level
-                        break;
-                    case SENIOR:
-                        urlBuilder.append("&f_E=4,5,6"); // Senior, Director, Executive
-                        break;
-                }
-            }
-            
-            // Add work model filter
-            if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
-                urlBuilder.append("&f_WT=2"); // Remote filter
-            } else if (filters.getWorkModel() == SearchFilters.WorkModel.HYBRID) {
-                urlBuilder.append("&f_WT=3"); // Hybrid filter
-            } else if (filters.getWorkModel() == SearchFilters.WorkModel.IN_PERSON) {
-                urlBuilder.append("&f_WT=1"); // On-site filter
-            }
-            
-            urlBuilder.append("&f_TPR=r86400"); // Past 24 hours
-            
-            String url = urlBuilder.toString();
-            logger.info("Scraping LinkedIn Jobs: {}", url);
-            driver.get(url);
-            
-            if (detectCaptcha()) {
-                logger.warn("CAPTCHA detected on LinkedIn, skipping");
-                return jobs;
-            }
-            
-            Thread.sleep(5000); // Wait for page to load
-            
+        if (extractionMode == ExtractionMode.DOM_SNAPSHOT) {
+            jobs.addScraped(JobCardExtractor.linkedInJobs(snapshot(), 25, filters));
+        } else {
             List<WebElement> jobCards = driver.findElements(By.cssSelector("div.base-card, div.job-search-card"));
             logger.info("Found {} job cards on LinkedIn", jobCards.size());
             
@@ -139,12 +112,10 @@ public class SeleniumScraper {
                     logger.debug("Error parsing LinkedIn job {}: {}", i, e.getMessage());
                 }
             }
-            
-            logger.info("Successfully scraped {} jobs from LinkedIn", jobs.size());
-        } catch (Exception e) {
-            logger.error("Error scraping LinkedIn: {}", e.getMessage());
         }
         
+        logger.info("Successfully scraped {} jobs from LinkedIn", jobs.size());
+        
         return jobs;
     }
     
@@ -187,51 +158,44 @@ public class SeleniumScraper {
         return job;
     }
     
-    public List<JobPosting> scrapeDice(SearchFilters filters) {
-    List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrapeDice(SearchFilters filters) throws IOException {
+    ScrapedJobs jobs = new ScrapedJobs();
     
     if (!initialized) {
-        logger.warn("Selenium not initialized, skipping Dice");
+        throw new IOException("no Chrome session available");
+    }
+    
+    String url = DICE_SEARCH_URL + diceQuery(filters);
+    logger.info("Scraping Dice.com: {}", url);
+    BlockReason blocked = navigate("Dice", url);
+    if (blocked != null) {
+        throw new SourceBlockedException(url, blocked);
+    }
+    
+    // Wait for dynamic content, then scroll until lazy loading stops adding cards
+    PageReadiness.Outcome readiness = PageReadiness.awaitCards(driver, 
+        DICE_CARDS, 25, DICE_EMPTY, Duration.ofSeconds(20));
+    if (readiness == PageReadiness.Outcome.BLOCKED) {
+        // The probe saw a challenge element or title; name it if we can
+        blocked = detectBlock();
+        throw new SourceBlockedException(url, blocked != null ? blocked : BlockReason.CAPTCHA);
+    }
+    if (readiness == PageReadiness.Outcome.EMPTY) {
+        logger.info("Dice reports no matching jobs");
         return jobs;
     }
+    if (readiness != PageReadiness.Outcome.READY) {
+        PageReadiness.scrollUntilComplete(driver, DICE_CARDS, 25, Duration.ofSeconds(8));
+    }
     
-    try {
-        StringBuilder urlBuilder = new StringBuilder();
-        urlBuilder.append("https://www.dice.com/jobs?q=");
-        urlBuilder.append(filters.getSearchTerms().replace(" ", "%20"));
-        
-        if (filters.hasLocationFilter()) {
-            urlBuilder.append("&location=").append(filters.getLocationString().replace(" ", "%20"));
-            urlBuilder.append("&radius=50");
-        }
-        
-        // Add work model filter
-        if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
-            urlBuilder.append("&filters.workplaceTypes=Remote");
-        }
-        
-        urlBuilder.append("&filters.postedDate=ONE");
-        urlBuilder.append("&pageSize=25");
-        
-        String url = urlBuilder.toString();
-        logger.info("Scraping Dice.com: {}", url);
-        driver.get(url);
-        
-        if (detectCaptcha()) {
-            logger.warn("CAPTCHA detected on Dice, skipping");
-            return jobs;
-        }
-        
-        // Wait longer for dynamic content
-        Thread.sleep(8000);
-        
-        // Try to scroll to trigger lazy loading
-        ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, document.body.scrollHeight/2);");
-        Thread.sleep(2000);
-        
-        // Log page source for debugging
-        logger.debug("Page title: {}", driver.getTitle());
-        
+    // Log page source for debugging
+    logger.debug("Page title: {}", driver.getTitle());
+    
+    Document page = null;
+    if (extractionMode == ExtractionMode.DOM_SNAPSHOT) {
+        page = snapshot();
+        jobs.addScraped(JobCardExtractor.diceJobs(page, 25, filters));
+    } else {
         // Try multiple selectors
         List<WebElement> jobCards = driver.findElements(By.cssSelector("div[id^='card-']"));
         
@@ -264,19 +228,27 @@ public class SeleniumScraper {
                 logger.debug("Error parsing Dice job {}: {}", i, e.getMessage());
             }
         }
-        
-        if (jobs.isEmpty()) {
-            // Log page source snippet for debugging
-            String pageText = driver.findElement(By.tagName("body")).getText();
-            logger.warn("Dice page content sample: {}", 
-                pageText.substring(0, Math.min(500, pageText.length())));
+    }
+    
+    if (jobs.isEmpty() && page != null) {
+        // Last resort once nothing parsed: scan the snapshot text
+        blocked = BlockDetector.fromText(page);
+        if (blocked != null) {
+            throw new SourceBlockedException(url, blocked);
         }
-        
-        logger.info("Successfully scraped {} jobs from Dice", jobs.size());
-    } catch (Exception e) {
-        logger.error("Error scraping Dice: {}", e.getMessage());
     }
     
+    if (jobs.isEmpty()) {
+        // Log page source snippet for debugging
+        String pageText = page != null 
+            ? page.body().text() 
+            : driver.findElement(By.tagName("body")).getText();
+        logger.warn("Dice page content sample: {}", 
+            pageText.substring(0, Math.min(500, pageText.length())));
+    }
+    
+    logger.info("Successfully scraped {} jobs from Dice", jobs.size());
+    
     return jobs;
 }
 
@@ -315,7 +287,7 @@ private JobPosting parseDiceJob(WebElement element) {
         if (job.getTitle() == null || job.getTitle().isEmpty()) {
             return null;
         }
-        
+    
     } catch (Exception e) {
         logger.debug("Could not extract title from Dice job: {}", e.getMessage());
         return null;
@@ -343,34 +315,122 @@ private JobPosting parseDiceJob(WebElement element) {
     
     return job;
 }
+
+    // Query string shared by the browser page and the guest HTTP endpoint
+    static String linkedInQuery(SearchFilters filters) {
+        StringBuilder urlBuilder = new StringBuilder();
+        urlBuilder.append("keywords=");
+        urlBuilder.append(filters.getSearchTerms().replace(" ", "%20"));
+        
+        if (filters.hasLocationFilter()) {
+            urlBuilder.append("&location=").append(filters.getLocationString().replace(" ", "%20"));
+            urlBuilder.append("&distance=50"); // 50 mile radius
+        } else {
+            urlBuilder.append("&location=");
+        }
+        
+        // Add experience level filter
+        if (filters.getExperienceLevel() != SearchFilters.ExperienceLevel.NO_PREFERENCE) {
+            switch (filters.getExperienceLevel()) {
+                case JUNIOR:
+                    urlBuilder.append("&f_E=1,2"); // Entry level, Associate
+                    break;
+                case MID_LEVEL:
+                    urlBuilder.append("&f_E=3"); // Mid-Senior level
+                    break;
+                case SENIOR:
+                    urlBuilder.append("&f_E=4,5,6"); // Senior, Director, Executive
+                    break;
+            }
+        }
+        
+        // Add work model filter
+        if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
+            urlBuilder.append("&f_WT=2"); // Remote filter
+        } else if (filters.getWorkModel() == SearchFilters.WorkModel.HYBRID) {
+            urlBuilder.append("&f_WT=3"); // Hybrid filter
+        } else if (filters.getWorkModel() == SearchFilters.WorkModel.IN_PERSON) {
+            urlBuilder.append("&f_WT=1"); // On-site filter
+        }
+        
+        urlBuilder.append("&f_TPR=r86400"); // Past 24 hours
+        
+        return urlBuilder.toString();
+    }
     
-    private boolean detectCaptcha() {
+    static String diceQuery(SearchFilters filters) {
+        StringBuilder urlBuilder = new StringBuilder();
+        urlBuilder.append("q=");
+        urlBuilder.append(filters.getSearchTerms().replace(" ", "%20"));
+        
+        if (filters.hasLocationFilter()) {
+            urlBuilder.append("&location=").append(filters.getLocationString().replace(" ", "%20"));
+            urlBuilder.append("&radius=50");
+        }
+        
+        // Add work model filter
+        if (filters.getWorkModel() == SearchFilters.WorkModel.REMOTE) {
+            urlBuilder.append("&filters.workplaceTypes=Remote");
+        }
+        
+        urlBuilder.append("&filters.postedDate=ONE");
+        urlBuilder.append("&pageSize=25");
+        
+        return urlBuilder.toString();
+    }
+    
+    // One round trip for the whole rendered DOM; cards are then parsed locally
+    private Document snapshot() {
+        return Jsoup.parse(driver.getPageSource(), driver.getCurrentUrl());
+    }
+    
+    // Page load timeout follows how fast the board has actually been loading.
+    // Returns why the page was blocked, or null; a block page loads fast and
+    // is not a latency sample, while a timeout counts at the full timeout.
+    private BlockReason navigate(String source, String url) {
+        LatencyTracker latency = LatencyTracker.getInstance();
+        long timeoutMs = latency.timeoutMs(source, "page", 30000);
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofMillis(timeoutMs));
+        BrowserProfile.forSource(source).applyTo(driver);
+        long start = System.nanoTime();
         try {
-            String pageSource = driver.getPageSource().toLowerCase();
-            String title = driver.getTitle().toLowerCase();
-            
-            return pageSource.contains("captcha") || 
-                   pageSource.contains("recaptcha") ||
-                   pageSource.contains("hcaptcha") ||
-                   pageSource.contains("cloudflare") ||
-                   pageSource.contains("access denied") ||
-                   title.contains("captcha") ||
-                   title.contains("security check") ||
-                   title.contains("access denied") ||
-                   title.contains("please verify");
+            driver.get(url);
+        } catch (TimeoutException e) {
+            latency.record(source, "page", timeoutMs);
+            throw e;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        BlockReason blocked = detectBlock();
+        if (blocked == null) {
+            latency.record(source, "page", millis);
+        }
+        return blocked;
+    }
+    
+    // Cheap checks only: each is a single small WebDriver call, unlike
+    // getPageSource which ships the whole serialized DOM over the wire
+    private BlockReason detectBlock() {
+        try {
+            BlockReason reason = BlockDetector.fromUrl(driver.getCurrentUrl());
+            if (reason == null) {
+                reason = BlockDetector.fromTitle(driver.getTitle());
+            }
+            if (reason == null) {
+                reason = BlockDetector.fromCookies(driver.manage().getCookies().stream()
+                    .map(Cookie::getName)
+                    .collect(Collectors.toList()));
+            }
+            return reason;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
     
     public void close() {
         if (driver != null) {
-            try {
-                driver.quit();
-                logger.info("WebDriver closed successfully");
-            } catch (Exception e) {
-                logger.error("Error closing WebDriver: {}", e.getMessage());
-            }
+            ChromeSessionPool.getInstance().release(driver);
+            driver = null;
+            logger.info("WebDriver returned to pool");
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.jobsearch.scraper;
 
+import com.jobsearch.health.BlockDetector;
+import com.jobsearch.health.BlockReason;
+import com.jobsearch.http.PageFetcher;
+import com.jobsearch.http.SourceBlockedException;
 import com.jobsearch.model.JobPosting;
 import com.jobsearch.model.SearchFilters;
 import org.jsoup.Jsoup;
@@ -9,6 +13,7 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,76 +22,72 @@ public class WeWorkRemotelyScraper {
     private static final Logger logger = LoggerFactory.getLogger(WeWorkRemotelyScraper.class);
     private static final String BASE_URL = "https://weworkremotely.com";
     
-    public List<JobPosting> scrape(SearchFilters filters) {
-        List<JobPosting> jobs = new ArrayList<>();
+    public List<JobPosting> scrape(SearchFilters filters) throws IOException {
+        ScrapedJobs jobs = new ScrapedJobs();
         
-        try {
-            // Don't use search, scrape categories instead to avoid 403
-            String url = BASE_URL + "/categories/remote-programming-jobs";
-            
-            logger.info("Scraping WeWorkRemotely: {}", url);
-            
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                .header("Accept-Language", "en-US,en;q=0.5")
-                .header("Accept-Encoding", "gzip, deflate, br")
-                .header("Connection", "keep-alive")
-                .header("Upgrade-Insecure-Requests", "1")
-                .header("Sec-Fetch-Dest", "document")
-                .header("Sec-Fetch-Mode", "navigate")
-                .header("Sec-Fetch-Site", "none")
-                .header("Cache-Control", "max-age=0")
-                .referrer("https://www.google.com/")
-                .timeout(15000)
-                .followRedirects(true)
-                .ignoreHttpErrors(true)
-                .get();
-            
-            // Check if we got blocked
-            if (doc.title().toLowerCase().contains("access denied") || 
-                doc.text().toLowerCase().contains("cloudflare")) {
-                logger.warn("WeWorkRemotely blocked the request");
-                return jobs;
+        // Don't use search, scrape categories instead to avoid 403
+        String url = BASE_URL + "/categories/remote-programming-jobs";
+        
+        logger.info("Scraping WeWorkRemotely: {}", url);
+        
+        Document doc = PageFetcher.getShared("WeWorkRemotely", "category", Jsoup.connect(url)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+            .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
+            .header("Accept-Language", "en-US,en;q=0.5")
+            .header("Accept-Encoding", "gzip, deflate, br")
+            .header("Connection", "keep-alive")
+            .header("Upgrade-Insecure-Requests", "1")
+            .header("Sec-Fetch-Dest", "document")
+            .header("Sec-Fetch-Mode", "navigate")
+            .header("Sec-Fetch-Site", "none")
+            .header("Cache-Control", "max-age=0")
+            .referrer("https://www.google.com/")
+            .timeout(15000)
+            .followRedirects(true)
+            .ignoreHttpErrors(true));
+        
+        // A page without a single job link is either a layout change or a
+        // challenge page that slipped past the status/title checks
+        if (doc.selectFirst("a[href*='/remote-jobs/']") == null) {
+            BlockReason blocked = BlockDetector.fromText(doc);
+            if (blocked != null) {
+                throw new SourceBlockedException(url, blocked);
             }
-            
-            // Look for job listings
-            Elements jobListings = doc.select("li");
-            String searchLower = filters.getSearchTerms().toLowerCase();
-            
-            for (Element listing : jobListings) {
-                try {
-                    // Check if this element contains a job link
-                    Elements links = listing.select("a[href*='/remote-jobs/']");
-                    if (links.isEmpty()) {
-                        continue;
-                    }
-                    
-                    String text = listing.text().toLowerCase();
+        }
+        
+        // Look for job listings
+        Elements jobListings = doc.select("li");
+        String searchLower = filters.getSearchTerms().toLowerCase();
+        
+        for (Element listing : jobListings) {
+            try {
+                // Check if this element contains a job link
+                Elements links = listing.select("a[href*='/remote-jobs/']");
+                if (links.isEmpty() || jobs.skipSeen(filters, links.first())) {
+                    continue;
+                }
+                
+                String text = listing.text().toLowerCase();
+                
+                // Check if matches search terms
+                if (text.contains(searchLower) || 
+                    containsAnyWord(text, searchLower.split(" "))) {
                     
-                    // Check if matches search terms
-                    if (text.contains(searchLower) || 
-                        containsAnyWord(text, searchLower.split(" "))) {
-                        
-                        JobPosting job = parseWeWorkJob(listing);
-                        if (job != null && matchesFilters(job, filters)) {
-                            jobs.add(job);
-                            logger.debug("Added WeWorkRemotely job: {}", job.getTitle());
-                        }
+                    JobPosting job = parseWeWorkJob(listing);
+                    if (job != null && matchesFilters(job, filters)) {
+                        jobs.add(job);
+                        logger.debug("Added WeWorkRemotely job: {}", job.getTitle());
                     }
-                    
-                    if (jobs.size() >= 25) break;
-                } catch (Exception e) {
-                    logger.debug("Error parsing WeWorkRemotely job: {}", e.getMessage());
                 }
+                
+                if (jobs.size() >= 25) break;
+            } catch (Exception e) {
+                logger.debug("Error parsing WeWorkRemotely job: {}", e.getMessage());
             }
-            
-            logger.info("Scraped {} jobs from WeWorkRemotely", jobs.size());
-            
-        } catch (Exception e) {
-            logger.error("Error scraping WeWorkRemotely: {}", e.getMessage());
         }
         
+        logger.info("Scraped {} jobs from WeWorkRemotely", jobs.size());
+        
         return jobs;
     }
     
@@ -1,27 +1,73 @@
 package com.jobsearch.scraper;
 
 import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.JobResultSet;
 import com.jobsearch.model.SearchFilters;
 import com.jobsearch.analyzer.JobAnalyzer;
 import com.jobsearch.api.JobBoardAPIClient;
+import com.jobsearch.health.SourceHealthRegistry;
+import com.jobsearch.health.SourceQuotas;
+import com.jobsearch.http.HttpTraffic;
+import com.jobsearch.http.SharedFetches;
+import com.jobsearch.http.SourceBlockedException;
+import com.jobsearch.metrics.MetricsRegistry;
+import com.jobsearch.store.JobStore;
+import com.jobsearch.store.ResultCache;
+import com.jobsearch.store.SeenPostings;
+import com.jobsearch.utils.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class WebScraper {
     private static final Logger logger = LoggerFactory.getLogger(WebScraper.class);
+    private static final Map<String, Semaphore> BROWSER_PERMITS = new ConcurrentHashMap<>();
+    // Identical searches running at the same time (same canonical filters)
+    // share one fetch across all sources
+    private static final SingleFlight<String, SourceFanout, List<JobPosting>> SEARCHES =
+        new SingleFlight<>("search.coalesced", SourceFanout::new);
+    // A source whose next rate-limit slot is further away than this is skipped
+    private static final long MAX_QUOTA_WAIT_MS = 60_000;
+    private static final Comparator<JobPosting> BY_SCORE = Comparator.comparingInt(
+        (JobPosting job) -> job.getRelevanceScore() + job.getReputabilityScore()).reversed();
+    // Finished searches are stored from this thread, never from the search's
+    // own: abandoning a search interrupts that thread, and an interrupt during
+    // a write closes the store's shared file channel
+    private static final ExecutorService RESULT_WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-results");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final JobAnalyzer analyzer;
     private final JobBoardAPIClient apiClient;
     private final HackerNewsScraper hnScraper;
     private final WeWorkRemotelyScraper weWorkScraper;
     private final PowerToFlyScraper powerToFlyScraper;
     private final CrunchboardScraper crunchboardScraper;
-    private SeleniumScraper seleniumScraper;
     private final IndeedScraper indeedScraper;
+    private final LinkedInHttpScraper linkedInHttpScraper;
+    private final DiceHttpScraper diceHttpScraper;
+    private final SourceHealthRegistry health;
+    private final MetricsRegistry metrics;
+    private final SourceQuotas quotas;
+    private final ResultCache cache;
+    private boolean markSeen = true;
 
 public WebScraper() {
     this.analyzer = new JobAnalyzer();
@@ -31,10 +77,109 @@ public WebScraper() {
     this.powerToFlyScraper = new PowerToFlyScraper();
     this.crunchboardScraper = new CrunchboardScraper();
     this.indeedScraper = new IndeedScraper(); // Add this
+    this.linkedInHttpScraper = new LinkedInHttpScraper();
+    this.diceHttpScraper = new DiceHttpScraper();
+    this.health = SourceHealthRegistry.getInstance();
+    this.metrics = MetricsRegistry.getInstance();
+    this.quotas = SourceQuotas.getInstance();
+    this.cache = ResultCache.getInstance();
     logger.info("WebScraper initialized with all job boards");
 }
-    
+
     public List<JobPosting> searchJobs(SearchFilters filters) {
+        return searchJobs(filters, null);
+    }
+    
+    // Whether results returned from here are recorded as seen for later
+    // new-only searches. On by default, so any search in the app feeds the
+    // next new-only one; the search server turns it off for clients that
+    // do not use new-only.
+    public void setMarkSeen(boolean markSeen) {
+        this.markSeen = markSeen;
+    }
+    
+    // Like searchJobs, and also hands each source's postings to listener as
+    // soon as that source finishes, for callers that show partial results
+    public List<JobPosting> searchJobs(SearchFilters filters, SourceListener listener) {
+        return present(filters, fetchShared(filters, listener));
+    }
+    
+    // For the scheduler: fetches, stores and caches every posting for these
+    // filters without marking anything seen, since nobody has looked yet
+    public List<JobPosting> refresh(SearchFilters filters) {
+        SearchFilters all = new SearchFilters(filters);
+        all.setNewOnly(false);
+        return fetchShared(all, null);
+    }
+    
+    public List<JobPosting> searchJobsCached(SearchFilters filters, Consumer<List<JobPosting>> onTopUp) {
+        return searchJobsCached(filters, null, onTopUp);
+    }
+    
+    // Answers from the result cache when it holds this search, falling back
+    // to a live search otherwise (listener only sees live searches). A stale
+    // hit is still returned at once and a refresh runs in the background;
+    // onTopUp, if given, receives the updated list.
+    public List<JobPosting> searchJobsCached(SearchFilters filters, SourceListener listener,
+                                             Consumer<List<JobPosting>> onTopUp) {
+        ResultCache.Entry entry = cache.get(filters);
+        if (entry == null) {
+            return searchJobs(filters, listener);
+        }
+        logger.info("✓ Answered '{}' from the result cache ({} jobs, {} min old)",
+            filters.getSearchTerms(), entry.getJobs().size(), entry.ageMs() / 60_000);
+        List<JobPosting> shown = present(filters, entry.getJobs());
+        if (entry.isStale()) {
+            CompletableFuture.runAsync(() -> {
+                logger.info("⟳ Cached results are stale, topping up in the background");
+                List<JobPosting> refreshed = refresh(filters);
+                if (onTopUp == null) {
+                    return;
+                }
+                List<JobPosting> fresh = present(filters, refreshed);
+                if (filters.isNewOnly()) {
+                    // Everything shown is now marked seen, so fresh holds only
+                    // postings that arrived since the cached fetch
+                    List<JobPosting> merged = new ArrayList<>(shown);
+                    merged.addAll(fresh);
+                    merged.sort(BY_SCORE);
+                    fresh = merged;
+                }
+                onTopUp.accept(fresh);
+            }).exceptionally(e -> {
+                logger.warn("Background top-up failed: {}", e.getMessage());
+                return null;
+            });
+        }
+        return shown;
+    }
+    
+    // Runs fetch for these filters, or joins an identical one already in
+    // flight; a joiner's listener first gets the sources that have already
+    // finished. Each caller gets its own copy of the list, so present() and
+    // callers cannot disturb each other. An interrupted caller leaves with a
+    // CancellationException; the fetch carries on for the others and is
+    // only cancelled once every caller has left.
+    private List<JobPosting> fetchShared(SearchFilters filters, SourceListener listener) {
+        String key = filters.cacheKey() + "|new=" + filters.isNewOnly();
+        AtomicReference<SourceFanout> joined = new AtomicReference<>();
+        CompletableFuture<List<JobPosting>> call = SEARCHES.run(key, fanout -> {
+            joined.set(fanout);
+            fanout.subscribe(listener);
+        }, fanout -> fetch(filters, fanout));
+        try {
+            return new ArrayList<>(SingleFlight.await(call));
+        } catch (InterruptedIOException e) {
+            throw new CancellationException("Search for '" + filters.getSearchTerms() + "' interrupted");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            joined.get().unsubscribe(listener);
+        }
+    }
+    
+    // Queries every source, then scores, sorts and records what came back
+    private List<JobPosting> fetch(SearchFilters filters, SourceListener listener) {
         logger.info("╔════════════════════════════════════════════════════════════╗");
         logger.info("║  STARTING JOB SEARCH");
         logger.info("║  Search Terms: '{}'", filters.getSearchTerms());
@@ -43,80 +188,55 @@ public WebScraper() {
         logger.info("║  Experience: {}", filters.getExperienceLevel());
         logger.info("╚════════════════════════════════════════════════════════════╝");
         
-        List<CompletableFuture<List<JobPosting>>> futures = new ArrayList<>();
+        Map<String, CompletableFuture<List<JobPosting>>> futures = new LinkedHashMap<>();
         
         // API-based sources (most reliable)
-        futures.add(CompletableFuture.supplyAsync(() -> 
-            safeSearch("Adzuna API", () -> apiClient.searchAdzuna(filters))));
+        futures.put("Adzuna API", searchSource("Adzuna API", 0, () -> apiClient.searchAdzuna(filters)));
         
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            delay(1000); // Respectful delay
-            return safeSearch("Remotive API", () -> apiClient.searchRemotiveAPI(filters));
-        }));
+        futures.put("Remotive API", searchSource("Remotive API", 1000, // Respectful delay
+            () -> apiClient.searchRemotiveAPI(filters)));
         
         // Static HTML sources
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            delay(1500);
-            return safeSearch("HackerNews", () -> hnScraper.scrapeWhoIsHiring(filters));
-        }));
-        
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            delay(2000);
-            return safeSearch("WeWorkRemotely", () -> weWorkScraper.scrape(filters));
-        }));
+        futures.put("HackerNews", searchSource("HackerNews", 1500, () -> hnScraper.scrapeWhoIsHiring(filters)));
+        futures.put("WeWorkRemotely", searchSource("WeWorkRemotely", 2000, () -> weWorkScraper.scrape(filters)));
+        futures.put("PowerToFly", searchSource("PowerToFly", 2500, () -> powerToFlyScraper.scrape(filters)));
+        futures.put("Crunchboard", searchSource("Crunchboard", 3000, () -> crunchboardScraper.scrape(filters)));
+        futures.put("Indeed", searchSource("Indeed", 3500, () -> indeedScraper.scrape(filters)));
         
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            delay(2500);
-            return safeSearch("PowerToFly", () -> powerToFlyScraper.scrape(filters));
-        }));
+        // LinkedIn and Dice try a plain HTTP fetch first and only fall back to
+        // a browser when that is blocked or empty. A real browser cannot be
+        // pointed at the replay server, so offline runs use the HTTP path only.
+        // Browser fallbacks are keyed by the query they load, so searches that
+        // differ only in filters applied afterwards share one page.
+        futures.put("LinkedIn", hybridSource("LinkedIn", () -> linkedInHttpScraper.scrape(filters),
+            scraper -> scraper.scrapeLinkedInJobs(filters),
+            SeleniumScraper.linkedInQuery(filters) + "|new=" + filters.isNewOnly()));
+        futures.put("Dice", hybridSource("Dice", () -> diceHttpScraper.scrape(filters),
+            scraper -> scraper.scrapeDice(filters),
+            SeleniumScraper.diceQuery(filters) + "|new=" + filters.isNewOnly()));
         
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            delay(3000);
-            return safeSearch("Crunchboard", () -> crunchboardScraper.scrape(filters));
-        }));
-
-        futures.add(CompletableFuture.supplyAsync(() -> {
-    delay(3500);
-    return safeSearch("Indeed", () -> indeedScraper.scrape(filters));
-}));
-        
-        // Selenium-based sources (if available)
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            List<JobPosting> seleniumJobs = new ArrayList<>();
-            try {
-                seleniumScraper = new SeleniumScraper();
-                
-                seleniumJobs.addAll(safeSearch("LinkedIn", () -> 
-                    seleniumScraper.scrapeLinkedInJobs(filters)));
-                
-                delay(3000); // Delay between Selenium scrapes
-                
-                seleniumJobs.addAll(safeSearch("Dice", () -> 
-                    seleniumScraper.scrapeDice(filters)));
-                
-                return seleniumJobs;
-            } catch (Exception e) {
-                logger.warn("Selenium scraping error: {}", e.getMessage());
-                return seleniumJobs;
-            } finally {
-                if (seleniumScraper != null) {
-                    seleniumScraper.close();
-                }
-            }
-        }));
+        if (listener != null) {
+            futures.forEach((source, future) -> 
+                future.thenAccept(jobs -> notifySource(listener, filters, source, jobs)));
+        }
         
         // Wait for all scrapers with timeout
         CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-            futures.toArray(new CompletableFuture[0]));
+            futures.values().toArray(new CompletableFuture[0]));
         
         try {
             allFutures.get(90, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            // Every caller of this search has gone; sources already running
+            // finish in the background but nothing is scored or saved
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Search abandoned");
         } catch (Exception e) {
             logger.error("Timeout or error waiting for scrapers: {}", e.getMessage());
         }
         
         // Collect all results
-        List<JobPosting> allJobs = futures.stream()
+        List<JobPosting> allJobs = futures.values().stream()
             .map(CompletableFuture::join)
             .flatMap(List::stream)
             .filter(Objects::nonNull)
@@ -127,30 +247,211 @@ public WebScraper() {
         logger.info("TOTAL JOBS COLLECTED: {}", allJobs.size());
         logger.info("────────────────────────────────────────────────────────────");
         
-        // Log source breakdown
-        Map<String, Long> sourceBreakdown = allJobs.stream()
-            .collect(Collectors.groupingBy(JobPosting::getSource, Collectors.counting()));
+        // Past here the search is kept even if every caller leaves, so a
+        // late cancellation is not let through to the writes below
+        if (Thread.interrupted()) {
+            throw new CancellationException("Search abandoned");
+        }
         
-        sourceBreakdown.forEach((source, count) -> 
+        // Score, then rank and count by source over the columns
+        allJobs.forEach(job -> analyzer.scoreJob(job, filters.getSearchTerms()));
+        JobResultSet results = JobResultSet.of(allJobs);
+        int[] rows = results.all();
+        
+        results.countBySource(rows).forEach((source, count) -> 
             logger.info("  • {}: {} jobs", source, count));
         
         logger.info("────────────────────────────────────────────────────────────");
         
-        // Score and sort
-        allJobs.forEach(job -> analyzer.scoreJob(job, filters.getSearchTerms()));
-        allJobs.sort((a, b) -> {
-            int scoreA = a.getRelevanceScore() + a.getReputabilityScore();
-            int scoreB = b.getRelevanceScore() + b.getReputabilityScore();
-            return Integer.compare(scoreB, scoreA);
-        });
+        allJobs = results.postings(results.sortByScore(rows));
         
         logger.info("✓ Jobs scored and sorted");
-        logger.info("✓ Returning {} total jobs", allJobs.size());
+        store(filters, allJobs);
+        return allJobs;
+    }
+    
+    // Partial results are scored and filtered like the final list, but not
+    // marked seen; that happens once, when the search completes
+    private void notifySource(SourceListener listener, SearchFilters filters, String source,
+                              List<JobPosting> jobs) {
+        List<JobPosting> partial = jobs.stream()
+            .filter(Objects::nonNull)
+            .filter(job -> job.getTitle() != null && !job.getTitle().isEmpty())
+            .collect(Collectors.toList());
+        if (filters.isNewOnly()) {
+            partial.removeIf(SeenPostings.getInstance()::isSeen);
+        }
+        partial.forEach(job -> analyzer.scoreJob(job, filters.getSearchTerms()));
+        partial.sort(BY_SCORE);
+        listener.onSource(source, partial);
+    }
+    
+    // Applies the new-only filter to a result list. When marking seen, every
+    // posting is marked, so ones that keep showing up stay known for
+    // another year.
+    private List<JobPosting> present(SearchFilters filters, List<JobPosting> allJobs) {
+        SeenPostings seen = SeenPostings.getInstance();
+        List<JobPosting> jobs = new ArrayList<>(allJobs);
+        if (filters.isNewOnly()) {
+            jobs.removeIf(seen::isSeen);
+            logger.info("✓ {} of {} postings are new since the last search", jobs.size(), allJobs.size());
+        }
+        if (markSeen) {
+            seen.markSeen(allJobs);
+        }
+        
+        logger.info("✓ Returning {} total jobs", jobs.size());
         logger.info("════════════════════════════════════════════════════════════\n");
+        return jobs;
+    }
+    
+    // Saves to history and the result cache on RESULT_WRITER and waits for
+    // it; an interrupt meanwhile is held until the write is done
+    private void store(SearchFilters filters, List<JobPosting> jobs) {
+        Future<?> stored = RESULT_WRITER.submit(() -> {
+            try {
+                int added = JobStore.getInstance().putAll(jobs);
+                logger.info("✓ Saved to job history ({} new postings)", added);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not save results to job history: {}", e.getMessage());
+            }
+            // A new-only fetch drops known postings early, so its list is partial
+            if (!filters.isNewOnly()) {
+                cache.put(filters, jobs);
+            }
+        });
+        boolean interrupted = false;
+        while (true) {
+            try {
+                stored.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                logger.warn("Could not store results: {}", e.getCause().getMessage());
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // Skips the source instantly (no politeness delay, no timeout) while its
+    // circuit is open
+    private CompletableFuture<List<JobPosting>> searchSource(String source, long delayMs,
+                                                             SearchFunction searchFunc) {
+        long quotaWaitMs = admit(source);
+        if (quotaWaitMs < 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            delay(Math.max(delayMs, quotaWaitMs));
+            return safeSearch(source, searchFunc);
+        });
+    }
+    
+    private CompletableFuture<List<JobPosting>> hybridSource(String source, SearchFunction httpFunc,
+                                                             BrowserSearchFunction browserFunc,
+                                                             String browserQuery) {
+        long quotaWaitMs = admit(source);
+        if (quotaWaitMs < 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> safeSearch(source, () -> {
+            delay(quotaWaitMs);
+            List<JobPosting> jobs = httpFunc.search();
+            // Cards that were all seen before are still an answer; the
+            // browser would only find the same ones
+            if (!jobs.isEmpty() || ScrapedJobs.skippedSeen(jobs) > 0) {
+                logger.info("✓ {} served over HTTP", source);
+                metrics.increment("source." + source + ".path.http");
+                return jobs;
+            }
+            if (HttpTraffic.isOffline()) {
+                return jobs;
+            }
+            logger.info("→ {} falling back to browser", source);
+            metrics.increment("source." + source + ".path.browser");
+            // Scrapers hand their lists on to be scored, so each caller
+            // copies; the copy keeps the skip count safeSearch reads
+            List<JobPosting> shared = SharedFetches.coalesce("browser:" + source + "|" + browserQuery,
+                () -> browserSearch(source, browserFunc));
+            return new ScrapedJobs(shared, ScrapedJobs.skippedSeen(shared));
+        }));
+    }
+    
+    // How long to wait before querying the source, or -1 to skip it. A
+    // half-open circuit's probe is handed back when the source is skipped
+    // for its quota, or the circuit would stay waiting on a probe that never
+    // ran.
+    private long admit(String source) {
+        if (!health.allowRequest(source)) {
+            logger.info("⊘ Skipping {} (circuit open)", source);
+            return -1;
+        }
+        long quotaWaitMs = reserveSlot(source);
+        if (quotaWaitMs < 0) {
+            health.releaseProbe(source);
+        }
+        return quotaWaitMs;
+    }
+    
+    // Takes the source's next rate-limit slot and returns how long to wait
+    // for it, or -1 to skip the source this time. Replayed traffic never
+    // reaches the real board, so it is not counted.
+    private long reserveSlot(String source) {
+        if (HttpTraffic.isOffline()) {
+            return 0;
+        }
+        long waitMs = quotas.reserve(source, MAX_QUOTA_WAIT_MS);
+        if (waitMs < 0) {
+            logger.info("⊘ Skipping {} (monthly quota used up)", source);
+            metrics.increment("source." + source + ".quota.exhausted");
+        } else if (waitMs > MAX_QUOTA_WAIT_MS) {
+            // Too far off to wait for; nothing was reserved
+            logger.info("⊘ Skipping {} (rate limited, next slot in {}s)", source, waitMs / 1000);
+            metrics.increment("source." + source + ".quota.deferred");
+            return -1;
+        }
+        return waitMs;
+    }
+    
+    // Each Selenium source gets its own pooled browser session. A WebDriver
+    // session executes commands one at a time, so tabs in one session would
+    // not actually run in parallel. Per-source permits cap how many pages of
+    // one board are open across concurrent searches.
+    private List<JobPosting> searchWithBrowser(String source, BrowserSearchFunction searchFunc) 
+            throws Exception {
+        Semaphore permits = BROWSER_PERMITS.computeIfAbsent(source, s -> new Semaphore(
+            Integer.getInteger("jobsearch.selenium." + s.toLowerCase() + ".maxConcurrent", 1)));
+        permits.acquire();
         
-        return allJobs;
+        SeleniumScraper scraper = null;
+        try {
+            scraper = new SeleniumScraper();
+            return searchFunc.search(scraper);
+        } finally {
+            if (scraper != null) {
+                scraper.close();
+            }
+            permits.release();
+        }
     }
     
+    private List<JobPosting> browserSearch(String source, BrowserSearchFunction searchFunc)
+            throws IOException {
+        try {
+            return searchWithBrowser(source, searchFunc);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    // The one place a source's outcome is recorded: scrapers throw on a
+    // block or failure and return what they found otherwise
     private List<JobPosting> safeSearch(String source, SearchFunction searchFunc) {
         try {
             logger.info("→ Starting search from: {}", source);
@@ -159,16 +460,44 @@ public WebScraper() {
             List<JobPosting> results = searchFunc.search();
             
             long duration = System.currentTimeMillis() - startTime;
-            logger.info("✓ {} returned {} jobs in {}ms", source, results.size(), duration);
+            int skipped = ScrapedJobs.skippedSeen(results);
+            logger.info("✓ {} returned {} jobs in {}ms ({} already seen)", 
+                source, results.size(), duration, skipped);
             
+            // A board whose postings were all seen before is healthy, not empty
+            if (results.isEmpty() && skipped == 0) {
+                health.recordEmpty(source);
+            } else {
+                health.recordSuccess(source);
+            }
             return results;
+        } catch (SourceBlockedException e) {
+            logger.warn("⊘ {} blocked the request: {}", source, e.getMessage());
+            health.recordBlocked(source, e.getReason());
+            return new ArrayList<>();
+        } catch (InterruptedException e) {
+            // Cancelled, not a verdict on the source; if this was a
+            // half-open probe, the next search probes instead
+            Thread.currentThread().interrupt();
+            health.releaseProbe(source);
+            return new ArrayList<>();
         } catch (Exception e) {
+            // I/O aborted by a cancel surfaces as an IOException instead
+            if (Thread.currentThread().isInterrupted()) {
+                health.releaseProbe(source);
+                return new ArrayList<>();
+            }
             logger.error("✗ Error searching {}: {}", source, e.getMessage());
+            health.recordFailure(source, e.getMessage());
             return new ArrayList<>();
         }
     }
     
     private void delay(long milliseconds) {
+        // Politeness delays protect real boards; the replay server needs none
+        if (HttpTraffic.isOffline()) {
+            return;
+        }
         try {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
@@ -176,8 +505,55 @@ public WebScraper() {
         }
     }
     
+    // Receives one source's scored postings while the search is running.
+    // Coalesced searches hand the same list to every listener, so listeners
+    // must not modify it.
+    @FunctionalInterface
+    public interface SourceListener {
+        void onSource(String source, List<JobPosting> jobs);
+    }
+    
+    // Partial results of one in-flight search, passed on to every caller
+    // sharing it. Callers that join late are first replayed the sources
+    // that have already finished.
+    private static final class SourceFanout implements SourceListener {
+        private final Map<String, List<JobPosting>> delivered = new LinkedHashMap<>();
+        private final List<SourceListener> listeners = new ArrayList<>();
+        
+        synchronized void subscribe(SourceListener listener) {
+            if (listener == null) {
+                return;
+            }
+            delivered.forEach((source, jobs) -> deliver(listener, source, jobs));
+            listeners.add(listener);
+        }
+        
+        synchronized void unsubscribe(SourceListener listener) {
+            listeners.remove(listener);
+        }
+        
+        @Override
+        public synchronized void onSource(String source, List<JobPosting> jobs) {
+            delivered.put(source, jobs);
+            listeners.forEach(listener -> deliver(listener, source, jobs));
+        }
+        
+        private static void deliver(SourceListener listener, String source, List<JobPosting> jobs) {
+            try {
+                listener.onSource(source, jobs);
+            } catch (RuntimeException e) {
+                logger.warn("Partial-result listener failed for {}: {}", source, e.getMessage());
+            }
+        }
+    }
+    
     @FunctionalInterface
     private interface SearchFunction {
         List<JobPosting> search() throws Exception;
     }
+    
+    @FunctionalInterface
+    private interface BrowserSearchFunction {
+        List<JobPosting> search(SeleniumScraper scraper) throws Exception;
+    }
 }
\ No newline at end of file
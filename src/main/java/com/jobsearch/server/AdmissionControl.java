@@ -0,0 +1,62 @@
+package com.jobsearch.server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounds the searches running at once and the callers waiting for a slot.
+// Once the queue is full a caller is turned away immediately, so overload
+// shows up as a fast 503 instead of requests piling up behind slow boards.
+final class AdmissionControl {
+    private final int maxRunning;
+    private final int maxQueued;
+    private final long queueTimeoutMs;
+    private final Semaphore running;
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    AdmissionControl(int maxRunning, int maxQueued, long queueTimeoutMs) {
+        this.maxRunning = maxRunning;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.running = new Semaphore(maxRunning, true);
+    }
+    
+    // Returns false if the caller should be rejected; on true the caller
+    // must release() when done
+    boolean acquire() throws InterruptedException {
+        // The untimed tryAcquire barges past queued callers even on a fair
+        // semaphore; a zero timeout honours the queue
+        if (running.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return running.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+    
+    void release() {
+        running.release();
+    }
+    
+    int running() {
+        return maxRunning - running.availablePermits();
+    }
+    
+    int queued() {
+        return queued.get();
+    }
+    
+    int maxRunning() {
+        return maxRunning;
+    }
+    
+    int maxQueued() {
+        return maxQueued;
+    }
+}
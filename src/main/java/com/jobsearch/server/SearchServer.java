@@ -0,0 +1,368 @@
+package com.jobsearch.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.jobsearch.health.LatencyTracker;
+import com.jobsearch.metrics.Histogram;
+import com.jobsearch.metrics.MetricsRegistry;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.schedule.SearchScheduler;
+import com.jobsearch.scraper.ChromeSessionPool;
+import com.jobsearch.scraper.WebScraper;
+import com.jobsearch.store.ResultCache;
+import com.jobsearch.utils.JobJson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Serves searches over HTTP so several people and tools share one warm
+// engine (browser pool, result cache, circuit breakers) instead of each
+// running the app. Endpoints, all GET:
+//
+//   /search?terms=..&workModel=..&city=..&state=..&experience=..&newOnly=..
+//           &markSeen=..   ranked results as one JSON document; what is
+//                    returned is recorded as seen when markSeen is true,
+//                    which defaults to newOnly
+//   /search/stream   same parameters; Server-Sent Events, one "source" event
+//                    per board as it finishes, then "done" with the ranking
+//   /metrics         admission state, server latency, counters, histograms
+//   /health
+//
+//   Main --server [--host 127.0.0.1] [--port 8080] [--max-concurrent 4]
+//                 [--max-queued 16] [--queue-timeout seconds]
+public class SearchServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SearchServer.class);
+    private static final Gson gson = new Gson();
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AdmissionControl admission;
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    // Own instance so server timings stay apart from upstream fetch timings
+    private final LatencyTracker latency = new LatencyTracker();
+    
+    public SearchServer(String host, int port, int maxConcurrent, int maxQueued, long queueTimeoutMs)
+            throws IOException {
+        this.admission = new AdmissionControl(maxConcurrent, maxQueued, queueTimeoutMs);
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 256);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "search-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/search", exchange -> handleSearch(exchange, false));
+        server.createContext("/search/stream", exchange -> handleSearch(exchange, true));
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/health", exchange -> {
+            try {
+                respond(exchange, 200, "text/plain", "ok");
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        SearchServer server = new SearchServer(
+            options.getOrDefault("host", "127.0.0.1"),
+            Integer.parseInt(options.getOrDefault("port", "8080")),
+            Integer.parseInt(options.getOrDefault("max-concurrent", "4")),
+            Integer.parseInt(options.getOrDefault("max-queued", "16")),
+            Long.parseLong(options.getOrDefault("queue-timeout", "30")) * 1000);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "search-server-close"));
+        
+        // Shared by every client: saved searches keep the cache warm and the
+        // browser is ready before the first LinkedIn/Dice fallback
+        ChromeSessionPool.getInstance().warmUpAsync();
+        SearchScheduler.getInstance().start();
+        Thread.currentThread().join();
+    }
+    
+    public SearchServer start() {
+        server.start();
+        logger.info("Search server listening on {} (max {} running, {} queued)",
+            getBaseUrl(), admission.maxRunning(), admission.maxQueued());
+        return this;
+    }
+    
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+    
+    private void handleSearch(HttpExchange exchange, boolean stream) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respondJson(exchange, 405, error("Use GET"));
+                return;
+            }
+            JsonObject params = queryParams(exchange);
+            SearchFilters filters;
+            try {
+                filters = JobJson.toFilters(params);
+            } catch (IllegalArgumentException e) {
+                respondJson(exchange, 400, error(e.getMessage()));
+                return;
+            }
+            // Seen postings are shared by every client, so only searches that
+            // use them record to them unless the caller says otherwise
+            boolean markSeen = params.has("markSeen")
+                ? Boolean.parseBoolean(JobJson.string(params, "markSeen"))
+                : filters.isNewOnly();
+            
+            long start = System.nanoTime();
+            boolean admitted;
+            try {
+                admitted = admission.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                admitted = false;
+            }
+            if (!admitted) {
+                metrics.increment("server.search.rejected");
+                exchange.getResponseHeaders().set("Retry-After", "5");
+                respondJson(exchange, 503, error("Too many searches in progress, retry shortly"));
+                return;
+            }
+            latency.record("search", "queue", elapsedMs(start));
+            metrics.increment("server.search.admitted");
+            
+            try {
+                boolean cached = ResultCache.getInstance().get(filters) != null;
+                if (cached) {
+                    metrics.increment("server.search.cached");
+                }
+                WebScraper scraper = new WebScraper();
+                scraper.setMarkSeen(markSeen);
+                if (stream) {
+                    stream(exchange, scraper, filters, cached, start);
+                } else {
+                    List<JobPosting> jobs = scraper.searchJobsCached(filters, null, null);
+                    respondJson(exchange, 200, result(jobs, cached, start));
+                }
+                latency.record("search", cached ? "cached" : "live", elapsedMs(start));
+            } finally {
+                admission.release();
+            }
+        } catch (RuntimeException e) {
+            metrics.increment("server.search.errors");
+            logger.error("Search request failed: {}", e.getMessage(), e);
+            try {
+                respondJson(exchange, 500, error("Search failed: " + e.getMessage()));
+            } catch (IOException | RuntimeException ignored) {
+                // Headers were already sent
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void stream(HttpExchange exchange, WebScraper scraper, SearchFilters filters, boolean cached,
+                        long start) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        EventStream events = new EventStream(exchange.getResponseBody());
+        
+        AtomicBoolean firstResult = new AtomicBoolean();
+        WebScraper.SourceListener listener = (source, jobs) -> {
+            JsonObject data = new JsonObject();
+            data.addProperty("source", source);
+            data.addProperty("count", jobs.size());
+            data.add("jobs", JobJson.toJson(jobs));
+            if (events.send("source", data) && !jobs.isEmpty() && firstResult.compareAndSet(false, true)) {
+                latency.record("search", "first-result", elapsedMs(start));
+            }
+        };
+        try {
+            List<JobPosting> jobs = scraper.searchJobsCached(filters, listener, null);
+            events.finish("done", result(jobs, cached, start));
+        } catch (RuntimeException e) {
+            metrics.increment("server.search.errors");
+            logger.error("Streaming search failed: {}", e.getMessage(), e);
+            events.finish("error", error("Search failed: " + e.getMessage()));
+        }
+    }
+    
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            JsonObject admissionJson = new JsonObject();
+            admissionJson.addProperty("running", admission.running());
+            admissionJson.addProperty("queued", admission.queued());
+            admissionJson.addProperty("maxRunning", admission.maxRunning());
+            admissionJson.addProperty("maxQueued", admission.maxQueued());
+            
+            JsonObject json = new JsonObject();
+            json.add("admission", admissionJson);
+            json.add("latencyMs", percentiles(latency.snapshot()));
+            json.add("upstreamLatencyMs", percentiles(LatencyTracker.getInstance().snapshot()));
+            json.add("counters", gson.toJsonTree(metrics.counters()));
+            json.add("histogramsMs", histograms(metrics.histograms()));
+            respondJson(exchange, 200, json);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    // LatencyTracker snapshots are {p50, p95, p99, samples}; -1 until enough samples
+    private static JsonObject percentiles(Map<String, long[]> snapshot) {
+        JsonObject json = new JsonObject();
+        snapshot.forEach((key, values) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("p50", values[0]);
+            entry.addProperty("p95", values[1]);
+            entry.addProperty("p99", values[2]);
+            entry.addProperty("samples", values[3]);
+            json.add(key, entry);
+        });
+        return json;
+    }
+    
+    // Bucket keys are upper bounds in ms ("+inf" for the last)
+    private static JsonObject histograms(Map<String, Histogram> histograms) {
+        long[] bounds = Histogram.bounds();
+        JsonObject json = new JsonObject();
+        histograms.forEach((name, histogram) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("count", histogram.count());
+            entry.addProperty("mean", histogram.mean());
+            entry.addProperty("p50", histogram.percentile(50));
+            entry.addProperty("p99", histogram.percentile(99));
+            entry.addProperty("max", histogram.max());
+            JsonObject buckets = new JsonObject();
+            long[] counts = histogram.bucketCounts();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    buckets.addProperty(i < bounds.length ? String.valueOf(bounds[i]) : "+inf", counts[i]);
+                }
+            }
+            entry.add("buckets", buckets);
+            json.add(name, entry);
+        });
+        return json;
+    }
+    
+    private static JsonObject result(List<JobPosting> jobs, boolean cached, long start) {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", jobs.size());
+        json.addProperty("cached", cached);
+        json.addProperty("tookMs", elapsedMs(start));
+        json.add("jobs", JobJson.toJson(jobs));
+        return json;
+    }
+    
+    private static JsonObject error(String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("error", message);
+        return json;
+    }
+    
+    private static JsonObject queryParams(HttpExchange exchange) {
+        JsonObject params = new JsonObject();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.addProperty(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        return params;
+    }
+    
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+    
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+    
+    private static void respondJson(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        respond(exchange, status, "application/json; charset=utf-8", gson.toJson(body));
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Search server stopped");
+    }
+    
+    // Server-Sent Events over the chunked response body. Sources finish on
+    // different threads, so writes are serialized; once the client goes away
+    // or the final event is sent, later events are dropped.
+    private static final class EventStream {
+        private final OutputStream out;
+        private boolean closed;
+        
+        EventStream(OutputStream out) {
+            this.out = out;
+        }
+        
+        synchronized boolean send(String event, JsonObject data) {
+            if (closed) {
+                return false;
+            }
+            try {
+                out.write(("event: " + event + "\ndata: " + gson.toJson(data) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                return true;
+            } catch (IOException e) {
+                logger.debug("Event stream client went away: {}", e.getMessage());
+                closed = true;
+                return false;
+            }
+        }
+        
+        synchronized void finish(String event, JsonObject data) {
+            send(event, data);
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Client already gone
+            }
+        }
+    }
+}
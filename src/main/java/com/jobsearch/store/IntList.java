@@ -0,0 +1,32 @@
+package com.jobsearch.store;
+
+import java.util.Arrays;
+
+// Growable int array for index postings; avoids an Integer per entry
+final class IntList {
+    private int[] values = new int[4];
+    private int size;
+    
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+    
+    // Skips the append when value was the last one added, which is the
+    // common case for an entry re-indexed under the same key
+    void addIfNotLast(int value) {
+        if (size == 0 || values[size - 1] != value) {
+            add(value);
+        }
+    }
+    
+    int get(int index) {
+        return values[index];
+    }
+    
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,964 @@
+package com.jobsearch.store;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.utils.AppDirs;
+import com.jobsearch.utils.UrlCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Persistent history of every posting the scrapers have returned, keyed by
+// canonical URL. Writes append to the newest numbered segment file; older
+// segments never change and are merged by a background compaction once
+// most of their bytes have been superseded. The key map and the secondary
+// indexes (source, company, posted date, last-seen date, title terms) are
+// held in memory and rebuilt at startup from per-segment hint files, so a
+// query only touches disk to load the postings it returns.
+public class JobStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JobStore.class);
+    
+    static final long SEGMENT_BYTES = Long.getLong("jobsearch.store.segmentBytes", 64L * 1024 * 1024);
+    static final double COMPACT_DEAD_RATIO = 0.5;
+    static final int COMPACT_SEGMENT_COUNT = 16;
+    // An unchanged re-sighting only refreshes last-seen this often
+    static final long TOUCH_INTERVAL_MS = 10 * 60 * 1000L;
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    private static final int[] NO_TERMS = new int[0];
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^a-z0-9+#]+");
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "a", "an", "and", "at", "for", "in", "of", "on", "or", "the", "to", "with"
+    ));
+    
+    private static JobStore instance;
+    
+    private final Path dir;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<Integer, Long> liveBytes = new HashMap<>();
+    private Segment active;
+    private DataOutputStream activeHints;
+    private int activeHintCount;
+    
+    private final Map<String, Entry> byKey = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, IntList> bySource = new HashMap<>();
+    private final Map<String, IntList> byCompany = new HashMap<>();
+    private final TreeMap<Integer, IntList> byPostedDay = new TreeMap<>();
+    private final TreeMap<Integer, IntList> bySeenDay = new TreeMap<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<IntList> byTerm = new ArrayList<>();
+    // Sources and companies repeat across thousands of postings
+    private final Map<String, String> names = new HashMap<>();
+    
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "jobstore-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // Held for a whole compaction, so a call from a tool waits for a
+    // background run instead of rewriting the same segments alongside it
+    private final Object compactionLock = new Object();
+    private boolean closed;
+    
+    private JobStore(Path dir) {
+        this.dir = dir;
+    }
+    
+    // Opens the store under the data directory on first use; a failed open
+    // is retried on the next call
+    public static synchronized JobStore getInstance() throws IOException {
+        if (instance == null) {
+            JobStore store = open(AppDirs.dataFile("jobstore"));
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close, "jobstore-close"));
+            instance = store;
+        }
+        return instance;
+    }
+    
+    public static JobStore open(Path dir) throws IOException {
+        JobStore store = new JobStore(dir);
+        store.load();
+        return store;
+    }
+    
+    // Returns the number of postings that were not in the store before
+    public int putAll(Collection<JobPosting> jobs) throws IOException {
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long now = System.currentTimeMillis();
+            for (JobPosting job : jobs) {
+                String key = UrlCanonicalizer.canonicalize(job.getUrl());
+                if (key == null) {
+                    continue;
+                }
+                // Postings that fell back to a board's landing page are told
+                // apart by title and company, the same way in every batch
+                if (UrlCanonicalizer.isLandingPage(key)) {
+                    key = sharedUrlKey(key, job);
+                }
+                Entry entry = byKey.get(key);
+                int contentHash = RecordCodec.contentHash(job);
+                if (entry != null && entry.contentHash == contentHash) {
+                    if (now - entry.lastSeen >= TOUCH_INTERVAL_MS) {
+                        RecordCodec.Record touch = new RecordCodec.Record();
+                        touch.type = RecordCodec.TOUCH;
+                        touch.key = key;
+                        touch.lastSeen = now;
+                        append(RecordCodec.encodeTouch(key, now), touch);
+                    }
+                    continue;
+                }
+                
+                RecordCodec.Record put = new RecordCodec.Record();
+                put.type = RecordCodec.PUT;
+                put.key = key;
+                put.lastSeen = now;
+                put.firstSeen = entry != null ? entry.firstSeen : now;
+                put.contentHash = contentHash;
+                put.source = job.getSource();
+                put.company = job.getCompany();
+                put.title = job.getTitle();
+                put.postedDay = RecordCodec.epochDay(job.getPostedDate());
+                append(RecordCodec.encodePut(key, put.firstSeen, now, contentHash, job), put);
+                if (entry == null) {
+                    added++;
+                }
+            }
+            activeHints.flush();
+            active.channel.force(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        maybeCompact();
+        return added;
+    }
+    
+    public boolean put(JobPosting job) throws IOException {
+        return putAll(Collections.singletonList(job)) > 0;
+    }
+    
+    public JobPosting get(String url) throws IOException {
+        String key = UrlCanonicalizer.canonicalize(url);
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            Entry entry = key != null ? byKey.get(key) : null;
+            return entry != null ? read(entry) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public boolean contains(String url) {
+        String key = UrlCanonicalizer.canonicalize(url);
+        lock.readLock().lock();
+        try {
+            return key != null && byKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public Query query() {
+        return new Query();
+    }
+    
+    // Criteria are ANDed. Results come back most recently seen first.
+    public final class Query {
+        private String source;
+        private String company;
+        private int postedSinceDay = RecordCodec.NO_DATE;
+        private long seenSince = Long.MIN_VALUE;
+        private List<String> terms = Collections.emptyList();
+        private int limit = Integer.MAX_VALUE;
+        
+        private Query() {
+        }
+        
+        public Query source(String source) {
+            this.source = source.toLowerCase(Locale.ROOT);
+            return this;
+        }
+        
+        public Query company(String company) {
+            this.company = companyKey(company);
+            return this;
+        }
+        
+        public Query postedSince(LocalDate date) {
+            this.postedSinceDay = (int) date.toEpochDay();
+            return this;
+        }
+        
+        public Query seenWithinDays(int days) {
+            this.seenSince = System.currentTimeMillis() - days * DAY_MS;
+            return this;
+        }
+        
+        // Every term of the text must appear in the title
+        public Query titleTerms(String text) {
+            this.terms = titleTermsOf(text);
+            return this;
+        }
+        
+        public Query limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+        
+        public int count() {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                return matches(this).size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        public List<JobPosting> list() throws IOException {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                List<Entry> matched = mostRecent(matches(this), limit);
+                List<JobPosting> jobs = new ArrayList<>(matched.size());
+                for (Entry entry : matched) {
+                    jobs.add(read(entry));
+                }
+                return jobs;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        // Like list, but returns only the matches' ids (4 bytes each), for
+        // paging through a large result with read(ids, from, to)
+        public int[] ids() {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                List<Entry> matched = mostRecent(matches(this), limit);
+                int[] ids = new int[matched.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = matched.get(i).id;
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+    
+    // Loads ids[from, to) from Query.ids(). Ids stay valid for the life of
+    // the store; a posting updated since returns its latest version.
+    public List<JobPosting> read(int[] ids, int from, int to) throws IOException {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            List<JobPosting> jobs = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                jobs.add(read(entries.get(ids[i])));
+            }
+            return jobs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Rewrites the live records of every sealed segment into one segment.
+    // Runs in the background after writes; public for tools and tests.
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            compactSegments();
+        }
+    }
+    
+    private void compactSegments() throws IOException {
+        List<Segment> inputs = new ArrayList<>();
+        List<Move> moves = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            for (Segment segment : segments.values()) {
+                if (segment != active) {
+                    inputs.add(segment);
+                }
+            }
+            if (inputs.isEmpty()) {
+                return;
+            }
+            Map<Integer, Segment> inputIds = new HashMap<>();
+            inputs.forEach(segment -> inputIds.put(segment.id, segment));
+            for (Entry entry : entries) {
+                Segment segment = inputIds.get(entry.segment);
+                if (segment != null) {
+                    moves.add(new Move(entry, segment, entry.offset, entry.length, entry.lastSeen));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // Reusing the newest input's number keeps replay order intact: the
+        // result still sorts before the active segment
+        long start = System.currentTimeMillis();
+        int targetId = inputs.get(inputs.size() - 1).id;
+        Path tempLog = temp(segmentPath(targetId));
+        Path tempHint = temp(hintPath(targetId));
+        try {
+            writeCompacted(moves, tempLog, tempHint);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempLog);
+            Files.deleteIfExists(tempHint);
+            throw e;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                Files.deleteIfExists(tempLog);
+                Files.deleteIfExists(tempHint);
+                return;
+            }
+            long before = 0;
+            for (Segment segment : inputs) {
+                before += segment.size;
+                segment.channel.close();
+                segments.remove(segment.id);
+                liveBytes.remove(segment.id);
+            }
+            // Without a hint the log is rescanned, so a crash between these
+            // steps never pairs a hint with the wrong log
+            Files.deleteIfExists(hintPath(targetId));
+            Files.move(tempLog, segmentPath(targetId), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tempHint, hintPath(targetId), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            for (Segment segment : inputs) {
+                if (segment.id != targetId) {
+                    Files.deleteIfExists(segment.path);
+                    Files.deleteIfExists(hintPath(segment.id));
+                }
+            }
+            
+            Segment compacted = openSegment(targetId);
+            segments.put(targetId, compacted);
+            long live = 0;
+            for (Move move : moves) {
+                Entry entry = move.entry;
+                // Entries rewritten to the active segment meanwhile keep their newer copy
+                if (entry.segment == move.segment.id && entry.offset == move.offset && move.newLength > 0) {
+                    entry.segment = targetId;
+                    entry.offset = move.newOffset;
+                    entry.length = move.newLength;
+                    live += move.newLength;
+                }
+            }
+            liveBytes.put(targetId, live);
+            logger.info("Compacted {} segments: {} KB -> {} KB in {} ms", inputs.size(),
+                before / 1024, compacted.size / 1024, System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void close() {
+        compactor.shutdown();
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (active.size == 0) {
+                activeHints.close();
+                active.channel.close();
+                segments.remove(active.id);
+                Files.deleteIfExists(active.path);
+                Files.deleteIfExists(hintPath(active.id));
+            } else {
+                RecordCodec.writeHintEnd(activeHints, activeHintCount);
+                activeHints.close();
+                active.channel.force(true);
+            }
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing job store: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    static List<String> titleTermsOf(String title) {
+        if (title == null) {
+            return Collections.emptyList();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        // Keep + and # so C++ and C# survive as terms
+        for (String token : TERM_SEPARATOR.split(title.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+    
+    // Canonical URLs never keep a fragment, so these cannot collide with one
+    static String sharedUrlKey(String urlKey, JobPosting job) {
+        String title = job.getTitle() == null ? "" : job.getTitle().trim().toLowerCase(Locale.ROOT);
+        String company = job.getCompany() == null ? "" : companyKey(job.getCompany());
+        return urlKey + "#" + title + "|" + company;
+    }
+    
+    static String companyKey(String company) {
+        return company == null ? null : company.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private void load() throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(dir);
+        // An interrupted compaction leaves its output behind; its inputs are intact
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(dir, "*.compact")) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(dir, "segment-*.log")) {
+            for (Path log : logs) {
+                String name = log.getFileName().toString();
+                ids.add(Integer.parseInt(name.substring("segment-".length(), name.length() - ".log".length())));
+            }
+        }
+        Collections.sort(ids);
+        
+        for (int id : ids) {
+            Segment segment = openSegment(id);
+            segments.put(id, segment);
+            if (!loadHints(segment)) {
+                scanSegment(segment);
+            }
+        }
+        startSegment(ids.isEmpty() ? 1 : ids.get(ids.size() - 1) + 1);
+        logger.info("Job store opened: {} postings in {} segments ({} ms)",
+            byKey.size(), segments.size() - 1, System.currentTimeMillis() - start);
+    }
+    
+    private boolean loadHints(Segment segment) throws IOException {
+        Path hints = hintPath(segment.id);
+        if (!Files.exists(hints) || !sealed(hints)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(hints), 1 << 16))) {
+            RecordCodec.Record record;
+            while ((record = RecordCodec.readHint(in)) != null) {
+                apply(record, segment.id);
+            }
+        }
+        return true;
+    }
+    
+    private static boolean sealed(Path hints) throws IOException {
+        try (FileChannel channel = FileChannel.open(hints, StandardOpenOption.READ)) {
+            if (channel.size() < 13) {
+                return false;
+            }
+            ByteBuffer tail = ByteBuffer.allocate(8);
+            channel.read(tail, channel.size() - 8);
+            tail.flip();
+            return tail.getLong() == RecordCodec.HINT_MAGIC;
+        }
+    }
+    
+    // Replays a segment with no usable hint file, drops a torn tail left by
+    // a crash mid-write, and writes the hint file for next time
+    private void scanSegment(Segment segment) throws IOException {
+        Path tempHint = temp(hintPath(segment.id));
+        long offset = 0;
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                 Files.newInputStream(segment.path), 1 << 16));
+             DataOutputStream hints = new DataOutputStream(new BufferedOutputStream(
+                 Files.newOutputStream(tempHint), 1 << 16))) {
+            while (offset + RecordCodec.HEADER_BYTES <= segment.size) {
+                int payloadLength = in.readInt();
+                if (payloadLength <= 0 || offset + RecordCodec.HEADER_BYTES + payloadLength > segment.size) {
+                    break;
+                }
+                byte[] framed = new byte[RecordCodec.HEADER_BYTES + payloadLength];
+                ByteBuffer.wrap(framed).putInt(payloadLength);
+                in.readFully(framed, 4, framed.length - 4);
+                RecordCodec.Record record = RecordCodec.decode(framed);
+                if (record == null) {
+                    break;
+                }
+                record.offset = offset;
+                apply(record, segment.id);
+                RecordCodec.writeHint(hints, record);
+                count++;
+                offset += framed.length;
+            }
+            RecordCodec.writeHintEnd(hints, count);
+        } catch (EOFException e) {
+            // Same as a torn record: keep what was read up to offset
+        }
+        
+        if (offset < segment.size) {
+            logger.warn("Truncating {} at {} of {} bytes (incomplete record)",
+                segment.path.getFileName(), offset, segment.size);
+            segment.channel.truncate(offset);
+            segment.size = offset;
+            // The hint written above stops at the same record
+        }
+        Files.move(tempHint, hintPath(segment.id), StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    private void append(byte[] framed, RecordCodec.Record record) throws IOException {
+        record.offset = active.size;
+        record.length = framed.length;
+        write(active.channel, framed, active.size);
+        active.size += framed.length;
+        RecordCodec.writeHint(activeHints, record);
+        activeHintCount++;
+        apply(record, active.id);
+        if (active.size >= SEGMENT_BYTES) {
+            roll();
+        }
+    }
+    
+    private void roll() throws IOException {
+        RecordCodec.writeHintEnd(activeHints, activeHintCount);
+        activeHints.close();
+        active.channel.force(true);
+        startSegment(active.id + 1);
+    }
+    
+    private void startSegment(int id) throws IOException {
+        active = openSegment(id);
+        segments.put(id, active);
+        activeHints = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(hintPath(id)), 1 << 16));
+        activeHintCount = 0;
+    }
+    
+    private void writeCompacted(List<Move> moves, Path tempLog, Path tempHint) throws IOException {
+        try (FileChannel out = FileChannel.open(tempLog, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream hints = new DataOutputStream(new BufferedOutputStream(
+                 Files.newOutputStream(tempHint), 1 << 16))) {
+            long position = 0;
+            int count = 0;
+            for (Move move : moves) {
+                RecordCodec.Record record = RecordCodec.decode(
+                    readFramed(move.segment, move.offset, move.length));
+                if (record == null || record.type != RecordCodec.PUT) {
+                    logger.warn("Skipping unreadable record in {} at {}",
+                        move.segment.path.getFileName(), move.offset);
+                    continue;
+                }
+                // Fold any TOUCHes into the copy so they can be dropped
+                record.lastSeen = move.lastSeen;
+                byte[] framed = RecordCodec.encodePut(record.key, record.firstSeen, record.lastSeen,
+                    record.contentHash, record.job);
+                write(out, framed, position);
+                record.offset = position;
+                record.length = framed.length;
+                RecordCodec.writeHint(hints, record);
+                move.newOffset = position;
+                move.newLength = framed.length;
+                position += framed.length;
+                count++;
+            }
+            RecordCodec.writeHintEnd(hints, count);
+            hints.flush();
+            out.force(true);
+        }
+    }
+    
+    private void maybeCompact() {
+        boolean due;
+        lock.readLock().lock();
+        try {
+            due = !closed && compactionDue();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (due && compacting.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | IllegalStateException e) {
+                    logger.warn("Job store compaction failed: {}", e.getMessage());
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+    
+    private boolean compactionDue() {
+        int sealed = 0;
+        long total = 0;
+        long live = 0;
+        for (Segment segment : segments.values()) {
+            if (segment != active) {
+                sealed++;
+                total += segment.size;
+                live += liveBytes.getOrDefault(segment.id, 0L);
+            }
+        }
+        return sealed >= COMPACT_SEGMENT_COUNT
+            || (sealed > 0 && total - live > total * COMPACT_DEAD_RATIO);
+    }
+    
+    private void apply(RecordCodec.Record record, int segmentId) {
+        if (record.type == RecordCodec.TOUCH) {
+            Entry entry = byKey.get(record.key);
+            if (entry != null) {
+                setLastSeen(entry, record.lastSeen);
+            }
+            return;
+        }
+        
+        Entry entry = byKey.get(record.key);
+        if (entry == null) {
+            entry = new Entry(entries.size());
+            entries.add(entry);
+            byKey.put(record.key, entry);
+        } else {
+            liveBytes.merge(entry.segment, (long) -entry.length, Long::sum);
+        }
+        entry.segment = segmentId;
+        entry.offset = record.offset;
+        entry.length = record.length;
+        liveBytes.merge(segmentId, (long) record.length, Long::sum);
+        entry.firstSeen = record.firstSeen;
+        entry.contentHash = record.contentHash;
+        
+        // Lists only ever grow; a value that changes leaves a stale id behind
+        // in the old list, which queries filter out against the entry itself
+        String source = intern(record.source == null ? null : record.source.toLowerCase(Locale.ROOT));
+        if (!Objects.equals(source, entry.source)) {
+            entry.source = source;
+            if (source != null) {
+                bySource.computeIfAbsent(source, k -> new IntList()).addIfNotLast(entry.id);
+            }
+        }
+        String company = intern(companyKey(record.company));
+        if (!Objects.equals(company, entry.company)) {
+            entry.company = company;
+            if (company != null) {
+                byCompany.computeIfAbsent(company, k -> new IntList()).addIfNotLast(entry.id);
+            }
+        }
+        if (record.postedDay != entry.postedDay) {
+            entry.postedDay = record.postedDay;
+            if (record.postedDay != RecordCodec.NO_DATE) {
+                byPostedDay.computeIfAbsent(record.postedDay, k -> new IntList()).addIfNotLast(entry.id);
+            }
+        }
+        int[] terms = termIds(titleTermsOf(record.title));
+        if (!Arrays.equals(terms, entry.terms)) {
+            entry.terms = terms;
+            for (int term : terms) {
+                byTerm.get(term).addIfNotLast(entry.id);
+            }
+        }
+        setLastSeen(entry, record.lastSeen);
+    }
+    
+    private void setLastSeen(Entry entry, long lastSeen) {
+        if (lastSeen <= entry.lastSeen) {
+            return;
+        }
+        int day = (int) Math.floorDiv(lastSeen, DAY_MS);
+        if (entry.lastSeen == 0 || day != (int) Math.floorDiv(entry.lastSeen, DAY_MS)) {
+            bySeenDay.computeIfAbsent(day, k -> new IntList()).addIfNotLast(entry.id);
+        }
+        entry.lastSeen = lastSeen;
+    }
+    
+    private int[] termIds(List<String> terms) {
+        if (terms.isEmpty()) {
+            return NO_TERMS;
+        }
+        int[] ids = new int[terms.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = termIds.computeIfAbsent(terms.get(i), term -> {
+                byTerm.add(new IntList());
+                return byTerm.size() - 1;
+            });
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+    
+    private String intern(String name) {
+        return name == null ? null : names.computeIfAbsent(name, k -> k);
+    }
+    
+    // Starts from the smallest candidate list among the criteria and checks
+    // the rest against each entry
+    private List<Entry> matches(Query query) {
+        List<Collection<IntList>> candidates = new ArrayList<>();
+        if (query.source != null) {
+            candidates.add(listOrEmpty(bySource.get(query.source)));
+        }
+        if (query.company != null) {
+            candidates.add(listOrEmpty(byCompany.get(query.company)));
+        }
+        int[] terms = new int[query.terms.size()];
+        for (int i = 0; i < terms.length; i++) {
+            Integer id = termIds.get(query.terms.get(i));
+            if (id == null) {
+                return new ArrayList<>();
+            }
+            terms[i] = id;
+            candidates.add(Collections.singletonList(byTerm.get(id)));
+        }
+        if (query.postedSinceDay != RecordCodec.NO_DATE) {
+            candidates.add(byPostedDay.tailMap(query.postedSinceDay).values());
+        }
+        if (query.seenSince != Long.MIN_VALUE) {
+            candidates.add(bySeenDay.tailMap((int) Math.floorDiv(query.seenSince, DAY_MS)).values());
+        }
+        
+        List<Entry> matched = new ArrayList<>();
+        if (candidates.isEmpty()) {
+            for (Entry entry : entries) {
+                matched.add(entry);
+            }
+            return matched;
+        }
+        
+        Collection<IntList> smallest = candidates.get(0);
+        long smallestSize = Long.MAX_VALUE;
+        for (Collection<IntList> lists : candidates) {
+            long size = 0;
+            for (IntList list : lists) {
+                size += list.size();
+            }
+            if (size < smallestSize) {
+                smallest = lists;
+                smallestSize = size;
+            }
+        }
+        
+        BitSet visited = new BitSet(entries.size());
+        for (IntList list : smallest) {
+            for (int i = 0; i < list.size(); i++) {
+                int id = list.get(i);
+                if (!visited.get(id)) {
+                    visited.set(id);
+                    Entry entry = entries.get(id);
+                    if (matches(entry, query, terms)) {
+                        matched.add(entry);
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+    
+    // Keeps only the limit newest in a min-heap instead of sorting every match
+    private static List<Entry> mostRecent(List<Entry> matched, int limit) {
+        Comparator<Entry> byLastSeen = Comparator.comparingLong(e -> e.lastSeen);
+        if (matched.size() <= limit) {
+            matched.sort(byLastSeen.reversed());
+            return matched;
+        }
+        PriorityQueue<Entry> newest = new PriorityQueue<>(limit + 1, byLastSeen);
+        for (Entry entry : matched) {
+            if (newest.size() < limit) {
+                newest.add(entry);
+            } else if (entry.lastSeen > newest.peek().lastSeen) {
+                newest.poll();
+                newest.add(entry);
+            }
+        }
+        List<Entry> result = new ArrayList<>(newest);
+        result.sort(byLastSeen.reversed());
+        return result;
+    }
+    
+    private static boolean matches(Entry entry, Query query, int[] terms) {
+        if (query.source != null && !query.source.equals(entry.source)) {
+            return false;
+        }
+        if (query.company != null && !query.company.equals(entry.company)) {
+            return false;
+        }
+        if (query.postedSinceDay != RecordCodec.NO_DATE
+                && (entry.postedDay == RecordCodec.NO_DATE || entry.postedDay < query.postedSinceDay)) {
+            return false;
+        }
+        if (entry.lastSeen < query.seenSince) {
+            return false;
+        }
+        for (int term : terms) {
+            if (Arrays.binarySearch(entry.terms, term) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Collection<IntList> listOrEmpty(IntList list) {
+        return list != null ? Collections.singletonList(list) : Collections.emptyList();
+    }
+    
+    private JobPosting read(Entry entry) throws IOException {
+        RecordCodec.Record record = RecordCodec.decode(
+            readFramed(segments.get(entry.segment), entry.offset, entry.length));
+        if (record == null || record.job == null) {
+            throw new IOException("Corrupt record in segment " + entry.segment + " at " + entry.offset);
+        }
+        return record.job;
+    }
+    
+    private static byte[] readFramed(Segment segment, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (segment.channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Record past end of " + segment.path.getFileName());
+            }
+        }
+        return buffer.array();
+    }
+    
+    private static void write(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+    
+    private Segment openSegment(int id) throws IOException {
+        Path path = segmentPath(id);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, path, channel, channel.size());
+    }
+    
+    private Path segmentPath(int id) {
+        return dir.resolve(String.format("segment-%06d.log", id));
+    }
+    
+    private Path hintPath(int id) {
+        return dir.resolve(String.format("segment-%06d.hint", id));
+    }
+    
+    private static Path temp(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+    
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Job store is closed");
+        }
+    }
+    
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        long size;
+        
+        Segment(int id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+    
+    // Index-only view of a posting: where its latest record lives plus the
+    // fields queries filter on. The posting itself stays on disk.
+    private static final class Entry {
+        final int id;
+        int segment;
+        long offset;
+        int length;
+        long firstSeen;
+        long lastSeen;
+        int contentHash;
+        String source;
+        String company;
+        int postedDay = RecordCodec.NO_DATE;
+        int[] terms = NO_TERMS;
+        
+        Entry(int id) {
+            this.id = id;
+        }
+    }
+    
+    private static final class Move {
+        final Entry entry;
+        final Segment segment;
+        final long offset;
+        final int length;
+        final long lastSeen;
+        long newOffset;
+        int newLength;
+        
+        Move(Entry entry, Segment segment, long offset, int length, long lastSeen) {
+            this.entry = entry;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
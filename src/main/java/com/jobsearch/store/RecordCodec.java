@@ -0,0 +1,234 @@
+package com.jobsearch.store;
+
+import com.jobsearch.model.JobPosting;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+// Binary layout of segment and hint files.
+//
+// Segment record: int payloadLength, int crc32(payload), payload
+//   payload: byte type, key, long lastSeen, then for PUT the posting. Its
+//   scores are left out: they belong to the query that found it. Records
+//   written before that end with two score ints, which decode ignores.
+// Hint record: the same minus description and other display fields, plus
+//   the record's offset and length in the segment, so the indexes can be
+//   rebuilt on startup without reading the segments themselves. A hint file
+//   is only trusted if it ends with the END marker written when the segment
+//   was sealed.
+final class RecordCodec {
+    static final byte PUT = 1;
+    static final byte TOUCH = 2;
+    static final byte END = 0;
+    static final int HEADER_BYTES = 8;
+    static final long HINT_MAGIC = 0x4A4F425354524531L;
+    static final int NO_DATE = Integer.MIN_VALUE;
+    
+    private RecordCodec() {
+    }
+    
+    // A decoded segment or hint record; job is only set for segment PUTs
+    static final class Record {
+        byte type;
+        String key;
+        long lastSeen;
+        long firstSeen;
+        int contentHash;
+        String source;
+        String company;
+        String title;
+        int postedDay = NO_DATE;
+        long offset;
+        int length;
+        JobPosting job;
+    }
+    
+    static byte[] encodePut(String key, long firstSeen, long lastSeen, int contentHash, JobPosting job) {
+        return frame(out -> {
+            out.writeByte(PUT);
+            writeString(out, key);
+            out.writeLong(lastSeen);
+            out.writeLong(firstSeen);
+            out.writeInt(contentHash);
+            writeString(out, job.getSource());
+            writeString(out, job.getCompany());
+            writeString(out, job.getTitle());
+            writeString(out, job.getLocation());
+            writeString(out, job.getSalary());
+            writeString(out, job.getUrl());
+            writeString(out, job.getDescription());
+            out.writeInt(epochDay(job.getPostedDate()));
+        });
+    }
+    
+    static byte[] encodeTouch(String key, long lastSeen) {
+        return frame(out -> {
+            out.writeByte(TOUCH);
+            writeString(out, key);
+            out.writeLong(lastSeen);
+        });
+    }
+    
+    // Decodes one framed record; returns null if the checksum does not match
+    static Record decode(byte[] framed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(framed);
+        int payloadLength = buffer.getInt();
+        int crc = buffer.getInt();
+        if (payloadLength != framed.length - HEADER_BYTES || crc != crc(framed, HEADER_BYTES, payloadLength)) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(framed, HEADER_BYTES, payloadLength));
+        Record record = new Record();
+        record.type = in.readByte();
+        record.key = readString(in);
+        record.lastSeen = in.readLong();
+        if (record.type == PUT) {
+            record.firstSeen = in.readLong();
+            record.contentHash = in.readInt();
+            JobPosting job = new JobPosting();
+            job.setSource(readString(in));
+            job.setCompany(readString(in));
+            job.setTitle(readString(in));
+            job.setLocation(readString(in));
+            job.setSalary(readString(in));
+            job.setUrl(readString(in));
+            job.setDescription(readString(in));
+            record.postedDay = in.readInt();
+            job.setPostedDate(record.postedDay == NO_DATE ? null : LocalDate.ofEpochDay(record.postedDay));
+            record.source = job.getSource();
+            record.company = job.getCompany();
+            record.title = job.getTitle();
+            record.job = job;
+        }
+        record.length = framed.length;
+        return record;
+    }
+    
+    static void writeHint(DataOutput out, Record record) throws IOException {
+        out.writeByte(record.type);
+        writeString(out, record.key);
+        out.writeLong(record.lastSeen);
+        if (record.type == PUT) {
+            out.writeLong(record.offset);
+            out.writeInt(record.length);
+            out.writeLong(record.firstSeen);
+            out.writeInt(record.contentHash);
+            writeString(out, record.source);
+            writeString(out, record.company);
+            out.writeInt(record.postedDay);
+            writeString(out, record.title);
+        }
+    }
+    
+    static void writeHintEnd(DataOutput out, int count) throws IOException {
+        out.writeByte(END);
+        out.writeInt(count);
+        out.writeLong(HINT_MAGIC);
+    }
+    
+    // Returns null at the END marker
+    static Record readHint(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type == END) {
+            return null;
+        }
+        Record record = new Record();
+        record.type = type;
+        record.key = readString(in);
+        record.lastSeen = in.readLong();
+        if (type == PUT) {
+            record.offset = in.readLong();
+            record.length = in.readInt();
+            record.firstSeen = in.readLong();
+            record.contentHash = in.readInt();
+            record.source = readString(in);
+            record.company = readString(in);
+            record.postedDay = in.readInt();
+            record.title = readString(in);
+        }
+        return record;
+    }
+    
+    // Identifies a posting's content so a re-sighting with no changes can be
+    // logged as a TOUCH instead of a full copy, whichever query found it
+    static int contentHash(JobPosting job) {
+        int hash = 17;
+        hash = 31 * hash + hash(job.getTitle());
+        hash = 31 * hash + hash(job.getCompany());
+        hash = 31 * hash + hash(job.getLocation());
+        hash = 31 * hash + hash(job.getSalary());
+        hash = 31 * hash + hash(job.getDescription());
+        hash = 31 * hash + hash(job.getSource());
+        hash = 31 * hash + epochDay(job.getPostedDate());
+        return hash;
+    }
+    
+    static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+    
+    static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+    
+    private static int hash(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+    
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+    
+    private static byte[] frame(PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(0);
+            writer.write(out);
+            out.flush();
+            byte[] framed = bytes.toByteArray();
+            int payloadLength = framed.length - HEADER_BYTES;
+            ByteBuffer.wrap(framed)
+                .putInt(payloadLength)
+                .putInt(crc(framed, HEADER_BYTES, payloadLength));
+            return framed;
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    // Length-prefixed UTF-8; DataOutput.writeUTF caps out at 64KB, which a
+    // long description can exceed
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
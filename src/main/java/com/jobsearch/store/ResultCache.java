@@ -0,0 +1,232 @@
+package com.jobsearch.store;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.utils.AppDirs;
+import com.jobsearch.utils.JobJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Latest scored results per search (SearchFilters.cacheKey), so a search
+// that was run recently, or refreshed by the scheduler, is answered without
+// touching the network. One gzipped JSON file per search in the data dir,
+// which lets a headless scheduler process fill the cache the GUI reads.
+// Postings are written in the JobJson shape used by exports and the search
+// server; files in any other format are ignored and refilled.
+//   -Djobsearch.cache.freshMinutes=N   age after which a hit gets a background top-up (default 30)
+//   -Djobsearch.cache.maxAgeHours=N    age after which an entry is ignored and its file deleted (default 24)
+//   -Djobsearch.cache.maxEntries=N     searches held in memory, least recently used dropped first (default 100)
+public class ResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+    private static final String CACHE_DIR = "result-cache";
+    
+    static final long FRESH_MS = Long.getLong("jobsearch.cache.freshMinutes", 30) * 60_000;
+    static final long MAX_AGE_MS = Long.getLong("jobsearch.cache.maxAgeHours", 24) * 3_600_000;
+    static final int MAX_ENTRIES = Integer.getInteger("jobsearch.cache.maxEntries", 100);
+    private static final long SWEEP_INTERVAL_MS = 60 * 60_000L;
+    
+    private static final int FORMAT = 2;
+    private static final Gson gson = new Gson();
+    
+    private static volatile ResultCache instance;
+    
+    private final Path dir;
+    // Access order, so the least recently used search is dropped first; its
+    // file stays and is read again if the search comes back
+    private final Map<String, Entry> entries = Collections.synchronizedMap(
+        new LinkedHashMap<String, Entry>(MAX_ENTRIES * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResultCache.Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+    
+    ResultCache(Path dir) {
+        this.dir = dir;
+    }
+    
+    public static ResultCache getInstance() {
+        if (instance == null) {
+            synchronized (ResultCache.class) {
+                if (instance == null) {
+                    instance = new ResultCache(AppDirs.dataFile(CACHE_DIR));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    // Returns null when nothing usable is cached for these filters
+    public Entry get(SearchFilters filters) {
+        sweep();
+        String key = filters.cacheKey();
+        Path file = fileFor(key);
+        Entry entry = entries.get(key);
+        try {
+            // Another process may have refreshed the file since it was loaded
+            long modified = Files.exists(file) ? Files.getLastModifiedTime(file).toMillis() : 0;
+            if (modified > 0 && (entry == null || modified > entry.fileTime)) {
+                Entry loaded = read(file);
+                if (loaded != null && key.equals(loaded.key)) {
+                    loaded.fileTime = modified;
+                    entry = loaded;
+                    entries.put(key, entry);
+                }
+            }
+        } catch (IOException | JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            logger.warn("Could not read cached results from {}: {}", file, e.getMessage());
+        }
+        if (entry == null || entry.ageMs() > MAX_AGE_MS) {
+            return null;
+        }
+        return entry;
+    }
+    
+    public void put(SearchFilters filters, List<JobPosting> jobs) {
+        sweep();
+        String key = filters.cacheKey();
+        Entry entry = new Entry(key, System.currentTimeMillis(), new ArrayList<>(jobs));
+        entries.put(key, entry);
+        Path file = fileFor(key);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(
+                    Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                gson.toJson(toJson(entry), writer);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            entry.fileTime = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            logger.warn("Could not save cached results to {}: {}", file, e.getMessage());
+        }
+    }
+    
+    // Drops entries past MAX_AGE_MS from memory and deletes their files, at
+    // most once per SWEEP_INTERVAL_MS. The server and scheduler run for
+    // weeks, and a search nobody repeats would otherwise be kept for good.
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_MS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.ageMs() > MAX_AGE_MS);
+        }
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json.gz*")) {
+            for (Path file : files) {
+                if (now - Files.getLastModifiedTime(file).toMillis() > MAX_AGE_MS && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not clean up cached results in {}: {}", dir, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} expired cached result files", deleted);
+        }
+    }
+    
+    // Null for a file in an older format
+    private static Entry read(Path file) throws IOException {
+        JsonObject json;
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(
+                Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+            json = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        if (!json.has("format") || json.get("format").getAsInt() != FORMAT) {
+            logger.debug("Ignoring cached results in an older format: {}", file);
+            return null;
+        }
+        List<JobPosting> jobs = new ArrayList<>();
+        for (JsonElement job : json.getAsJsonArray("jobs")) {
+            jobs.add(JobJson.fromJson(job.getAsJsonObject()));
+        }
+        return new Entry(JobJson.string(json, "key"), json.get("fetchedAt").getAsLong(), jobs);
+    }
+    
+    private static JsonObject toJson(Entry entry) {
+        JsonObject json = new JsonObject();
+        json.addProperty("format", FORMAT);
+        json.addProperty("key", entry.key);
+        json.addProperty("fetchedAt", entry.fetchedAt);
+        json.add("jobs", JobJson.toJson(entry.jobs));
+        return json;
+    }
+    
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                name.append(String.format("%02x", digest[i]));
+            }
+            return dir.resolve(name + ".json.gz");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    public static final class Entry {
+        private final String key;
+        private final long fetchedAt;
+        private final List<JobPosting> jobs;
+        // Modification time of the file this entry matches
+        private long fileTime;
+        
+        Entry(String key, long fetchedAt, List<JobPosting> jobs) {
+            this.key = key;
+            this.fetchedAt = fetchedAt;
+            this.jobs = jobs;
+        }
+        
+        public long getFetchedAt() { return fetchedAt; }
+        
+        // Callers filter and re-sort results, so each gets its own list
+        public List<JobPosting> getJobs() {
+            return jobs == null ? Collections.emptyList() : new ArrayList<>(jobs);
+        }
+        
+        public long ageMs() {
+            return System.currentTimeMillis() - fetchedAt;
+        }
+        
+        public boolean isStale() {
+            return ageMs() > FRESH_MS;
+        }
+    }
+}
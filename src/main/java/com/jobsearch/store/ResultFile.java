@@ -0,0 +1,112 @@
+package com.jobsearch.store;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.utils.JobJson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A JSON Lines result file (an export or batch output) opened for random
+// access. Opening makes one pass to note where each posting's line starts;
+// after that any range of postings is one positional read. Only the line
+// offsets (8 bytes per posting) stay in memory.
+public class ResultFile implements AutoCloseable {
+    private static final int SCAN_BUFFER_BYTES = 1 << 16;
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final long[] starts;
+    private final int size;
+    private final long end;
+    
+    private ResultFile(Path path, FileChannel channel, long[] starts, int size, long end) {
+        this.path = path;
+        this.channel = channel;
+        this.starts = starts;
+        this.size = size;
+        this.end = end;
+    }
+    
+    public static ResultFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long[] starts = new long[1024];
+            int count = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+            long position = 0;
+            boolean atLineStart = true;
+            while (channel.read(buffer, position) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        atLineStart = true;
+                    } else if (atLineStart && b != '\r' && b != ' ' && b != '\t') {
+                        // Blank lines get no entry
+                        if (count == starts.length) {
+                            starts = Arrays.copyOf(starts, count * 2);
+                        }
+                        starts[count++] = position + buffer.position() - 1;
+                        atLineStart = false;
+                    }
+                }
+                position += buffer.limit();
+                buffer.clear();
+            }
+            return new ResultFile(path, channel, starts, count, position);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    // Postings [from, to); a line that is not a posting comes back as a
+    // placeholder so row numbers stay aligned
+    public List<JobPosting> read(int from, int to) throws IOException {
+        long start = starts[from];
+        long stop = to < size ? starts[to] : end;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (stop - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException(path.getFileName() + " was truncated");
+            }
+        }
+        String text = new String(buffer.array(), StandardCharsets.UTF_8);
+        List<JobPosting> jobs = new ArrayList<>(to - from);
+        for (String line : text.split("\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                jobs.add(JobJson.fromJson(JsonParser.parseString(line).getAsJsonObject()));
+            } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+                JobPosting unreadable = new JobPosting();
+                unreadable.setTitle("(unreadable line)");
+                jobs.add(unreadable);
+            }
+        }
+        return jobs;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,276 @@
+package com.jobsearch.store;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.utils.AppDirs;
+import com.jobsearch.utils.UrlCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Remembers which postings have already been returned, for "new since last
+// run" searches. Canonical URLs and title/company fingerprints go into
+// Bloom filters: a membership check is a fixed number of bit probes and the
+// file never grows. Filters rotate monthly (or early once full) and the
+// oldest is dropped, so a year of history costs GENERATIONS fixed-size
+// filters and a posting unseen for a year reads as new again. A false
+// positive hides a new posting; each generation is sized for 0.1%.
+public class SeenPostings {
+    private static final Logger logger = LoggerFactory.getLogger(SeenPostings.class);
+    private static final String STATE_FILE = "seen-postings.bin";
+    private static final int MAGIC = 0x5345454E;
+    
+    static final int GENERATIONS = 12;
+    static final long GENERATION_MS = 30L * 24 * 60 * 60 * 1000;
+    public static final int GENERATION_CAPACITY = Integer.getInteger("jobsearch.seen.capacity", 50_000);
+    public static final double FALSE_POSITIVE_RATE = 0.001;
+    
+    // What scrapers fill in when a card names no company; two postings that
+    // share one of these share nothing
+    private static final Set<String> PLACEHOLDER_COMPANIES = new HashSet<>(Arrays.asList(
+        "seeposting", "notspecified", "unknown", "na", "confidential", "various"));
+    
+    private static volatile SeenPostings instance;
+    
+    private final Path stateFile;
+    private final int words;
+    private final int hashes;
+    // Newest first
+    private final Deque<Generation> generations = new ArrayDeque<>();
+    
+    SeenPostings(Path stateFile, int capacity) {
+        this.stateFile = stateFile;
+        long bits = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.words = (int) ((bits + 63) / 64);
+        this.hashes = Math.max(1, (int) Math.round((double) words * 64 / capacity * Math.log(2)));
+        load();
+    }
+    
+    public static SeenPostings getInstance() {
+        if (instance == null) {
+            synchronized (SeenPostings.class) {
+                if (instance == null) {
+                    instance = new SeenPostings(AppDirs.dataFile(STATE_FILE), GENERATION_CAPACITY);
+                }
+            }
+        }
+        return instance;
+    }
+    
+    // A filter kept in stateFile instead of the data directory, for tools
+    public static SeenPostings open(Path stateFile) {
+        return new SeenPostings(stateFile, GENERATION_CAPACITY);
+    }
+    
+    // URL-only check, cheap enough to run on a card before parsing it
+    public synchronized boolean isSeen(String url) {
+        String key = urlKey(url);
+        return key != null && contains("u:" + key);
+    }
+    
+    // A posting is known if its URL was seen, or the same title at the same
+    // company was, e.g. a repost under a new URL or on another board
+    public synchronized boolean isSeen(JobPosting job) {
+        String key = urlKey(job.getUrl());
+        if (key != null && contains("u:" + key)) {
+            return true;
+        }
+        String fingerprint = fingerprint(job);
+        return fingerprint != null && contains("f:" + fingerprint);
+    }
+    
+    public void markSeen(Collection<JobPosting> jobs) {
+        synchronized (this) {
+            // A URL shared by several postings of one batch identifies none
+            // of them either, even if it is not a known landing page
+            Map<String, Integer> urlCounts = new HashMap<>();
+            for (JobPosting job : jobs) {
+                String key = urlKey(job.getUrl());
+                if (key != null) {
+                    urlCounts.merge(key, 1, Integer::sum);
+                }
+            }
+            for (JobPosting job : jobs) {
+                String key = urlKey(job.getUrl());
+                if (key != null && urlCounts.get(key) == 1) {
+                    add("u:" + key);
+                }
+                String fingerprint = fingerprint(job);
+                if (fingerprint != null) {
+                    add("f:" + fingerprint);
+                }
+            }
+        }
+        save();
+    }
+    
+    // Null for a board landing page a scraper fell back to: marking it would
+    // hide every later posting on that board without a link of its own, so
+    // those postings are known by their fingerprint alone
+    private static String urlKey(String url) {
+        String key = UrlCanonicalizer.canonicalize(url);
+        return UrlCanonicalizer.isLandingPage(key) ? null : key;
+    }
+    
+    static String fingerprint(JobPosting job) {
+        String title = normalize(job.getTitle());
+        String company = normalize(job.getCompany());
+        if (title.isEmpty() || company.isEmpty() || PLACEHOLDER_COMPANIES.contains(company)) {
+            return null;
+        }
+        return title + "|" + company;
+    }
+    
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (char c : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+    
+    private boolean contains(String item) {
+        long[] hash = hash(item);
+        for (Generation generation : generations) {
+            if (generation.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void add(String item) {
+        long[] hash = hash(item);
+        Generation newest = generations.peekFirst();
+        long now = System.currentTimeMillis();
+        if (newest == null || newest.count >= GENERATION_CAPACITY
+                || now - newest.createdAt >= GENERATION_MS) {
+            newest = new Generation(now, new long[words]);
+            generations.addFirst(newest);
+            while (generations.size() > GENERATIONS) {
+                generations.removeLast();
+            }
+        }
+        if (!newest.mightContain(hash)) {
+            newest.put(hash);
+        }
+    }
+    
+    // Two 64-bit hashes of the UTF-8 bytes; probes are h1 + i * h2 (Kirsch-Mitzenmacher)
+    private static long[] hash(String item) {
+        long h1 = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h1 ^= b & 0xff;
+            h1 *= 0x100000001b3L;
+        }
+        long h2 = h1 ^ (h1 >>> 33);
+        h2 *= 0xff51afd7ed558ccdL;
+        h2 ^= h2 >>> 33;
+        h2 *= 0xc4ceb9fe1a85ec53L;
+        h2 ^= h2 >>> 33;
+        return new long[] { h1, h2 | 1 };
+    }
+    
+    private final class Generation {
+        final long createdAt;
+        final long[] bits;
+        int count;
+        
+        Generation(long createdAt, long[] bits) {
+            this.createdAt = createdAt;
+            this.bits = bits;
+        }
+        
+        boolean mightContain(long[] hash) {
+            long size = (long) bits.length * 64;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], size);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        void put(long[] hash) {
+            long size = (long) bits.length * 64;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], size);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            count++;
+        }
+    }
+    
+    private void load() {
+        if (!Files.exists(stateFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(stateFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != words || in.readInt() != hashes) {
+                logger.warn("Seen-postings filter in {} has a different size, starting a new one", stateFile);
+                return;
+            }
+            int count = in.readInt();
+            for (int g = 0; g < count; g++) {
+                Generation generation = new Generation(in.readLong(), new long[words]);
+                generation.count = in.readInt();
+                for (int i = 0; i < words; i++) {
+                    generation.bits[i] = in.readLong();
+                }
+                generations.addLast(generation);
+            }
+            logger.info("Loaded seen-postings filter ({} generations)", generations.size());
+        } catch (IOException e) {
+            generations.clear();
+            logger.warn("Could not read seen postings from {}: {}", stateFile, e.getMessage());
+        }
+    }
+    
+    private synchronized void save() {
+        Path temp = stateFile.resolveSibling(STATE_FILE + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(words);
+                out.writeInt(hashes);
+                out.writeInt(generations.size());
+                for (Generation generation : generations) {
+                    out.writeLong(generation.createdAt);
+                    out.writeInt(generation.count);
+                    for (long word : generation.bits) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save seen postings to {}: {}", stateFile, e.getMessage());
+        }
+    }
+}
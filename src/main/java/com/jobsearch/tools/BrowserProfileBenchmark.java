@@ -0,0 +1,107 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.scraper.BrowserProfile;
+import com.jobsearch.scraper.ChromeSessionPool;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Compares page-load time and Chrome memory with the LEAN and FULL browser
+// profiles. RSS is summed over the chromedriver/Chrome processes started by
+// this JVM and read from /proc, so memory figures need Linux.
+//
+//   BrowserProfileBenchmark [--rounds N] [url ...]
+public class BrowserProfileBenchmark {
+    private static final String[] DEFAULT_URLS = {
+        "https://www.linkedin.com/jobs/search/?keywords=software%20engineer&location=",
+        "https://www.dice.com/jobs?q=software%20engineer&pageSize=25"
+    };
+    
+    public static void main(String[] args) throws Exception {
+        int rounds = 3;
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--rounds") && i + 1 < args.length) {
+                rounds = Integer.parseInt(args[++i]);
+            } else {
+                urls.add(args[i]);
+            }
+        }
+        if (urls.isEmpty()) {
+            urls.addAll(Arrays.asList(DEFAULT_URLS));
+        }
+        
+        System.out.printf("%-6s %-60s %10s %10s %10s %10s%n", 
+            "profile", "url", "domReadyMs", "loadMs", "wallMs", "rssMB");
+        for (BrowserProfile profile : BrowserProfile.values()) {
+            WebDriver driver = ChromeSessionPool.createDriver(profile);
+            try {
+                for (String url : urls) {
+                    long[] totals = new long[3];
+                    for (int round = 0; round < rounds; round++) {
+                        driver.get("about:blank");
+                        profile.applyTo(driver);
+                        long start = System.nanoTime();
+                        driver.get(url);
+                        long wall = (System.nanoTime() - start) / 1_000_000;
+                        long[] timing = navigationTiming(driver);
+                        totals[0] += timing[0];
+                        totals[1] += timing[1];
+                        totals[2] += wall;
+                    }
+                    System.out.printf("%-6s %-60s %10d %10d %10d %10d%n",
+                        profile, abbreviate(url), totals[0] / rounds, totals[1] / rounds, 
+                        totals[2] / rounds, browserRssKb() / 1024);
+                }
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+    
+    // [domContentLoaded, loadEventEnd] relative to navigation start; load
+    // may be 0 under LEAN because driver.get() returns before onload
+    private static long[] navigationTiming(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(
+            "var t = performance.timing;"
+            + "return [Math.max(0, t.domContentLoadedEventEnd - t.navigationStart),"
+            + "        Math.max(0, t.loadEventEnd - t.navigationStart)];");
+        List<?> values = (List<?>) result;
+        return new long[] {
+            ((Number) values.get(0)).longValue(), ((Number) values.get(1)).longValue()
+        };
+    }
+    
+    private static long browserRssKb() {
+        long total = 0;
+        for (ProcessHandle process : (Iterable<ProcessHandle>) ProcessHandle.current().descendants()::iterator) {
+            total += rssKb(process.pid());
+        }
+        return total;
+    }
+    
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"), 
+                    StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or not on Linux
+        }
+        return 0;
+    }
+    
+    private static String abbreviate(String url) {
+        return url.length() <= 60 ? url : url.substring(0, 57) + "...";
+    }
+}
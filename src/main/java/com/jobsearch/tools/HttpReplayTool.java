@@ -0,0 +1,117 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.http.HttpArchive;
+import com.jobsearch.http.HttpTraffic;
+import com.jobsearch.http.ReplayServer;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.scraper.WebScraper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Captures live traffic into an archive, or benchmarks the full search
+// pipeline against a replay of that archive with no network access.
+//
+//   record <archive> <search terms...>
+//   replay <archive> [--iterations N] [--latency ms] [--jitter ms]
+//          [--error-rate 0.0-1.0] [--seed N] [--terms "search terms"]
+public class HttpReplayTool {
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            usage();
+            return;
+        }
+        
+        Path archivePath = Paths.get(args[1]);
+        if (args[0].equals("record")) {
+            record(archivePath, String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+        } else if (args[0].equals("replay")) {
+            replay(archivePath, parseOptions(Arrays.copyOfRange(args, 2, args.length)));
+        } else {
+            usage();
+        }
+    }
+    
+    private static void record(Path archivePath, String terms) {
+        if (terms.isEmpty()) {
+            terms = "software engineer";
+        }
+        HttpTraffic.startRecording(archivePath);
+        List<JobPosting> jobs = new WebScraper().searchJobs(filtersFor(terms));
+        HttpTraffic.saveRecording();
+        System.out.printf("Recorded search for '%s' (%d jobs) into %s%n", terms, jobs.size(), archivePath);
+    }
+    
+    private static void replay(Path archivePath, Map<String, String> options) throws Exception {
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "10"));
+        long latency = Long.parseLong(options.getOrDefault("latency", "0"));
+        long jitter = Long.parseLong(options.getOrDefault("jitter", "0"));
+        double errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String terms = options.getOrDefault("terms", "software engineer");
+        
+        HttpArchive archive = HttpArchive.load(archivePath);
+        // Keep circuit breaker state from stub runs out of the real data dir
+        if (System.getProperty("jobsearch.dataDir") == null) {
+            System.setProperty("jobsearch.dataDir", 
+                Files.createTempDirectory("jobsearch-" + "replay").toString());
+        }
+        try (ReplayServer server = new ReplayServer(archive, 0, seed)
+                .withLatency(latency, jitter)
+                .withErrorRate(errorRate)
+                .start()) {
+            HttpTraffic.useReplayServer(server.getBaseUrl());
+            
+            long[] durations = new long[iterations];
+            int lastCount = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                lastCount = new WebScraper().searchJobs(filtersFor(terms)).size();
+                durations[i] = (System.nanoTime() - start) / 1_000_000;
+            }
+            
+            Arrays.sort(durations);
+            System.out.printf("Replayed %d searches for '%s' -> %d jobs each%n", iterations, terms, lastCount);
+            System.out.printf("  min %dms  p50 %dms  p95 %dms  max %dms%n",
+                durations[0], percentile(durations, 50), percentile(durations, 95), 
+                durations[durations.length - 1]);
+            System.out.printf("  served %d  misses %d  injected errors %d%n",
+                server.getServedCount(), server.getMissCount(), server.getInjectedErrorCount());
+        } finally {
+            HttpTraffic.goLive();
+        }
+    }
+    
+    private static SearchFilters filtersFor(String terms) {
+        SearchFilters filters = new SearchFilters();
+        filters.setSearchTerms(terms);
+        return filters;
+    }
+    
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+    
+    private static void usage() {
+        System.out.println("Usage:");
+        System.out.println("  record <archive> <search terms...>");
+        System.out.println("  replay <archive> [--iterations N] [--latency ms] [--jitter ms] "
+            + "[--error-rate 0.0-1.0] [--seed N] [--terms \"search terms\"]");
+    }
+}
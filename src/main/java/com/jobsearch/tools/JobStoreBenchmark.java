@@ -0,0 +1,133 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.store.JobStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+// Fills a JobStore with synthetic postings and times writes, reopening
+// (index rebuild from hint files), indexed queries and compaction.
+//
+//   --postings N   postings to insert (default 1000000)
+//   --batch N      postings per putAll, like one search (default 200)
+//   --dir path     store directory (default: a new temp directory)
+//   --seed N
+public class JobStoreBenchmark {
+    private static final String[] SOURCES = {
+        "LinkedIn", "Dice", "Indeed", "Adzuna API", "Remotive API", "HackerNews", "WeWorkRemotely"
+    };
+    private static final String[] ROLES = {
+        "Software Engineer", "Java Developer", "Data Analyst", "Backend Engineer",
+        "Platform Engineer", "Frontend Developer", "Site Reliability Engineer", "C++ Developer"
+    };
+    private static final String[] LEVELS = { "Senior", "Junior", "Staff", "Lead", "Principal", "" };
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int postings = Integer.parseInt(options.getOrDefault("postings", "1000000"));
+        int batch = Integer.parseInt(options.getOrDefault("batch", "200"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        Path dir = options.containsKey("dir")
+            ? Paths.get(options.get("dir"))
+            : Files.createTempDirectory("jobsearch-store");
+        
+        JobStore store = JobStore.open(dir);
+        long start = System.nanoTime();
+        List<JobPosting> pending = new ArrayList<>(batch);
+        for (int i = 0; i < postings; i++) {
+            pending.add(posting(i, random));
+            if (pending.size() == batch) {
+                store.putAll(pending);
+                pending.clear();
+            }
+        }
+        store.putAll(pending);
+        report("insert", start, postings);
+        
+        // Re-sighting the same postings only appends TOUCH records
+        start = System.nanoTime();
+        random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        pending.clear();
+        for (int i = 0; i < postings / 10; i++) {
+            pending.add(posting(i, random));
+        }
+        store.putAll(pending);
+        report("re-sight 10%", start, pending.size());
+        store.close();
+        
+        start = System.nanoTime();
+        JobStore reopened = JobStore.open(dir);
+        report("reopen", start, reopened.size());
+        
+        time("source", () -> reopened.query().source("Dice").limit(50).list().size());
+        time("company", () -> reopened.query().company("Company 4242").list().size());
+        time("terms", () -> reopened.query().titleTerms("staff c++").limit(50).list().size());
+        time("seen 7 days", () -> reopened.query().seenWithinDays(7).limit(100).list().size());
+        time("posted+source", () -> reopened.query()
+            .postedSince(LocalDate.now().minusDays(3)).source("LinkedIn").count());
+        time("terms count", () -> reopened.query().titleTerms("java developer").count());
+        
+        start = System.nanoTime();
+        reopened.compact();
+        report("compact", start, reopened.size());
+        reopened.close();
+        System.out.printf("store directory: %s (%d MB)%n", dir, directorySize(dir) / (1024 * 1024));
+    }
+    
+    private static JobPosting posting(int i, Random random) {
+        JobPosting job = new JobPosting();
+        String level = LEVELS[random.nextInt(LEVELS.length)];
+        job.setTitle((level + " " + ROLES[random.nextInt(ROLES.length)]).trim());
+        job.setCompany("Company " + random.nextInt(50_000));
+        job.setSource(SOURCES[random.nextInt(SOURCES.length)]);
+        job.setLocation(random.nextBoolean() ? "Remote" : "New York, NY");
+        job.setPostedDate(LocalDate.now().minusDays(random.nextInt(60)));
+        job.setUrl("https://jobs.example.com/view/" + i + "?utm_source=bench&trk=" + random.nextInt(100));
+        job.setDescription("Synthetic posting " + i + " for benchmarking the job store. "
+            + "Builds services in Java and SQL, works with a distributed team.");
+        return job;
+    }
+    
+    private static void time(String name, Callable<Integer> query) throws Exception {
+        // First run warms the JIT and the page cache
+        query.call();
+        int rounds = 20;
+        long start = System.nanoTime();
+        int results = 0;
+        for (int i = 0; i < rounds; i++) {
+            results = query.call();
+        }
+        double avgMs = (System.nanoTime() - start) / 1e6 / rounds;
+        System.out.printf("query %-14s %8.2f ms  (%d results)%n", name, avgMs, results);
+    }
+    
+    private static void report(String phase, long startNanos, int count) {
+        double ms = (System.nanoTime() - startNanos) / 1e6;
+        System.out.printf("%-20s %8.0f ms  %,d postings  (%,.0f/s)%n",
+            phase, ms, count, count / Math.max(ms / 1000, 0.001));
+    }
+    
+    private static long directorySize(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
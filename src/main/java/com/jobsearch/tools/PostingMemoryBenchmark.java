@@ -0,0 +1,128 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.model.JobPosting;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Measures the heap retained per JobPosting: builds postings shaped like
+// scraped ones (every value a fresh string, as a parser produces them;
+// descriptions as HTML) and compares used heap after a full GC with and
+// without them held. Also times getDescription(), which decodes on each
+// call. Run with a fixed heap (-Xms = -Xmx) for steadier numbers.
+//
+//   --postings N           postings to hold (default 100000)
+//   --description-bytes N  approximate description size (default 4000)
+//   --seed N
+public class PostingMemoryBenchmark {
+    private static final String[] SOURCES = {
+        "LinkedIn", "Dice", "Indeed", "Adzuna API", "Remotive API", "HackerNews", "WeWorkRemotely"
+    };
+    private static final String[] ROLES = {
+        "Software Engineer", "Java Developer", "Data Analyst", "Backend Engineer",
+        "Platform Engineer", "Frontend Developer", "Site Reliability Engineer", "C++ Developer"
+    };
+    private static final String[] LOCATIONS = {
+        "Remote", "Not specified", "See posting", "New York, NY", "Austin, TX", "Hybrid", "San Francisco, CA"
+    };
+    private static final String[] SALARIES = {
+        "N/A", "$120,000 - $150,000", "$90k-$110k", "$55/hr", "Competitive", "$140,000"
+    };
+    private static final String[] WORDS = (
+        "we are looking for an experienced engineer to join our team you will build and operate services "
+        + "in java kotlin and sql on aws with kubernetes work closely with product and design own features "
+        + "end to end mentor junior engineers requirements include five years of experience strong "
+        + "communication skills and a passion for quality benefits include health dental vision 401k "
+        + "unlimited pto remote friendly culture equity competitive salary").split(" ");
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int postings = Integer.parseInt(options.getOrDefault("postings", "100000"));
+        int descriptionBytes = Integer.parseInt(options.getOrDefault("description-bytes", "4000"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        
+        long before = usedHeapAfterGc();
+        long start = System.nanoTime();
+        List<JobPosting> jobs = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) {
+            jobs.add(posting(i, random, descriptionBytes));
+        }
+        double buildMs = (System.nanoTime() - start) / 1e6;
+        long after = usedHeapAfterGc();
+        
+        long retained = after - before - 4L * postings;
+        System.out.printf("postings      %,d (descriptions ~%,d bytes)%n", postings, descriptionBytes);
+        System.out.printf("build         %8.0f ms (%,.0f/s)%n", buildMs, postings / (buildMs / 1000));
+        System.out.printf("retained      %,d MB, %,d bytes per posting%n",
+            retained / (1024 * 1024), retained / postings);
+        
+        start = System.nanoTime();
+        long chars = 0;
+        for (JobPosting job : jobs) {
+            chars += job.getDescription().length();
+        }
+        double decodeMs = (System.nanoTime() - start) / 1e6;
+        System.out.printf("descriptions  %8.0f ms to read all (%.1f us each, %,d chars)%n",
+            decodeMs, decodeMs * 1000 / postings, chars);
+    }
+    
+    // Copies of the values, as a parser would produce, so nothing is shared
+    // unless JobPosting shares it
+    private static JobPosting posting(int i, Random random, int descriptionBytes) {
+        JobPosting job = new JobPosting();
+        job.setTitle(new String(ROLES[random.nextInt(ROLES.length)] + " " + (i % 97)));
+        job.setCompany(new String("Company " + random.nextInt(2_000)));
+        job.setLocation(new String(LOCATIONS[random.nextInt(LOCATIONS.length)]));
+        job.setSalary(new String(SALARIES[random.nextInt(SALARIES.length)]));
+        job.setSource(new String(SOURCES[random.nextInt(SOURCES.length)]));
+        job.setPostedDate(LocalDate.of(2026, 1, 1).plusDays(random.nextInt(90)));
+        job.setUrl("https://jobs.example.com/view/" + i + "?trk=" + random.nextInt(100));
+        job.setRelevanceScore(random.nextInt(11));
+        job.setReputabilityScore(random.nextInt(11));
+        job.setDescription(description(random, descriptionBytes));
+        return job;
+    }
+    
+    private static String description(Random random, int bytes) {
+        StringBuilder html = new StringBuilder(bytes + 64);
+        while (html.length() < bytes) {
+            html.append(random.nextInt(4) == 0 ? "<li>" : "<p>");
+            int words = 8 + random.nextInt(20);
+            for (int w = 0; w < words; w++) {
+                html.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            html.append(random.nextInt(4) == 0 ? "</li>\n" : "</p>\n");
+        }
+        return html.toString();
+    }
+    
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Repeat until a collection frees nothing more
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            long now = memory.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
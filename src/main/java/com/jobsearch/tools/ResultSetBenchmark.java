@@ -0,0 +1,131 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.JobResultSet;
+import com.jobsearch.utils.UrlCanonicalizer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+// Times ranking, filtering, top-K, facet counts and URL de-duplication
+// over synthetic results, once as List<JobPosting> with comparators and
+// streams (the way WebScraper and MainFrame did it) and once over a
+// JobResultSet. Building the result set is timed separately, since a
+// caller pays for it once per result list.
+//
+//   --postings N   postings per result list (default 200000)
+//   --rounds N     timed runs per operation after a warm-up (default 20)
+//   --seed N
+public class ResultSetBenchmark {
+    private static final String[] SOURCES = {
+        "LinkedIn", "Dice", "Indeed", "Adzuna API", "Remotive API", "HackerNews", "WeWorkRemotely"
+    };
+    private static final Comparator<JobPosting> BY_SCORE = Comparator.comparingInt(
+        (JobPosting job) -> job.getRelevanceScore() + job.getReputabilityScore()).reversed();
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int postings = Integer.parseInt(options.getOrDefault("postings", "200000"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "20"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        
+        List<JobPosting> jobs = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) {
+            jobs.add(posting(i, random));
+        }
+        LocalDate since = LocalDate.of(2026, 3, 1);
+        
+        long start = System.nanoTime();
+        JobResultSet results = JobResultSet.of(jobs);
+        System.out.printf("%-22s %10.2f ms%n", "build result set", (System.nanoTime() - start) / 1e6);
+        int[] all = results.all();
+        System.out.printf("%-22s %10s %12s %8s%n", "operation", "list ms", "columns ms", "speedup");
+        
+        compare("rank by score", rounds, () -> {
+            List<JobPosting> sorted = new ArrayList<>(jobs);
+            sorted.sort(BY_SCORE);
+            return sorted.size();
+        }, () -> results.sortByScore(all).length);
+        
+        compare("filter date+source", rounds, () -> (int) jobs.stream()
+            .filter(job -> job.getPostedDate() != null && !job.getPostedDate().isBefore(since))
+            .filter(job -> "Dice".equals(job.getSource()))
+            .count(), () -> results.fromSource(results.postedSince(all, since), "Dice").length);
+        
+        compare("top 50", rounds, () -> jobs.stream().sorted(BY_SCORE).limit(50)
+            .collect(Collectors.toList()).size(), () -> results.topK(all, 50).length);
+        
+        compare("count by source", rounds, () -> jobs.stream()
+            .collect(Collectors.groupingBy(JobPosting::getSource, Collectors.counting())).size(),
+            () -> results.countBySource(all).size());
+        
+        compare("count by company", rounds, () -> jobs.stream()
+            .collect(Collectors.groupingBy(JobPosting::getCompany, Collectors.counting())).size(),
+            () -> results.countByCompany(all).size());
+        
+        compare("distinct urls", rounds, () -> {
+            Set<String> seen = new HashSet<>();
+            int kept = 0;
+            for (JobPosting job : jobs) {
+                if (seen.add(UrlCanonicalizer.canonicalize(job.getUrl()))) {
+                    kept++;
+                }
+            }
+            return kept;
+        }, () -> results.distinctUrls(all).length);
+    }
+    
+    private static JobPosting posting(int i, Random random) {
+        JobPosting job = new JobPosting();
+        job.setTitle("Software Engineer " + (i % 97));
+        job.setCompany("Company " + random.nextInt(5_000));
+        job.setLocation(random.nextBoolean() ? "Remote" : "New York, NY");
+        job.setSource(SOURCES[random.nextInt(SOURCES.length)]);
+        job.setPostedDate(LocalDate.of(2026, 1, 1).plusDays(random.nextInt(120)));
+        // About one in ten is a repost of an earlier URL with tracking added
+        int id = random.nextInt(10) == 0 ? random.nextInt(i + 1) : i;
+        job.setUrl("https://jobs.example.com/view/" + id + (id != i ? "?utm_source=feed" : ""));
+        job.setRelevanceScore(random.nextInt(11));
+        job.setReputabilityScore(random.nextInt(11));
+        return job;
+    }
+    
+    private static void compare(String name, int rounds, Callable<Integer> list, Callable<Integer> columns)
+            throws Exception {
+        int expected = list.call();
+        int actual = columns.call();
+        if (expected != actual) {
+            throw new IllegalStateException(name + ": list gave " + expected + ", columns gave " + actual);
+        }
+        double listMs = time(rounds, list);
+        double columnsMs = time(rounds, columns);
+        System.out.printf("%-22s %10.2f %12.2f %7.1fx%n", name, listMs, columnsMs, listMs / columnsMs);
+    }
+    
+    private static double time(int rounds, Callable<Integer> operation) throws Exception {
+        // First run warms the JIT
+        operation.call();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            operation.call();
+        }
+        return (System.nanoTime() - start) / 1e6 / rounds;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
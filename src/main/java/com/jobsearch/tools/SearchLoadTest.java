@@ -0,0 +1,173 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.http.HttpTraffic;
+import com.jobsearch.http.ReplayServer;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.model.SearchFilters.ExperienceLevel;
+import com.jobsearch.model.SearchFilters.WorkModel;
+import com.jobsearch.scraper.WebScraper;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives many concurrent WebScraper.searchJobs calls against local stub
+// sources and reports throughput, latency percentiles, peak heap and
+// thread counts. Throughput and latencies cover successful searches only;
+// failures are counted in their own column. Runs headless; no network or
+// display needed.
+//
+//   --concurrency 10,50,200   concurrency levels to run, in order
+//   --searches N              searches per level (default 2 x concurrency)
+//   --latency ms --jitter ms  default stub latency per request
+//   --source-latency host=ms,host=ms   per-source overrides,
+//                             e.g. news.ycombinator.com=800
+//   --jobs N                  synthetic jobs per source page (default 40)
+//   --error-rate 0.0-1.0 --seed N
+public class SearchLoadTest {
+    private static final String[] TERMS = {
+        "software engineer", "java developer", "data analyst", "backend engineer",
+        "platform engineer", "frontend developer"
+    };
+    
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        // Keep circuit breaker state from stub runs out of the real data dir
+        if (System.getProperty("jobsearch.dataDir") == null) {
+            System.setProperty("jobsearch.dataDir", 
+                Files.createTempDirectory("jobsearch-" + "loadtest").toString());
+        }
+        Map<String, String> options = parseOptions(args);
+        
+        int jobsPerSource = Integer.parseInt(options.getOrDefault("jobs", "40"));
+        long latency = Long.parseLong(options.getOrDefault("latency", "200"));
+        long jitter = Long.parseLong(options.getOrDefault("jitter", "50"));
+        double errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        
+        try (ReplayServer server = new ReplayServer(StubSources.build(jobsPerSource), 0, seed)
+                .withLatency(latency, jitter)
+                .withErrorRate(errorRate)) {
+            if (options.containsKey("source-latency")) {
+                for (String pair : options.get("source-latency").split(",")) {
+                    String[] parts = pair.split("=");
+                    server.withHostLatency(parts[0].trim(), Long.parseLong(parts[1].trim()));
+                }
+            }
+            server.start();
+            HttpTraffic.useReplayServer(server.getBaseUrl());
+            
+            System.out.printf("%-12s %8s %8s %10s %8s %8s %8s %8s %10s %8s%n",
+                "concurrency", "searches", "failed", "search/s", "p50ms", "p90ms", "p99ms", "maxms", 
+                "peakHeapMB", "threads");
+            for (String level : options.getOrDefault("concurrency", "10,50,200").split(",")) {
+                int concurrency = Integer.parseInt(level.trim());
+                int searches = Integer.parseInt(options.getOrDefault("searches", 
+                    String.valueOf(concurrency * 2)));
+                runLevel(concurrency, searches);
+            }
+        } finally {
+            HttpTraffic.goLive();
+        }
+    }
+    
+    private static void runLevel(int concurrency, int searches) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "load-test-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < searches; i++) {
+            SearchFilters filters = variedFilters(i);
+            results.add(pool.submit(() -> {
+                startGate.await();
+                long start = System.nanoTime();
+                new WebScraper().searchJobs(filters);
+                return (System.nanoTime() - start) / 1_000_000;
+            }));
+        }
+        
+        long wallStart = System.nanoTime();
+        startGate.countDown();
+        long[] latencies = new long[searches];
+        int succeeded = 0;
+        for (int i = 0; i < searches; i++) {
+            try {
+                latencies[succeeded] = results.get(i).get();
+                succeeded++;
+            } catch (Exception e) {
+                // Counted below; a failed search has no latency to rank
+            }
+        }
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        sampler.interrupt();
+        
+        latencies = Arrays.copyOf(latencies, succeeded);
+        Arrays.sort(latencies);
+        System.out.printf("%-12d %8d %8d %10.2f %8s %8s %8s %8s %10d %8d%n",
+            concurrency, searches, searches - succeeded, succeeded / wallSeconds,
+            percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+            percentile(latencies, 100),
+            peakHeap.get() / (1024 * 1024), threads.getPeakThreadCount());
+    }
+    
+    private static SearchFilters variedFilters(int i) {
+        SearchFilters filters = new SearchFilters();
+        filters.setSearchTerms(TERMS[i % TERMS.length]);
+        filters.setWorkModel(WorkModel.values()[i % WorkModel.values().length]);
+        filters.setExperienceLevel(ExperienceLevel.values()[(i / 2) % ExperienceLevel.values().length]);
+        if (i % 3 == 0) {
+            filters.setCity("Austin");
+            filters.setState("TX");
+        }
+        return filters;
+    }
+    
+    // "-" when every search at this level failed
+    private static String percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return String.valueOf(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,294 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.store.JobStore;
+import com.jobsearch.store.SeenPostings;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+// Self-checks for the on-disk stores, each against a new temp directory:
+//   truncation   a segment cut short mid-record, as a crash mid-write
+//                leaves it, reopens with every complete posting and can
+//                be written again
+//   compaction   readers never miss a posting or see an old version while
+//                compact() rewrites the segments under them
+//   shared-url   postings that share a landing URL are stored separately
+//   seen-rate    SeenPostings' false-positive rate once a generation is full
+// Prints one line per check and exits with status 1 if any failed.
+//
+//   --postings N   postings per store check (default 20000)
+//   --readers N    reader threads during compaction (default 4)
+//   --seed N
+public class StoreSelfCheck {
+    private static final int BATCH = 200;
+    private static final int SEEN_PROBES = 100_000;
+    
+    public static void main(String[] args) throws Exception {
+        // Small segments so compaction has several to merge; read when
+        // JobStore is first loaded
+        if (System.getProperty("jobsearch.store.segmentBytes") == null) {
+            System.setProperty("jobsearch.store.segmentBytes", String.valueOf(256 * 1024));
+        }
+        Map<String, String> options = parseOptions(args);
+        int postings = Integer.parseInt(options.getOrDefault("postings", "20000"));
+        int readers = Integer.parseInt(options.getOrDefault("readers", "4"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        
+        boolean passed = check("truncation", () -> truncation(postings));
+        passed &= check("compaction", () -> compaction(postings, readers, seed));
+        passed &= check("shared-url", StoreSelfCheck::sharedUrl);
+        passed &= check("seen-rate", () -> seenRate(seed));
+        System.exit(passed ? 0 : 1);
+    }
+    
+    private static Outcome truncation(int postings) throws Exception {
+        Path dir = Files.createTempDirectory("jobsearch-selfcheck");
+        try (JobStore store = JobStore.open(dir)) {
+            putInBatches(store, postings, 0);
+        }
+        
+        // A crash leaves the newest segment without a sealed hint file, and
+        // possibly with its last record cut short
+        Path log;
+        try (Stream<Path> files = Files.list(dir)) {
+            log = files.filter(path -> path.getFileName().toString().endsWith(".log"))
+                .filter(path -> path.toFile().length() > 0)
+                .max(Path::compareTo)
+                .orElseThrow(() -> new IllegalStateException("no segment was written"));
+        }
+        String name = log.getFileName().toString();
+        Files.deleteIfExists(log.resolveSibling(name.replace(".log", ".hint")));
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        
+        try (JobStore reopened = JobStore.open(dir)) {
+            if (reopened.size() != postings - 1) {
+                return Outcome.fail("reopened with " + reopened.size() + " postings, expected " + (postings - 1));
+            }
+            if (reopened.get(url(0)) == null) {
+                return Outcome.fail("first posting is missing");
+            }
+            if (reopened.get(url(postings - 1)) != null) {
+                return Outcome.fail("the torn posting was read back");
+            }
+            if (!reopened.put(posting(postings - 1, 0))) {
+                return Outcome.fail("the torn posting could not be written again");
+            }
+        }
+        try (JobStore again = JobStore.open(dir)) {
+            if (again.size() != postings) {
+                return Outcome.fail("after rewriting, reopened with " + again.size() + " postings");
+            }
+        }
+        return Outcome.pass(postings - 1 + " postings survived a torn last record");
+    }
+    
+    private static Outcome compaction(int postings, int readers, long seed) throws Exception {
+        Path dir = Files.createTempDirectory("jobsearch-selfcheck");
+        try (JobStore store = JobStore.open(dir)) {
+            // Three versions of every posting, so most older segment bytes are dead
+            for (int version = 0; version < 3; version++) {
+                putInBatches(store, postings, version);
+            }
+            
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicInteger reads = new AtomicInteger();
+            AtomicInteger misses = new AtomicInteger();
+            AtomicInteger stale = new AtomicInteger();
+            AtomicReference<Exception> error = new AtomicReference<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                Random random = new Random(seed + r);
+                Thread thread = new Thread(() -> {
+                    while (!done.get() && error.get() == null) {
+                        try {
+                            JobPosting job = store.get(url(random.nextInt(postings)));
+                            if (job == null) {
+                                misses.incrementAndGet();
+                            } else if (!job.getTitle().endsWith(" v2")) {
+                                stale.incrementAndGet();
+                            }
+                            reads.incrementAndGet();
+                        } catch (Exception e) {
+                            error.compareAndSet(null, e);
+                        }
+                    }
+                }, "selfcheck-reader-" + r);
+                thread.start();
+                threads.add(thread);
+            }
+            
+            long start = System.nanoTime();
+            for (int round = 0; round < 3; round++) {
+                store.compact();
+            }
+            long compactMs = (System.nanoTime() - start) / 1_000_000;
+            done.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            
+            if (error.get() != null) {
+                return Outcome.fail("a read failed: " + error.get());
+            }
+            if (misses.get() > 0 || stale.get() > 0) {
+                return Outcome.fail(misses.get() + " missing and " + stale.get() + " stale of "
+                    + reads.get() + " reads");
+            }
+            if (store.size() != postings) {
+                return Outcome.fail("holds " + store.size() + " postings after compaction, expected " + postings);
+            }
+            return Outcome.pass(String.format("%,d reads during %d ms of compaction, all current",
+                reads.get(), compactMs));
+        }
+    }
+    
+    private static Outcome sharedUrl() throws Exception {
+        Path dir = Files.createTempDirectory("jobsearch-selfcheck");
+        try (JobStore store = JobStore.open(dir)) {
+            JobPosting first = posting(0, 0);
+            JobPosting second = posting(1, 0);
+            first.setUrl("https://www.linkedin.com/jobs/");
+            second.setUrl(first.getUrl());
+            int added = store.putAll(Arrays.asList(first, second));
+            if (added != 2 || store.size() != 2) {
+                return Outcome.fail("stored " + store.size() + " of 2 postings sharing a URL");
+            }
+            if (store.putAll(Arrays.asList(first, second)) != 0) {
+                return Outcome.fail("the same two postings were added again");
+            }
+            // Alone in a batch it must still map to the same entry
+            if (store.put(first)) {
+                return Outcome.fail("a posting was added again when seen on its own");
+            }
+        }
+        return Outcome.pass("2 postings on one URL kept apart");
+    }
+    
+    private static Outcome seenRate(long seed) throws Exception {
+        Path file = Files.createTempDirectory("jobsearch-selfcheck").resolve("seen-postings.bin");
+        SeenPostings seen = SeenPostings.open(file);
+        // Each posting adds a URL key and a title/company key
+        int marked = SeenPostings.GENERATION_CAPACITY / 2;
+        List<JobPosting> batch = new ArrayList<>();
+        for (int i = 0; i < marked; i++) {
+            batch.add(posting(i, 0));
+            if (batch.size() == 500 || i == marked - 1) {
+                seen.markSeen(batch);
+                batch.clear();
+            }
+        }
+        
+        Random random = new Random(seed);
+        for (int i = 0; i < 1000; i++) {
+            if (!seen.isSeen(posting(random.nextInt(marked), 0))) {
+                return Outcome.fail("a marked posting reads as new");
+            }
+        }
+        int urlHits = 0;
+        int postingHits = 0;
+        for (int i = 0; i < SEEN_PROBES; i++) {
+            JobPosting unseen = posting(marked + i, 0);
+            if (seen.isSeen(unseen.getUrl())) {
+                urlHits++;
+            }
+            if (seen.isSeen(unseen)) {
+                postingHits++;
+            }
+        }
+        double urlRate = (double) urlHits / SEEN_PROBES;
+        double postingRate = (double) postingHits / SEEN_PROBES;
+        String detail = String.format("%.3f%% by URL, %.3f%% by posting (target %.1f%% per key)",
+            urlRate * 100, postingRate * 100, SeenPostings.FALSE_POSITIVE_RATE * 100);
+        // A posting is checked by two keys, so it may hit twice as often
+        if (urlRate > 2 * SeenPostings.FALSE_POSITIVE_RATE
+                || postingRate > 4 * SeenPostings.FALSE_POSITIVE_RATE) {
+            return Outcome.fail(detail);
+        }
+        return Outcome.pass(detail);
+    }
+    
+    private static void putInBatches(JobStore store, int postings, int version) throws Exception {
+        List<JobPosting> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < postings; i++) {
+            batch.add(posting(i, version));
+            if (batch.size() == BATCH) {
+                store.putAll(batch);
+                batch.clear();
+            }
+        }
+        store.putAll(batch);
+    }
+    
+    private static JobPosting posting(int i, int version) {
+        JobPosting job = new JobPosting();
+        job.setTitle("Engineer " + i + " v" + version);
+        job.setCompany("Company " + (i % 5_000));
+        job.setSource("SelfCheck");
+        job.setLocation("Remote");
+        job.setUrl(url(i));
+        job.setDescription("Posting " + i + ", version " + version + ".");
+        return job;
+    }
+    
+    private static String url(int i) {
+        return "https://jobs.example.com/view/" + i;
+    }
+    
+    private static boolean check(String name, Check check) {
+        long start = System.nanoTime();
+        Outcome outcome;
+        try {
+            outcome = check.run();
+        } catch (Exception e) {
+            outcome = Outcome.fail(e.toString());
+        }
+        System.out.printf("%-12s %s  %s  (%d ms)%n", name, outcome.passed ? "PASS" : "FAIL",
+            outcome.detail, (System.nanoTime() - start) / 1_000_000);
+        return outcome.passed;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+    
+    private interface Check {
+        Outcome run() throws Exception;
+    }
+    
+    private static final class Outcome {
+        final boolean passed;
+        final String detail;
+        
+        private Outcome(boolean passed, String detail) {
+            this.passed = passed;
+            this.detail = detail;
+        }
+        
+        static Outcome pass(String detail) {
+            return new Outcome(true, detail);
+        }
+        
+        static Outcome fail(String detail) {
+            return new Outcome(false, detail);
+        }
+    }
+}
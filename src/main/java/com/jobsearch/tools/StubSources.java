@@ -0,0 +1,140 @@
+package com.jobsearch.tools;
+
+import com.jobsearch.http.HttpArchive;
+import com.jobsearch.http.RecordedExchange;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Synthetic responses for every HTTP source WebScraper calls, shaped like
+// the real pages closely enough for each scraper's selectors to match.
+class StubSources {
+    private static final String[] TITLES = {
+        "Senior Software Engineer", "Junior Java Developer", "Data Analyst",
+        "Backend Engineer", "Lead Platform Engineer", "Frontend Developer",
+        "Software Engineer II", "Staff Data Engineer"
+    };
+    private static final String[] COMPANIES = {
+        "Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries"
+    };
+    
+    static HttpArchive build(int jobsPerSource) {
+        HttpArchive archive = new HttpArchive();
+        
+        archive.add(html("https://weworkremotely.com/categories/remote-programming-jobs", weWorkRemotely(jobsPerSource)));
+        archive.add(html("https://news.ycombinator.com/submitted?id=whoishiring", hackerNewsSubmissions()));
+        archive.add(html("https://news.ycombinator.com/item?id=1000", hackerNewsThread(jobsPerSource)));
+        archive.add(html("https://www.crunchboard.com/jobs", crunchboard(jobsPerSource)));
+        archive.add(html("https://powertofly.com/jobs", powerToFly(jobsPerSource)));
+        archive.add(html("https://www.indeed.com/jobs", indeed(jobsPerSource)));
+        archive.add(json("https://remotive.com/api/remote-jobs", remotive(jobsPerSource)));
+        archive.add(json("https://api.adzuna.com/v1/api/jobs/us/search/1", adzuna(jobsPerSource)));
+        
+        return archive;
+    }
+    
+    private static String title(int i) { return TITLES[i % TITLES.length]; }
+    private static String company(int i) { return COMPANIES[i % COMPANIES.length]; }
+    
+    private static String weWorkRemotely(int count) {
+        StringBuilder html = new StringBuilder("<html><head><title>We Work Remotely</title></head><body><ul>");
+        for (int i = 0; i < count; i++) {
+            html.append("<li><a href=\"/remote-jobs/stub-").append(i).append("\">")
+                .append("<span class=\"title\">").append(title(i)).append("</span></a>")
+                .append("<span class=\"company\">").append(company(i)).append("</span></li>");
+        }
+        return html.append("</ul></body></html>").toString();
+    }
+    
+    private static String hackerNewsSubmissions() {
+        return "<html><body><table><tr class=\"athing\" id=\"1000\"><td>"
+            + "<span class=\"titleline\"><a href=\"item?id=1000\">Ask HN: Who is hiring? (Stub)</a></span>"
+            + "</td></tr></table></body></html>";
+    }
+    
+    private static String hackerNewsThread(int count) {
+        StringBuilder html = new StringBuilder("<html><body><table>");
+        for (int i = 0; i < count; i++) {
+            html.append("<tr class=\"comtr\"><td><span class=\"age\"><a href=\"item?id=")
+                .append(2000 + i).append("\">1 hour ago</a></span>")
+                .append("<div class=\"comment\">").append(company(i)).append(" | ")
+                .append(title(i)).append(" | REMOTE | software engineer java hybrid</div></td></tr>");
+        }
+        return html.append("</table></body></html>").toString();
+    }
+    
+    private static String crunchboard(int count) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < count; i++) {
+            html.append("<div class=\"job-listing\"><h3>").append(title(i)).append("</h3>")
+                .append("<span class=\"company\">").append(company(i)).append("</span>")
+                .append("<span class=\"location\">San Francisco, CA</span>")
+                .append("<a href=\"/jobs/stub-").append(i).append("\">View</a></div>");
+        }
+        return html.append("</body></html>").toString();
+    }
+    
+    private static String powerToFly(int count) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < count; i++) {
+            html.append("<div class=\"job-card\"><h3>").append(title(i)).append("</h3>")
+                .append("<span class=\"company\">").append(company(i)).append("</span>")
+                .append("<span class=\"location\">Remote</span>")
+                .append("<a href=\"/jobs/detail/stub-").append(i).append("\">View</a></div>");
+        }
+        return html.append("</body></html>").toString();
+    }
+    
+    private static String indeed(int count) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < count; i++) {
+            html.append("<div class=\"job_seen_beacon\"><h2 class=\"jobTitle\"><a href=\"/viewjob?jk=stub")
+                .append(i).append("\"><span>").append(title(i)).append("</span></a></h2>")
+                .append("<span data-testid=\"company-name\" class=\"companyName\">").append(company(i)).append("</span>")
+                .append("<div data-testid=\"text-location\" class=\"companyLocation\">Remote</div></div>");
+        }
+        return html.append("</body></html>").toString();
+    }
+    
+    private static String remotive(int count) {
+        StringBuilder json = new StringBuilder("{\"jobs\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"title\":\"").append(title(i)).append("\",")
+                .append("\"company_name\":\"").append(company(i)).append("\",")
+                .append("\"url\":\"https://remotive.com/remote-jobs/stub-").append(i).append("\",")
+                .append("\"description\":\"software engineer java data senior junior\",")
+                .append("\"publication_date\":\"2026-10-01T00:00:00\"}");
+        }
+        return json.append("]}").toString();
+    }
+    
+    private static String adzuna(int count) {
+        StringBuilder json = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"title\":\"").append(title(i)).append("\",")
+                .append("\"company\":{\"display_name\":\"").append(company(i)).append("\"},")
+                .append("\"location\":{\"display_name\":\"Austin, TX\"},")
+                .append("\"salary_min\":90000,\"salary_max\":140000,")
+                .append("\"redirect_url\":\"https://www.adzuna.com/details/stub-").append(i).append("\",")
+                .append("\"description\":\"software engineer java senior remote\",")
+                .append("\"created\":\"2026-10-01T00:00:00Z\"}");
+        }
+        return json.append("]}").toString();
+    }
+    
+    private static RecordedExchange html(String url, String body) {
+        return exchange(url, "text/html; charset=UTF-8", body);
+    }
+    
+    private static RecordedExchange json(String url, String body) {
+        return exchange(url, "application/json", body);
+    }
+    
+    private static RecordedExchange exchange(String url, String contentType, String body) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", contentType);
+        return new RecordedExchange("GET", url, 200, headers, body);
+    }
+}
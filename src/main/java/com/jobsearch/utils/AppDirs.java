@@ -0,0 +1,31 @@
+package com.jobsearch.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Location for state that should survive restarts (~/.jobsearch by
+// default, override with -Djobsearch.dataDir=...)
+public final class AppDirs {
+    
+    private AppDirs() {
+    }
+    
+    public static Path dataDir() {
+        String configured = System.getProperty("jobsearch.dataDir");
+        Path dir = configured != null 
+            ? Paths.get(configured) 
+            : Paths.get(System.getProperty("user.home"), ".jobsearch");
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            // Callers will surface the failure when they try to write
+        }
+        return dir;
+    }
+    
+    public static Path dataFile(String name) {
+        return dataDir().resolve(name);
+    }
+}
@@ -2,6 +2,7 @@ package com.jobsearch.utils;
 
 import com.jobsearch.model.JobPosting;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.File;
@@ -11,13 +12,83 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 public class ExcelExporter {
-    private static final DateTimeFormatter DATE_FORMATTER = 
+    private static final DateTimeFormatter DATE_FORMATTER =
         DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final String[] HEADERS = {"Job Title", "Company", "Location", "Salary",
+                                             "Posted Date", "Relevance Score", "Reputation Score",
+                                             "URL", "Source"};
+    // Rows kept in memory while streaming; older rows are flushed to a
+    // compressed temp file
+    private static final int ROW_WINDOW = 200;
+    // Estimated widths are in characters; very long titles and URLs are
+    // capped so one posting cannot stretch a column off the screen
+    private static final int MAX_WIDTH_CHARS = 80;
     
+    // Streams by default. -Djobsearch.export.exactWidths=true builds the
+    // whole workbook in memory and measures every cell instead, which is
+    // only practical for a few hundred rows.
     public static void export(List<JobPosting> jobs, File file) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Job Search Results");
-        
+        if (Boolean.getBoolean("jobsearch.export.exactWidths")) {
+            exportInMemory(jobs, file);
+        } else {
+            exportStreaming(jobs, file);
+        }
+    }
+    
+    // Memory stays flat however many postings are written: only the last
+    // ROW_WINDOW rows are held, and column widths come from the longest
+    // value seen per column rather than from autoSizeColumn, which measures
+    // every cell with AWT font metrics (slow, and needs a display or
+    // headless AWT).
+    public static void exportStreaming(Iterable<JobPosting> jobs, File file) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, ROW_WINDOW, true);
+        try {
+            Sheet sheet = workbook.createSheet("Job Search Results");
+            int[] widths = new int[HEADERS.length];
+            writeHeader(workbook, sheet, widths);
+            
+            int rowNum = 1;
+            for (JobPosting job : jobs) {
+                writeRow(sheet.createRow(rowNum++), job, widths);
+            }
+            
+            for (int i = 0; i < widths.length; i++) {
+                // Width is in 1/256ths of a character; the extra two leave
+                // room for padding and the header's bold font
+                sheet.setColumnWidth(i, (Math.min(widths[i], MAX_WIDTH_CHARS) + 2) * 256);
+            }
+            
+            try (FileOutputStream outputStream = new FileOutputStream(file)) {
+                workbook.write(outputStream);
+            }
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+    
+    private static void exportInMemory(List<JobPosting> jobs, File file) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Job Search Results");
+            int[] widths = new int[HEADERS.length];
+            writeHeader(workbook, sheet, widths);
+            
+            int rowNum = 1;
+            for (JobPosting job : jobs) {
+                writeRow(sheet.createRow(rowNum++), job, widths);
+            }
+            
+            for (int i = 0; i < HEADERS.length; i++) {
+                sheet.autoSizeColumn(i);
+            }
+            
+            try (FileOutputStream outputStream = new FileOutputStream(file)) {
+                workbook.write(outputStream);
+            }
+        }
+    }
+    
+    private static void writeHeader(Workbook workbook, Sheet sheet, int[] widths) {
         Row headerRow = sheet.createRow(0);
         CellStyle headerStyle = workbook.createCellStyle();
         Font headerFont = workbook.createFont();
@@ -26,48 +97,36 @@ public class ExcelExporter {
         headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
         headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
         
-        String[] headers = {"Job Title", "Company", "Location", "Salary", 
-                           "Posted Date", "Relevance Score", "Reputation Score", 
-                           "URL", "Source"};
-        
-        for (int i = 0; i < headers.length; i++) {
+        for (int i = 0; i < HEADERS.length; i++) {
             Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
+            cell.setCellValue(HEADERS[i]);
             cell.setCellStyle(headerStyle);
+            widths[i] = HEADERS[i].length();
         }
-        
-        int rowNum = 1;
-        for (JobPosting job : jobs) {
-            Row row = sheet.createRow(rowNum++);
-            
-            row.createCell(0).setCellValue(job.getTitle());
-            row.createCell(1).setCellValue(job.getCompany());
-            row.createCell(2).setCellValue(job.getLocation() != null ? 
-                job.getLocation() : "N/A");
-            row.createCell(3).setCellValue(job.getSalary() != null ? 
-                job.getSalary() : "N/A");
-            
-            Cell dateCell = row.createCell(4);
-            if (job.getPostedDate() != null) {
-                dateCell.setCellValue(job.getPostedDate().format(DATE_FORMATTER));
-            } else {
-                dateCell.setCellValue("N/A");
-            }
-            
-            row.createCell(5).setCellValue(job.getRelevanceScore());
-            row.createCell(6).setCellValue(job.getReputabilityScore());
-            row.createCell(7).setCellValue(job.getUrl());
-            row.createCell(8).setCellValue(job.getSource());
-        }
-        
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-        
-        try (FileOutputStream outputStream = new FileOutputStream(file)) {
-            workbook.write(outputStream);
+    }
+    
+    private static void writeRow(Row row, JobPosting job, int[] widths) {
+        setText(row, 0, job.getTitle(), widths);
+        setText(row, 1, job.getCompany(), widths);
+        setText(row, 2, job.getLocation() != null ? job.getLocation() : "N/A", widths);
+        setText(row, 3, job.getSalary() != null ? job.getSalary() : "N/A", widths);
+        setText(row, 4, job.getPostedDate() != null
+            ? job.getPostedDate().format(DATE_FORMATTER) : "N/A", widths);
+        setNumber(row, 5, job.getRelevanceScore(), widths);
+        setNumber(row, 6, job.getReputabilityScore(), widths);
+        setText(row, 7, job.getUrl(), widths);
+        setText(row, 8, job.getSource(), widths);
+    }
+    
+    private static void setText(Row row, int column, String value, int[] widths) {
+        row.createCell(column).setCellValue(value);
+        if (value != null && value.length() > widths[column]) {
+            widths[column] = value.length();
         }
-        
-        workbook.close();
     }
-}
\ No newline at end of file
+    
+    private static void setNumber(Row row, int column, int value, int[] widths) {
+        row.createCell(column).setCellValue(value);
+        widths[column] = Math.max(widths[column], Integer.toString(value).length());
+    }
+}
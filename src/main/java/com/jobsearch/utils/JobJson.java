@@ -0,0 +1,110 @@
+package com.jobsearch.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.jobsearch.model.JobPosting;
+import com.jobsearch.model.SearchFilters;
+import com.jobsearch.model.SearchFilters.ExperienceLevel;
+import com.jobsearch.model.SearchFilters.WorkModel;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+// JSON shapes shared by the headless entry points (batch mode and the
+// search server), so both accept and produce the same fields
+public final class JobJson {
+    
+    private JobJson() {
+    }
+    
+    public static JsonObject toJson(JobPosting job) {
+        JsonObject json = new JsonObject();
+        json.addProperty("title", job.getTitle());
+        json.addProperty("company", job.getCompany());
+        json.addProperty("location", job.getLocation());
+        json.addProperty("salary", job.getSalary());
+        json.addProperty("postedDate", job.getPostedDate() != null ? job.getPostedDate().toString() : null);
+        json.addProperty("source", job.getSource());
+        json.addProperty("url", job.getUrl());
+        json.addProperty("relevanceScore", job.getRelevanceScore());
+        json.addProperty("reputabilityScore", job.getReputabilityScore());
+        json.addProperty("description", job.getDescription());
+        return json;
+    }
+    
+    // Reads what toJson wrote, e.g. a line of a JSONL export
+    public static JobPosting fromJson(JsonObject json) {
+        JobPosting job = new JobPosting();
+        job.setTitle(string(json, "title"));
+        job.setCompany(string(json, "company"));
+        job.setLocation(string(json, "location"));
+        job.setSalary(string(json, "salary"));
+        String postedDate = string(json, "postedDate");
+        if (postedDate != null) {
+            try {
+                job.setPostedDate(LocalDate.parse(postedDate));
+            } catch (DateTimeParseException e) {
+                // Leave the date unknown
+            }
+        }
+        job.setSource(string(json, "source"));
+        job.setUrl(string(json, "url"));
+        if (json.has("relevanceScore")) {
+            job.setRelevanceScore(json.get("relevanceScore").getAsInt());
+        }
+        if (json.has("reputabilityScore")) {
+            job.setReputabilityScore(json.get("reputabilityScore").getAsInt());
+        }
+        job.setDescription(string(json, "description"));
+        return job;
+    }
+    
+    public static JsonArray toJson(List<JobPosting> jobs) {
+        JsonArray array = new JsonArray();
+        for (JobPosting job : jobs) {
+            array.add(toJson(job));
+        }
+        return array;
+    }
+    
+    // Reads "terms" (required), "workModel", "city", "state", "experience"
+    // and "newOnly". Enums accept their name or display name, e.g. "REMOTE",
+    // "remote", "In-Person".
+    public static SearchFilters toFilters(JsonObject json) {
+        SearchFilters filters = new SearchFilters();
+        String terms = string(json, "terms");
+        if (terms == null || terms.trim().isEmpty()) {
+            throw new IllegalArgumentException("\"terms\" is required");
+        }
+        filters.setSearchTerms(terms.trim());
+        String workModel = string(json, "workModel");
+        if (workModel != null) {
+            filters.setWorkModel(parseEnum(WorkModel.class, workModel));
+        }
+        String experience = string(json, "experience");
+        if (experience != null) {
+            filters.setExperienceLevel(parseEnum(ExperienceLevel.class, experience));
+        }
+        filters.setCity(string(json, "city"));
+        filters.setState(string(json, "state"));
+        filters.setNewOnly(Boolean.parseBoolean(string(json, "newOnly")));
+        return filters;
+    }
+    
+    public static String string(JsonObject json, String key) {
+        return json.has(key) && !json.get(key).isJsonNull() ? json.get(key).getAsString() : null;
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        String wanted = value.trim().replace('-', '_').replace(' ', '_').toUpperCase(Locale.ROOT);
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(wanted)
+                    || constant.toString().equalsIgnoreCase(value.trim())) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("unknown " + type.getSimpleName() + " '" + value + "'");
+    }
+}
@@ -0,0 +1,207 @@
+package com.jobsearch.utils;
+
+import com.google.gson.Gson;
+import com.jobsearch.model.JobPosting;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+
+// Writes result lists to disk in any of the export formats. Output goes to
+// a temp file next to the target, which is renamed over it only once the
+// write completed, so a failed or cancelled export never leaves a
+// half-written file behind (or clobbers the previous one).
+public final class ResultExporter {
+    private static final Gson gson = new Gson();
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String[] CSV_HEADERS = {"title", "company", "location", "salary",
+                                                 "postedDate", "relevanceScore", "reputabilityScore",
+                                                 "url", "source"};
+    
+    private ResultExporter() {
+    }
+    
+    public static void export(List<JobPosting> jobs, File target, Format format, Progress progress)
+            throws IOException {
+        Path path = target.toPath().toAbsolutePath();
+        // Unique per export, so an export still winding down after a cancel
+        // never shares its temp file with the next one to the same target
+        Path temp = Files.createTempFile(path.getParent(), "." + path.getFileName() + ".", ".part");
+        Iterable<JobPosting> tracked = () -> new TrackedIterator(jobs.iterator(), jobs.size(), progress);
+        boolean done = false;
+        try {
+            switch (format) {
+                case XLSX:
+                    ExcelExporter.exportStreaming(tracked, temp.toFile());
+                    break;
+                case CSV:
+                    writeCsv(tracked, temp);
+                    break;
+                case JSONL:
+                    writeJsonl(tracked, temp);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown format " + format);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    // RFC 4180, with a header row
+    private static void writeCsv(Iterable<JobPosting> jobs, Path file) throws IOException {
+        try (Writer writer = newWriter(file)) {
+            writer.write(String.join(",", CSV_HEADERS));
+            writer.write("\r\n");
+            for (JobPosting job : jobs) {
+                writeCsvField(writer, job.getTitle());
+                writer.write(',');
+                writeCsvField(writer, job.getCompany());
+                writer.write(',');
+                writeCsvField(writer, job.getLocation());
+                writer.write(',');
+                writeCsvField(writer, job.getSalary());
+                writer.write(',');
+                writeCsvField(writer, job.getPostedDate() != null
+                    ? job.getPostedDate().format(DATE_FORMATTER) : null);
+                writer.write(',');
+                writer.write(Integer.toString(job.getRelevanceScore()));
+                writer.write(',');
+                writer.write(Integer.toString(job.getReputabilityScore()));
+                writer.write(',');
+                writeCsvField(writer, job.getUrl());
+                writer.write(',');
+                writeCsvField(writer, job.getSource());
+                writer.write("\r\n");
+            }
+        }
+    }
+    
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Scraped text starting with a formula character would run as a
+        // formula when the file is opened in a spreadsheet
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    // Same fields as batch mode and the search server
+    private static void writeJsonl(Iterable<JobPosting> jobs, Path file) throws IOException {
+        try (Writer writer = newWriter(file)) {
+            for (JobPosting job : jobs) {
+                gson.toJson(JobJson.toJson(job), writer);
+                writer.write('\n');
+            }
+        }
+    }
+    
+    // Files.newOutputStream writes through a FileChannel; the large buffer
+    // keeps the number of channel writes low
+    private static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file),
+            StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+    
+    public enum Format {
+        XLSX("Excel workbook"),
+        CSV("CSV"),
+        JSONL("JSON Lines");
+        
+        private final String description;
+        
+        Format(String description) {
+            this.description = description;
+        }
+        
+        public String getExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+        
+        // Picks the format from a file name's extension, defaulting to XLSX
+        public static Format forFile(File file) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (name.endsWith("." + format.getExtension())) {
+                    return format;
+                }
+            }
+            return XLSX;
+        }
+    }
+    
+    // Told how many postings have been written; asked whether to stop
+    public interface Progress {
+        void update(int written, int total);
+        
+        boolean isCancelled();
+    }
+    
+    // Reports every 256 rows and stops the writer, whatever the format, by
+    // throwing CancellationException from next()
+    private static final class TrackedIterator implements Iterator<JobPosting> {
+        private final Iterator<JobPosting> jobs;
+        private final int total;
+        private final Progress progress;
+        private int written;
+        
+        TrackedIterator(Iterator<JobPosting> jobs, int total, Progress progress) {
+            this.jobs = jobs;
+            this.total = total;
+            this.progress = progress;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            boolean more = jobs.hasNext();
+            if (!more && progress != null) {
+                progress.update(written, total);
+            }
+            return more;
+        }
+        
+        @Override
+        public JobPosting next() {
+            if (progress != null && (written & 0xFF) == 0) {
+                if (progress.isCancelled()) {
+                    throw new CancellationException("Export cancelled");
+                }
+                progress.update(written, total);
+            }
+            written++;
+            return jobs.next();
+        }
+    }
+}
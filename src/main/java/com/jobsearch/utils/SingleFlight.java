@@ -0,0 +1,170 @@
+package com.jobsearch.utils;
+
+import com.jobsearch.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Runs at most one piece of work per key at a time. A caller asking for a
+// key that is already in flight attaches to it instead of starting the same
+// work again. The work runs on its own thread and every caller gets its own
+// future, so cancelling one caller only detaches it; the work is cancelled
+// (interrupted) once the last caller has gone. Nothing is kept after the
+// work completes, so the next caller starts afresh.
+//
+// P is per-flight state shared by the callers of one flight, e.g. partial
+// results to replay to late joiners; use Void when there is none.
+public final class SingleFlight<K, P, V> {
+    private final String name;
+    private final Supplier<P> newProgress;
+    private final Map<K, Flight> flights = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    
+    public SingleFlight(String name, Supplier<P> newProgress) {
+        this.name = name;
+        this.newProgress = newProgress;
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public static <K, V> SingleFlight<K, Void, V> withoutProgress(String name) {
+        return new SingleFlight<>(name, () -> null);
+    }
+    
+    // onJoin (may be null) runs for every caller, leader included, before
+    // the caller's future can complete; it is where a caller subscribes to
+    // the flight's progress
+    public CompletableFuture<V> run(K key, Consumer<P> onJoin, Work<P, V> work) {
+        while (true) {
+            Flight created = new Flight(key);
+            Flight existing = flights.putIfAbsent(key, created);
+            Flight flight = existing != null ? existing : created;
+            CompletableFuture<V> call = flight.attach(onJoin);
+            if (call == null) {
+                // Abandoned by its last caller a moment ago
+                flights.remove(key, flight);
+                continue;
+            }
+            if (existing == null) {
+                MetricsRegistry.getInstance().increment(name + ".started");
+                flight.start(work);
+            } else {
+                MetricsRegistry.getInstance().increment(name + ".joined");
+            }
+            return call;
+        }
+    }
+    
+    // Waits for a caller's future. A caller interrupted while waiting
+    // cancels its future, which detaches it from the flight.
+    public static <V> V await(CompletableFuture<V> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for shared work");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+    
+    public int inFlight() {
+        return flights.size();
+    }
+    
+    @FunctionalInterface
+    public interface Work<P, V> {
+        V run(P progress) throws Exception;
+    }
+    
+    private final class Flight {
+        final K key;
+        final P progress = newProgress.get();
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        Future<?> task;
+        int callers;
+        boolean abandoned;
+        
+        Flight(K key) {
+            this.key = key;
+        }
+        
+        synchronized CompletableFuture<V> attach(Consumer<P> onJoin) {
+            if (abandoned) {
+                return null;
+            }
+            callers++;
+            if (onJoin != null) {
+                onJoin.accept(progress);
+            }
+            CompletableFuture<V> call = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(value);
+                }
+            });
+            call.whenComplete((value, error) -> {
+                if (call.isCancelled()) {
+                    detach();
+                }
+            });
+            return call;
+        }
+        
+        void start(Work<P, V> work) {
+            Future<?> submitted = executor.submit(() -> {
+                try {
+                    result.complete(work.run(progress));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    flights.remove(key, this);
+                }
+            });
+            synchronized (this) {
+                task = submitted;
+                if (abandoned) {
+                    submitted.cancel(true);
+                }
+            }
+        }
+        
+        private synchronized void detach() {
+            callers--;
+            if (callers == 0 && !result.isDone()) {
+                abandoned = true;
+                flights.remove(key, this);
+                result.cancel(false);
+                if (task != null) {
+                    task.cancel(true);
+                }
+                MetricsRegistry.getInstance().increment(name + ".abandoned");
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.jobsearch.utils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Reduces the many spellings of one posting's URL to a single key:
+// lower-case scheme and host without "www.", no fragment, no trailing
+// slash, tracking parameters dropped and the rest sorted. The same job
+// seen via a different search or referral link maps to the same key.
+public final class UrlCanonicalizer {
+    
+    private static final Set<String> TRACKING_PARAMS = new HashSet<>(Arrays.asList(
+        "refid", "trackingid", "trk", "trkinfo", "position", "pagenum", "fbclid", "gclid",
+        "ref", "referrer", "src", "source", "from", "searchid", "eid", "mc_cid", "mc_eid"
+    ));
+    // Board pages the scrapers fall back to when a card has no link of its
+    // own, in canonical form; keep in step with the scrapers
+    private static final Set<String> LANDING_PAGES = new HashSet<>(Arrays.asList(
+        "https://linkedin.com/jobs", "https://powertofly.com/jobs", "https://crunchboard.com/jobs"
+    ));
+    
+    private UrlCanonicalizer() {
+    }
+    
+    // Returns null for blank input; URLs that do not parse are only trimmed
+    public static String canonicalize(String url) {
+        if (url == null || url.trim().isEmpty()) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = new URI(url.trim());
+        } catch (URISyntaxException e) {
+            return url.trim();
+        }
+        if (uri.getHost() == null) {
+            return url.trim();
+        }
+        
+        String scheme = uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (scheme.equals("http")) {
+            scheme = "https";
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        
+        StringBuilder canonical = new StringBuilder(url.length());
+        canonical.append(scheme).append("://").append(host);
+        int port = uri.getPort();
+        if (port != -1 && port != 80 && port != 443) {
+            canonical.append(':').append(port);
+        }
+        
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        canonical.append(path);
+        
+        String query = canonicalQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            canonical.append('?').append(query);
+        }
+        return canonical.toString();
+    }
+    
+    // True for a known fallback page or a bare site root. Many postings
+    // share such a URL, so it identifies none of them.
+    public static boolean isLandingPage(String canonicalUrl) {
+        if (canonicalUrl == null) {
+            return false;
+        }
+        int scheme = canonicalUrl.indexOf("://");
+        return LANDING_PAGES.contains(canonicalUrl)
+            || (scheme >= 0 && canonicalUrl.indexOf('/', scheme + 3) < 0 && canonicalUrl.indexOf('?') < 0);
+    }
+    
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = (eq >= 0 ? pair.substring(0, eq) : pair).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            kept.add(pair);
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+}